@@ -15,24 +15,15 @@
 
 package com.metaformsystems.redline.api.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.metaformsystems.redline.api.dto.request.ContractRequest;
-import com.metaformsystems.redline.api.dto.request.CounterPartyIdWrapper;
-import com.metaformsystems.redline.api.dto.request.TransferProcessRequest;
-import com.metaformsystems.redline.api.dto.response.Contract;
-import com.metaformsystems.redline.api.dto.response.ContractNegotiation;
 import com.metaformsystems.redline.api.dto.response.FileResource;
+import com.metaformsystems.redline.api.dto.response.UploadJobResource;
 import com.metaformsystems.redline.domain.service.DataAccessService;
-import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import com.metaformsystems.redline.domain.service.UploadJobService;
 import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
-import com.metaformsystems.redline.infrastructure.client.management.dto.Constraint;
-import com.metaformsystems.redline.infrastructure.client.management.dto.Obligation;
-import com.metaformsystems.redline.infrastructure.client.management.dto.Offer;
-import com.metaformsystems.redline.infrastructure.client.management.dto.Permission;
 import com.metaformsystems.redline.infrastructure.client.management.dto.PolicySet;
-import com.metaformsystems.redline.infrastructure.client.management.dto.Prohibition;
-import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -40,34 +31,86 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpInputMessage;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePartEvent;
+import org.springframework.http.codec.multipart.PartEvent;
+import org.springframework.http.codec.multipart.PartEventHttpMessageReader;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
-import java.time.Instant;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 @RestController
 @Tag(name = "EDC data operations", description = "UI API for uploading and downloading data, managing EDC data transfers, and related operations")
 @RequestMapping(value = "/api/ui", produces = MediaType.APPLICATION_JSON_VALUE)
 public class EdcDataController {
 
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_METADATA_PART_SIZE = 256 * 1024;
+    private static final List<String> DOWNLOAD_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.CONTENT_RANGE, HttpHeaders.ACCEPT_RANGES, HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED);
+
     private final DataAccessService dataAccessService;
+    private final UploadJobService uploadJobService;
     private final ObjectMapper objectMapper;
 
-    public EdcDataController(DataAccessService dataAccessService, ObjectMapper objectMapper) {
+    private final ThreadPoolTaskExecutor downloadExecutor = new ThreadPoolTaskExecutor();
+    private final Duration downloadTimeout;
+
+    public EdcDataController(DataAccessService dataAccessService, UploadJobService uploadJobService, ObjectMapper objectMapper,
+                             @Value("${downloads.executor.core-size:8}") int downloadCoreSize,
+                             @Value("${downloads.executor.max-size:64}") int downloadMaxSize,
+                             @Value("${downloads.timeout:1h}") Duration downloadTimeout) {
         this.dataAccessService = dataAccessService;
+        this.uploadJobService = uploadJobService;
         this.objectMapper = objectMapper;
+        this.downloadTimeout = downloadTimeout;
+        // each streamed download holds a thread until it completes, beyond the maximum pool size downloads are
+        // rejected with 503 instead of waiting behind running ones
+        downloadExecutor.setCorePoolSize(downloadCoreSize);
+        downloadExecutor.setMaxPoolSize(downloadMaxSize);
+        downloadExecutor.setQueueCapacity(0);
+        downloadExecutor.setThreadNamePrefix("download-");
+        downloadExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        downloadExecutor.shutdown();
     }
 
     @PostMapping(path = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -90,240 +133,263 @@ public class EdcDataController {
                                            @RequestPart(value = "celExpressions", required = false) List<CelExpression> celExpressions,
                                            @RequestPart(value = "policySet", required = false) PolicySet policySet,
                                            @RequestPart("file") MultipartFile file) {
-        try {
-            dataAccessService.uploadFileForParticipant(
-                    participantId,
-                    publicMetadata,
-                    privateMetadata,
-                    file.getInputStream(),
-                    file.getContentType(),
-                    file.getOriginalFilename(),
-                    celExpressions != null ? celExpressions : List.of(),
-                    policySet
-            );
-        } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
-        }
+        dataAccessService.uploadFileForParticipant(
+                participantId,
+                publicMetadata,
+                privateMetadata,
+                file,
+                file.getContentType(),
+                file.getOriginalFilename(),
+                celExpressions != null ? celExpressions : List.of(),
+                policySet
+        );
 
         return ResponseEntity.ok(null);
     }
 
-    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files")
+    @PostMapping(path = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
 //    @PreAuthorize("hasRole('USER')")
-    @Operation(summary = "List files", description = "Retrieves a list of all files associated with a specific participant")
+    @Operation(summary = "Upload a file as a stream", description = "Uploads a file for a specific participant with associated metadata. " +
+            "The request is parsed while it is received and the file is forwarded to the data plane without being stored, " +
+            "so the parts publicMetadata, privateMetadata, celExpressions and policySet must precede the part file")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved file list"),
-            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found")
+            @ApiResponse(responseCode = "200", description = "File successfully uploaded"),
+            @ApiResponse(responseCode = "400", description = "Invalid file or metadata, or metadata after the file"),
+            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error during file upload")
     })
     @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
     @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
     @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
-    public ResponseEntity<List<FileResource>> listFiles(@PathVariable Long participantId,
-                                                        @PathVariable Long tenantId,
-                                                        @PathVariable Long providerId) {
-        var files = dataAccessService.listFilesForParticipant(participantId);
-        return ResponseEntity.ok(files);
-    }
+    public ResponseEntity<Void> streamFile(@PathVariable Long participantId,
+                                           @PathVariable Long tenantId,
+                                           @PathVariable Long providerId,
+                                           HttpServletRequest request) {
+        var participantContextId = dataAccessService.getContextId(participantId);
+
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(request.getContentType()));
+        var body = DataBufferUtils.readInputStream(request::getInputStream, DefaultDataBufferFactory.sharedInstance, STREAM_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+        var message = new ReactiveHttpInputMessage() {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
 
-    @PostMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/catalog")
-    @Operation(summary = "Request catalog", description = "Requests a catalog from a counter-party participant")
-    @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved catalog",
-                    content = @Content(schema = @Schema(implementation = Catalog.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid counter-party identifier"),
-            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found")
-    })
-    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
-    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
-    @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
-    public ResponseEntity<Catalog> requestCatalog(@RequestHeader(name = "Cache-Control", required = false, defaultValue = "no-cache") String cacheControl,
-                                                  @PathVariable Long providerId,
-                                                  @PathVariable Long tenantId,
-                                                  @PathVariable Long participantId,
-                                                  @RequestBody CounterPartyIdWrapper counterPartyIdentifierWrapper) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return body;
+            }
+        };
+
+        // the metadata parts are small and kept until the file part arrives, whose content is streamed on as it is read.
+        // The content only completes once the rest of the request has been read, so that the file is not published if
+        // it is followed by metadata
+        var fields = new ConcurrentHashMap<String, String>();
+        var fileReceived = new AtomicBoolean();
+        var requestEnd = Sinks.empty();
+        var violation = new AtomicReference<IllegalArgumentException>();
+        var uploadedFile = new PartEventHttpMessageReader().read(ResolvableType.forClass(PartEvent.class), message, Map.of())
+                .windowUntil(PartEvent::isLast)
+                .doOnComplete(requestEnd::tryEmitEmpty)
+                .flatMap(part -> part.switchOnFirst((first, events) -> {
+                    if (!first.hasValue()) {
+                        return events.then(Mono.empty());
+                    }
+                    var event = first.get();
+                    if (event instanceof FilePartEvent filePart) {
+                        if (!"file".equals(filePart.name())) {
+                            return events.doOnNext(e -> DataBufferUtils.release(e.content())).then(Mono.empty());
+                        }
+                        if (fileReceived.getAndSet(true)) {
+                            violation.compareAndSet(null, new IllegalArgumentException("Only one part 'file' is allowed"));
+                            requestEnd.tryEmitError(violation.get());
+                            return events.doOnNext(e -> DataBufferUtils.release(e.content())).then(Mono.empty());
+                        }
+                        var contentType = filePart.headers().getContentType();
+                        return dataAccessService.streamFile(participantContextId,
+                                readPart(fields, "publicMetadata", new TypeReference<Map<String, Object>>() {
+                                }, true),
+                                readPart(fields, "privateMetadata", new TypeReference<Map<String, Object>>() {
+                                }, true),
+                                Flux.concat(events.map(PartEvent::content), requestEnd.asMono().then(Mono.<DataBuffer>empty())),
+                                contentType != null ? contentType.toString() : null,
+                                filePart.filename(),
+                                Objects.requireNonNullElse(readPart(fields, "celExpressions", new TypeReference<List<CelExpression>>() {
+                                }, false), List.of()),
+                                readPart(fields, "policySet", new TypeReference<PolicySet>() {
+                                }, false));
+                    }
+                    if (fileReceived.get()) {
+                        violation.compareAndSet(null, new IllegalArgumentException("Part '%s' must precede part 'file'".formatted(event.name())));
+                        requestEnd.tryEmitError(violation.get());
+                        return events.doOnNext(e -> DataBufferUtils.release(e.content())).then(Mono.empty());
+                    }
+                    return DataBufferUtils.join(events.map(PartEvent::content), MAX_METADATA_PART_SIZE)
+                            .doOnNext(content -> {
+                                fields.put(event.name(), content.toString(StandardCharsets.UTF_8));
+                                DataBufferUtils.release(content);
+                            })
+                            .then(Mono.empty());
+                }))
+                .singleOrEmpty()
+                // the violation fails the upload, which reports it wrapped in its own error
+                .onErrorMap(e -> violation.get() != null && e != violation.get(), e -> violation.get())
+                .block();
+        if (uploadedFile == null) {
+            throw new IllegalArgumentException("Required part 'file' is not present");
+        }
 
-        var catalog = dataAccessService.requestCatalog(participantId, counterPartyIdentifierWrapper.counterPartyIdentifier(), cacheControl);
-        return ResponseEntity.ok(catalog);
+        dataAccessService.addUploadedFile(participantId, uploadedFile);
+        return ResponseEntity.ok(null);
     }
 
-    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers")
-    @Operation(summary = "List transfer processes", description = "Retrieves a list of all transfer processes associated with a specific participant")
+    @PostMapping(path = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/uploads", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+//    @PreAuthorize("hasRole('USER')")
+    @Operation(summary = "Upload a file asynchronously", description = "Stores a file for a specific participant and publishes it in the background. The returned job reports the progress of the publication")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved transfer process list. May be empty."),
+            @ApiResponse(responseCode = "202", description = "File stored, publication queued"),
+            @ApiResponse(responseCode = "400", description = "Invalid file or metadata"),
             @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found"),
-            @ApiResponse(responseCode = "500", description = "Internal server error occurred while processing the request")
+            @ApiResponse(responseCode = "503", description = "Too many uploads are queued")
     })
-    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
-    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
     @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
-    //    @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<TransferProcess>> listTransferProcesses(@PathVariable Long providerId,
-                                                                       @PathVariable Long tenantId,
-                                                                       @PathVariable Long participantId) {
-        return ResponseEntity.ok(dataAccessService.listTransferProcesses(participantId));
-    }
-
-    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/contracts")
-    @Operation(summary = "List transfer processes", description = "Retrieves a list of all contracts (pending and agreed-on) associated with a specific participant")
-    @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved contracts list. May be empty."),
-            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found"),
-            @ApiResponse(responseCode = "500", description = "Internal server error occurred while processing the request")
-    })
-    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
     @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
-    @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
-    //    @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<Contract>> listContracts(@PathVariable Long providerId,
-                                                        @PathVariable Long tenantId,
-                                                        @PathVariable Long participantId) {
-        var contractNegotiations = dataAccessService.listContracts(participantId);
-        var contracts = contractNegotiations.stream().map(cn -> {
-            var builder = Contract.Builder.aContract()
-                    .counterParty(cn.getCounterPartyId())
-                    .type(cn.getType());
-
-            if (cn.getContractAgreement() != null) {
-                builder.id(cn.getContractAgreement().getId());
-                builder.agreementId(cn.getContractAgreement().getAgreementId());
-                builder.assetId(cn.getContractAgreement().getAssetId());
-                builder.signingDate(Instant.ofEpochSecond(cn.getContractAgreement().getContractSigningDate()));
-                builder.provider(cn.getContractAgreement().getProviderId());
-                builder.consumer(cn.getContractAgreement().getConsumerId());
-                builder.policy(cn.getContractAgreement().getPolicy());
-                builder.pending(false);
-            }
-
-            return builder.build();
-        }).toList();
-        return ResponseEntity.ok(contracts);
-    }
-
-    @Operation(summary = "Initiate a contract negotiation", description = "Triggers a contract negotiation with a counter-party based on the provided contract request details")
-    @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Contract Negotiation started successfully."),
-            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found"),
-            @ApiResponse(responseCode = "500", description = "Internal server error occurred while processing the request")
-    })
     @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
-    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
-    @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
-    @PostMapping(value = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/contracts", produces = MediaType.TEXT_PLAIN_VALUE)
-    public ResponseEntity<String> requestContract(@PathVariable Long providerId,
-                                                  @PathVariable Long tenantId,
-                                                  @PathVariable Long participantId,
-                                                  @RequestBody ContractRequest contractRequest) {
-
-        var offer = Offer.Builder.anOffer()
-                .target(contractRequest.getAssetId())
-                .id(contractRequest.getOfferId())
-                .assigner(contractRequest.getProviderId());
-
-        if (contractRequest.getProhibitions() != null) {
-            var prohibition = new Prohibition();
-            prohibition.setConstraint(contractRequest.getProhibitions().stream().map(dto -> new Constraint(dto.leftOperand(), dto.operator(), dto.rightOperand())).toList());
-            offer.prohibition(List.of(prohibition));
-        }
-
-        if (contractRequest.getPermissions() != null) {
-            var permission = new Permission();
-            permission.setConstraint(contractRequest.getPermissions().stream().map(dto -> new Constraint(dto.leftOperand(), dto.operator(), dto.rightOperand())).toList());
-            offer.permission(List.of(permission));
-        }
-
-        if (contractRequest.getObligations() != null) {
-            var obligation = new Obligation();
-            obligation.setConstraint(contractRequest.getObligations().stream().map(dto -> new Constraint(dto.leftOperand(), dto.operator(), dto.rightOperand())).toList());
-            offer.obligation(List.of(obligation));
+    public ResponseEntity<UploadJobResource> submitUpload(@PathVariable Long participantId,
+                                                          @PathVariable Long tenantId,
+                                                          @PathVariable Long providerId,
+                                                          @RequestPart("publicMetadata") Map<String, Object> publicMetadata,
+                                                          @RequestPart("privateMetadata") Map<String, Object> privateMetadata,
+                                                          @RequestPart(value = "celExpressions", required = false) List<CelExpression> celExpressions,
+                                                          @RequestPart(value = "policySet", required = false) PolicySet policySet,
+                                                          @RequestPart("file") MultipartFile file) {
+        UploadJobResource job;
+        try (var fileStream = file.getInputStream()) {
+            job = uploadJobService.submit(
+                    participantId,
+                    publicMetadata,
+                    privateMetadata,
+                    fileStream,
+                    file.getContentType(),
+                    file.getOriginalFilename(),
+                    celExpressions != null ? celExpressions : List.of(),
+                    policySet
+            );
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().build();
         }
 
-        var request = com.metaformsystems.redline.infrastructure.client.management.dto.ContractRequest.Builder.aContractRequest()
-                .providerId(contractRequest.getProviderId())
-                .policy(offer.build())
-                //counterparty address is left empty - the tenant service must resolve this from the DID
-                .build();
-
-        return ResponseEntity.ok(dataAccessService.initiateContractNegotiation(participantId, request));
+        var location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{jobId}").buildAndExpand(job.jobId()).toUri();
+        return ResponseEntity.accepted().location(location).body(job);
     }
 
-    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/contracts/{contractNegotiationId}")
-    @Operation(summary = "Get a contract negotiation", description = "Gets details about a specific contract negotiation")
-
+    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/uploads/{jobId}")
+//    @PreAuthorize("hasRole('USER')")
+    @Operation(summary = "Get upload job", description = "Retrieves the status of an asynchronous upload and of each of its publication steps")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Contract Negotiation obtained successfully."),
-            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found"),
-            @ApiResponse(responseCode = "500", description = "Internal server error occurred while processing the request")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved upload job"),
+            @ApiResponse(responseCode = "404", description = "Participant or upload job not found")
     })
-    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
-    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
     @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
-    @Parameter(name = "contractNegotiationId", description = "EDC-ID of the contract negotiation", required = true)
-    public ResponseEntity<ContractNegotiation> getContractNegotiation(@PathVariable Long providerId,
-                                                                      @PathVariable Long tenantId,
-                                                                      @PathVariable Long participantId,
-                                                                      @PathVariable String contractNegotiationId) {
-        var contractNegotiation = dataAccessService.getContractNegotiation(participantId, contractNegotiationId);
-
-        var dto = ContractNegotiation.Builder.aContractNegotiationDto()
-                .id(contractNegotiation.getId())
-                .state(contractNegotiation.getState())
-                .correlationId(contractNegotiation.getCorrelationId())
-                .counterPartyId(contractNegotiation.getCounterPartyId())
-                .counterPartyAddress(contractNegotiation.getCounterPartyAddress())
-                .protocol(contractNegotiation.getProtocol())
-                .participantContextId(contractNegotiation.getParticipantContextId())
-                .type(contractNegotiation.getType())
-                .contractAgreementId(contractNegotiation.getContractAgreementId())
-                .contractOffers(contractNegotiation.getContractOffers())
-                .build();
-
-        return ResponseEntity.ok(dto);
+    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
+    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
+    @Parameter(name = "jobId", description = "ID of the upload job", required = true)
+    public ResponseEntity<UploadJobResource> getUploadJob(@PathVariable Long participantId,
+                                                          @PathVariable Long tenantId,
+                                                          @PathVariable Long providerId,
+                                                          @PathVariable String jobId) {
+        return ResponseEntity.ok(uploadJobService.getJob(participantId, jobId));
     }
 
-
-    @PostMapping(value = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers", produces = MediaType.TEXT_PLAIN_VALUE)
-    @Operation(summary = "Initiate a transfer process", description = "Triggers a transfer process with a counter-party based on the provided contract agreement details")
+    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files")
+//    @PreAuthorize("hasRole('USER')")
+    @Operation(summary = "List files", description = "Retrieves a list of all files associated with a specific participant")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Transfer process started successfully."),
-            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found"),
-            @ApiResponse(responseCode = "500", description = "Internal server error occurred while processing the request")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved file list"),
+            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found")
     })
-    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
-    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
     @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
-    public ResponseEntity<String> requestTransfer(@PathVariable Long providerId,
-                                                  @PathVariable Long tenantId,
-                                                  @PathVariable Long participantId,
-                                                  @RequestBody TransferProcessRequest transferRequest) {
-
-        return ResponseEntity.ok(dataAccessService.initiateTransferProcess(participantId, transferRequest));
-    }
-
-    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers/{transferProcessId}")
-    public ResponseEntity<TransferProcess> getTransferProcess(@PathVariable Long providerId,
-                                                              @PathVariable Long tenantId,
-                                                              @PathVariable Long participantId,
-                                                              @PathVariable String transferProcessId) {
-        var transferProcess = dataAccessService.getTransferProcess(participantId, transferProcessId);
-        return ResponseEntity.ok(transferProcess);
+    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
+    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
+    public ResponseEntity<List<FileResource>> listFiles(@PathVariable Long participantId,
+                                                        @PathVariable Long tenantId,
+                                                        @PathVariable Long providerId) {
+        var files = dataAccessService.listFilesForParticipant(participantId);
+        return ResponseEntity.ok(files);
     }
 
-    @Operation(summary = "Download file")
-    @ApiResponse(
-            responseCode = "200",
-            content = @Content(
+    @Operation(summary = "Download file", description = "Supports the Range and If-Range headers to download parts of the file, e.g. to resume an interrupted download")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", content = @Content(
                     mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE,
                     schema = @Schema(type = "string", format = "binary")
-            )
-    )
+            )),
+            @ApiResponse(responseCode = "206", description = "The requested range, or a multipart/byteranges body if several ranges were requested"),
+            @ApiResponse(responseCode = "416", description = "None of the requested ranges is satisfiable")
+    })
     @GetMapping(value = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files/{fileId}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    public ResponseEntity<byte[]> downloadData(@PathVariable Long providerId,
-                                               @PathVariable Long tenantId,
-                                               @PathVariable Long participantId,
-                                               @PathVariable String fileId,
-                                               @RequestHeader(name = "Authorization") String authorizationHeader) {
-        var data = dataAccessService.downloadData(participantId, fileId, authorizationHeader);
-        return ResponseEntity.ok(data);
+    public WebAsyncTask<Void> downloadData(@PathVariable Long providerId,
+                                           @PathVariable Long tenantId,
+                                           @PathVariable Long participantId,
+                                           @PathVariable String fileId,
+                                           @RequestHeader(name = "Authorization") String authorizationHeader,
+                                           @RequestHeader(name = HttpHeaders.RANGE, required = false) String range,
+                                           @RequestHeader(name = HttpHeaders.IF_RANGE, required = false) String ifRange,
+                                           HttpServletResponse response) {
+        var download = dataAccessService.downloadData(participantId, fileId, authorizationHeader, range, ifRange);
+
+        var started = new AtomicBoolean();
+        // the response is only touched once a download thread is available, if the executor rejects the download the
+        // error handler still answers with 503
+        var task = new WebAsyncTask<Void>(downloadTimeout.toMillis(), downloadExecutor, () -> {
+            started.set(true);
+            response.setStatus(download.status().value());
+            for (var name : DOWNLOAD_HEADERS) {
+                var values = download.headers().get(name);
+                if (values != null) {
+                    values.forEach(value -> response.addHeader(name, value));
+                }
+            }
+            if (response.getContentType() == null && download.status().is2xxSuccessful()) {
+                response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            }
+            // the chunks are written on this thread as they arrive, never on the event loop of the data plane client
+            try {
+                DataBufferUtils.write(download.content().publishOn(Schedulers.boundedElastic()), response.getOutputStream())
+                        .doOnNext(DataBufferUtils::release)
+                        .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                        .blockLast();
+            } catch (RuntimeException e) {
+                if (Exceptions.unwrap(e) instanceof IOException ioException) {
+                    throw ioException;
+                }
+                throw e;
+            }
+            return null;
+        });
+        // a download that never got a thread releases its data plane connection
+        task.onCompletion(() -> {
+            if (!started.get()) {
+                download.content().take(0).subscribe();
+            }
+        });
+        return task;
     }
 
+    private <T> T readPart(Map<String, String> fields, String name, TypeReference<T> type, boolean required) {
+        var value = fields.get(name);
+        if (value == null) {
+            if (required) {
+                throw new IllegalArgumentException("Required part '%s' is not present before part 'file'".formatted(name));
+            }
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid part '%s': %s".formatted(name, e.getOriginalMessage()));
+        }
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.api.controller;
+
+import com.metaformsystems.redline.api.dto.request.ContractRequest;
+import com.metaformsystems.redline.api.dto.request.QueryParameters;
+import com.metaformsystems.redline.api.dto.response.Contract;
+import com.metaformsystems.redline.api.dto.response.ContractNegotiation;
+import com.metaformsystems.redline.domain.service.CatalogCache;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Constraint;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Criterion;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Obligation;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Offer;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Permission;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Prohibition;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Conversions between the UI API DTOs and the management API DTOs, shared by the blocking and the reactive controller.
+ */
+final class EdcDtoMapper {
+
+    private EdcDtoMapper() {
+    }
+
+    static Contract toContract(com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation cn) {
+        var builder = Contract.Builder.aContract()
+                .counterParty(cn.getCounterPartyId())
+                .type(cn.getType());
+
+        if (cn.getContractAgreement() != null) {
+            builder.id(cn.getContractAgreement().getId());
+            builder.agreementId(cn.getContractAgreement().getAgreementId());
+            builder.assetId(cn.getContractAgreement().getAssetId());
+            builder.signingDate(Instant.ofEpochSecond(cn.getContractAgreement().getContractSigningDate()));
+            builder.provider(cn.getContractAgreement().getProviderId());
+            builder.consumer(cn.getContractAgreement().getConsumerId());
+            builder.policy(cn.getContractAgreement().getPolicy());
+            builder.pending(false);
+        }
+
+        return builder.build();
+    }
+
+    static ContractNegotiation toContractNegotiation(com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation contractNegotiation) {
+        return ContractNegotiation.Builder.aContractNegotiationDto()
+                .id(contractNegotiation.getId())
+                .state(contractNegotiation.getState())
+                .correlationId(contractNegotiation.getCorrelationId())
+                .counterPartyId(contractNegotiation.getCounterPartyId())
+                .counterPartyAddress(contractNegotiation.getCounterPartyAddress())
+                .protocol(contractNegotiation.getProtocol())
+                .participantContextId(contractNegotiation.getParticipantContextId())
+                .type(contractNegotiation.getType())
+                .contractAgreementId(contractNegotiation.getContractAgreementId())
+                .contractOffers(contractNegotiation.getContractOffers())
+                .build();
+    }
+
+    static com.metaformsystems.redline.infrastructure.client.management.dto.ContractRequest toContractRequest(ContractRequest contractRequest) {
+        var offer = Offer.Builder.anOffer()
+                .target(contractRequest.getAssetId())
+                .id(contractRequest.getOfferId())
+                .assigner(contractRequest.getProviderId());
+
+        if (contractRequest.getProhibitions() != null) {
+            var prohibition = new Prohibition();
+            prohibition.setConstraint(contractRequest.getProhibitions().stream().map(dto -> new Constraint(dto.leftOperand(), dto.operator(), dto.rightOperand())).toList());
+            offer.prohibition(List.of(prohibition));
+        }
+
+        if (contractRequest.getPermissions() != null) {
+            var permission = new Permission();
+            permission.setConstraint(contractRequest.getPermissions().stream().map(dto -> new Constraint(dto.leftOperand(), dto.operator(), dto.rightOperand())).toList());
+            offer.permission(List.of(permission));
+        }
+
+        if (contractRequest.getObligations() != null) {
+            var obligation = new Obligation();
+            obligation.setConstraint(contractRequest.getObligations().stream().map(dto -> new Constraint(dto.leftOperand(), dto.operator(), dto.rightOperand())).toList());
+            offer.obligation(List.of(obligation));
+        }
+
+        return com.metaformsystems.redline.infrastructure.client.management.dto.ContractRequest.Builder.aContractRequest()
+                .providerId(contractRequest.getProviderId())
+                .policy(offer.build())
+                //counterparty address is left empty - the tenant service must resolve this from the DID
+                .build();
+    }
+
+    /**
+     * Answers a catalog request with the catalog and its entity tag, or with 304 and no body if the client already has
+     * a catalog with the same content.
+     */
+    static ResponseEntity<Catalog> toCatalogResponse(CatalogCache.CachedCatalog catalog, String ifNoneMatch) {
+        if (catalog.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalog.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(catalog.etag()).body(catalog.catalog());
+    }
+
+    /**
+     * Returns the query spec for the given parameters. A limit of 0 selects all results and is only supported by the
+     * streaming endpoints.
+     */
+    static QuerySpec toQuerySpec(QueryParameters parameters, int defaultLimit) {
+        if (parameters.offset() != null && parameters.offset() < 0 || parameters.limit() != null && parameters.limit() < 1) {
+            throw new IllegalArgumentException("offset must not be negative and limit must be positive");
+        }
+        if (parameters.sortOrder() != null && !List.of("ASC", "DESC").contains(parameters.sortOrder().toUpperCase())) {
+            throw new IllegalArgumentException("sortOrder must be ASC or DESC: " + parameters.sortOrder());
+        }
+        var filterExpression = parameters.filter() == null ? List.<Criterion>of() : parameters.filter().stream()
+                .map(EdcDtoMapper::toCriterion)
+                .toList();
+        return QuerySpec.Builder.aQuerySpecDto()
+                .offset(parameters.offset() != null ? parameters.offset() : 0)
+                .limit(parameters.limit() != null ? parameters.limit() : defaultLimit)
+                .sortField(parameters.sortField())
+                .sortOrder(parameters.sortOrder() != null ? parameters.sortOrder().toUpperCase() : null)
+                .filterExpression(filterExpression)
+                .build();
+    }
+
+    private static Criterion toCriterion(String filter) {
+        var separator = filter.indexOf('=');
+        if (separator < 1) {
+            throw new IllegalArgumentException("Invalid filter, expected property=value: " + filter);
+        }
+        return new Criterion(filter.substring(0, separator).trim(), "=", filter.substring(separator + 1).trim());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.api.controller;
+
+import com.metaformsystems.redline.domain.service.ProcessStateWatcher;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@Tag(name = "EDC events", description = "UI API for following the state of contract negotiations and transfer processes")
+@RequestMapping(value = "/api/ui", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+public class EdcEventController {
+    private static final Logger log = LoggerFactory.getLogger(EdcEventController.class);
+
+    private final ProcessStateWatcher processStateWatcher;
+    private final Duration timeout;
+    private final Duration keepAlive;
+
+    public EdcEventController(ProcessStateWatcher processStateWatcher,
+                              @Value("${events.timeout:30m}") Duration timeout,
+                              @Value("${events.keep-alive:15s}") Duration keepAlive) {
+        this.processStateWatcher = processStateWatcher;
+        this.timeout = timeout;
+        this.keepAlive = keepAlive;
+    }
+
+    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/events")
+    @Operation(summary = "Follow process states", description = "Streams the state of the given contract negotiations and transfer processes as Server-Sent Events. The current state is sent first, then every state change. The stream ends once all processes have reached a terminal state.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "400", description = "No or too many processes given"),
+            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found")
+    })
+    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
+    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
+    @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
+    @Parameter(name = "contractNegotiationId", description = "IDs of the contract negotiations to follow")
+    @Parameter(name = "transferProcessId", description = "IDs of the transfer processes to follow")
+    public SseEmitter streamEvents(@PathVariable Long providerId,
+                                   @PathVariable Long tenantId,
+                                   @PathVariable Long participantId,
+                                   @RequestParam(required = false) List<String> contractNegotiationId,
+                                   @RequestParam(required = false) List<String> transferProcessId) {
+        var events = processStateWatcher.watch(participantId, contractNegotiationId, transferProcessId);
+
+        var emitter = new SseEmitter(timeout.toMillis());
+        var subscription = events
+                .map(event -> SseEmitter.event().name(event.type()).id(event.id()).data(event, MediaType.APPLICATION_JSON))
+                // comments keep idle connections open through proxies, they stop with the events
+                .publish(shared -> Flux.merge(shared, Flux.interval(keepAlive)
+                        .map(tick -> SseEmitter.event().comment("keep-alive"))
+                        .takeUntilOther(shared.then())))
+                .subscribe(event -> send(emitter, event), emitter::completeWithError, emitter::complete);
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // the client has gone away, completion of the emitter cancels the subscription
+            log.debug("Failed to send event: {}", e.toString());
+        }
+    }
+}
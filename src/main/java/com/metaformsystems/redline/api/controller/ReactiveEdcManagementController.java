@@ -0,0 +1,265 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.api.controller;
+
+import com.metaformsystems.redline.api.dto.request.ContractRequest;
+import com.metaformsystems.redline.api.dto.request.CounterPartyIdWrapper;
+import com.metaformsystems.redline.api.dto.request.QueryParameters;
+import com.metaformsystems.redline.api.dto.request.TransferProcessRequest;
+import com.metaformsystems.redline.api.dto.response.Contract;
+import com.metaformsystems.redline.api.dto.response.ContractNegotiation;
+import com.metaformsystems.redline.api.dto.response.DatasetSearchResult;
+import com.metaformsystems.redline.domain.service.ReactiveDataAccessService;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive variant of {@link EdcManagementController}, active with the {@code reactive} profile. Handlers return a
+ * {@link Mono}, so the servlet thread is released while the management API calls are in flight.
+ */
+@RestController
+@Profile("reactive")
+@Tag(name = "EDC data operations", description = "UI API for uploading and downloading data, managing EDC data transfers, and related operations")
+@RequestMapping(value = "/api/ui", produces = MediaType.APPLICATION_JSON_VALUE)
+public class ReactiveEdcManagementController {
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final ReactiveDataAccessService dataAccessService;
+
+    public ReactiveEdcManagementController(ReactiveDataAccessService dataAccessService) {
+        this.dataAccessService = dataAccessService;
+    }
+
+    @PostMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/catalog")
+    @Operation(summary = "Request catalog", description = "Requests a catalog from a counter-party participant. Catalogs are cached, " +
+            "the Cache-Control header supports the no-cache, max-age and max-stale directives. The ETag of the response identifies the " +
+            "content of the catalog, a request with a matching If-None-Match header is answered with 304 and no body")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved catalog",
+                    content = @Content(schema = @Schema(implementation = Catalog.class))),
+            @ApiResponse(responseCode = "304", description = "The catalog matches the If-None-Match header"),
+            @ApiResponse(responseCode = "400", description = "Invalid counter-party identifier"),
+            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found")
+    })
+    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
+    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
+    @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
+    public Mono<ResponseEntity<Catalog>> requestCatalog(@RequestHeader(name = "Cache-Control", required = false) String cacheControl,
+                                                        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                        @PathVariable Long providerId,
+                                                        @PathVariable Long tenantId,
+                                                        @PathVariable Long participantId,
+                                                        @RequestBody CounterPartyIdWrapper counterPartyIdentifierWrapper) {
+
+        return dataAccessService.requestCatalog(participantId, counterPartyIdentifierWrapper.counterPartyIdentifier(), cacheControl)
+                .map(catalog -> EdcDtoMapper.toCatalogResponse(catalog, ifNoneMatch));
+    }
+
+    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/catalog/datasets")
+    @Operation(summary = "Search catalog datasets", description = "Searches the datasets of the cached catalogs of the participant. The catalogs of the " +
+            "given counter-parties are requested first if they are not cached, without counter-parties all cached catalogs are searched. Filters " +
+            "match the id, type, counterPartyId, dataset properties by key or local name, and offer fields such as policy.permission.action " +
+            "case-insensitively. The words of q match the words of descriptions, titles, names and keywords by prefix.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching datasets and their total number. May be empty."),
+            @ApiResponse(responseCode = "400", description = "Invalid paging, sort or filter parameters"),
+            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found")
+    })
+    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
+    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
+    @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
+    @Parameter(name = "counterPartyId", description = "Identifiers of the counter-parties whose catalogs are searched")
+    @Parameter(name = "q", description = "Words to search for in descriptions, titles, names and keywords")
+    public Mono<ResponseEntity<DatasetSearchResult>> searchDatasets(@PathVariable Long providerId,
+                                                                    @PathVariable Long tenantId,
+                                                                    @PathVariable Long participantId,
+                                                                    @RequestParam(name = "counterPartyId", required = false) List<String> counterPartyIds,
+                                                                    @RequestParam(name = "q", required = false) String text,
+                                                                    @ParameterObject QueryParameters query) {
+        return dataAccessService.searchDatasets(participantId, counterPartyIds, text, EdcDtoMapper.toQuerySpec(query, DEFAULT_LIMIT))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers")
+    @Operation(summary = "List transfer processes", description = "Retrieves a list of all transfer processes associated with a specific participant")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved transfer process list. May be empty."),
+            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred while processing the request")
+    })
+    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
+    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
+    @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
+    //    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<List<TransferProcess>>> listTransferProcesses(@PathVariable Long providerId,
+                                                                             @PathVariable Long tenantId,
+                                                                             @PathVariable Long participantId,
+                                                                             @ParameterObject QueryParameters query) {
+        return dataAccessService.listTransferProcesses(participantId, EdcDtoMapper.toQuerySpec(query, DEFAULT_LIMIT))
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream transfer processes", description = "Streams all transfer processes associated with a specific participant as newline-delimited JSON. Offset and limit select the overall range, results are written while the control plane is paged through")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transfer processes, one JSON object per line. May be empty."),
+            @ApiResponse(responseCode = "400", description = "Invalid paging, sort or filter parameters"),
+            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found")
+    })
+    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
+    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
+    @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
+    public Flux<TransferProcess> streamTransferProcesses(@PathVariable Long providerId,
+                                                         @PathVariable Long tenantId,
+                                                         @PathVariable Long participantId,
+                                                         @ParameterObject QueryParameters query) {
+        return dataAccessService.streamTransferProcesses(participantId, EdcDtoMapper.toQuerySpec(query, 0));
+    }
+
+    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/contracts")
+    @Operation(summary = "List transfer processes", description = "Retrieves a list of all contracts (pending and agreed-on) associated with a specific participant")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved contracts list. May be empty."),
+            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred while processing the request")
+    })
+    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
+    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
+    @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
+    //    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<List<Contract>>> listContracts(@PathVariable Long providerId,
+                                                              @PathVariable Long tenantId,
+                                                              @PathVariable Long participantId,
+                                                              @ParameterObject QueryParameters query) {
+        return dataAccessService.listContracts(participantId, EdcDtoMapper.toQuerySpec(query, DEFAULT_LIMIT))
+                .map(EdcDtoMapper::toContract)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/contracts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream contracts", description = "Streams all contracts (pending and agreed-on) associated with a specific participant as newline-delimited JSON. Offset and limit select the overall range, results are written while the control plane is paged through")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contracts, one JSON object per line. May be empty."),
+            @ApiResponse(responseCode = "400", description = "Invalid paging, sort or filter parameters"),
+            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found")
+    })
+    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
+    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
+    @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
+    public Flux<Contract> streamContracts(@PathVariable Long providerId,
+                                         @PathVariable Long tenantId,
+                                         @PathVariable Long participantId,
+                                         @ParameterObject QueryParameters query) {
+        return dataAccessService.streamContracts(participantId, EdcDtoMapper.toQuerySpec(query, 0))
+                .map(EdcDtoMapper::toContract);
+    }
+
+    @Operation(summary = "Initiate a contract negotiation", description = "Triggers a contract negotiation with a counter-party based on the provided contract request details")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contract Negotiation started successfully."),
+            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred while processing the request")
+    })
+    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
+    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
+    @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
+    @PostMapping(value = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/contracts", produces = MediaType.TEXT_PLAIN_VALUE)
+    public Mono<ResponseEntity<String>> requestContract(@PathVariable Long providerId,
+                                                        @PathVariable Long tenantId,
+                                                        @PathVariable Long participantId,
+                                                        @RequestBody ContractRequest contractRequest) {
+
+        var request = EdcDtoMapper.toContractRequest(contractRequest);
+
+        return dataAccessService.initiateContractNegotiation(participantId, request)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/contracts/{contractNegotiationId}")
+    @Operation(summary = "Get a contract negotiation", description = "Gets details about a specific contract negotiation")
+
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contract Negotiation obtained successfully."),
+            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred while processing the request")
+    })
+    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
+    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
+    @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
+    @Parameter(name = "contractNegotiationId", description = "EDC-ID of the contract negotiation", required = true)
+    public Mono<ResponseEntity<ContractNegotiation>> getContractNegotiation(@PathVariable Long providerId,
+                                                                            @PathVariable Long tenantId,
+                                                                            @PathVariable Long participantId,
+                                                                            @PathVariable String contractNegotiationId) {
+        return dataAccessService.getContractNegotiation(participantId, contractNegotiationId)
+                .map(EdcDtoMapper::toContractNegotiation)
+                .map(ResponseEntity::ok);
+    }
+
+
+    @PostMapping(value = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers", produces = MediaType.TEXT_PLAIN_VALUE)
+    @Operation(summary = "Initiate a transfer process", description = "Triggers a transfer process with a counter-party based on the provided contract agreement details")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transfer process started successfully."),
+            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred while processing the request")
+    })
+    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
+    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
+    @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
+    public Mono<ResponseEntity<String>> requestTransfer(@PathVariable Long providerId,
+                                                        @PathVariable Long tenantId,
+                                                        @PathVariable Long participantId,
+                                                        @RequestBody TransferProcessRequest transferRequest) {
+
+        return dataAccessService.initiateTransferProcess(participantId, transferRequest)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers/{transferProcessId}")
+    public Mono<ResponseEntity<TransferProcess>> getTransferProcess(@RequestHeader(name = "Cache-Control", required = false) String cacheControl,
+                                                                    @PathVariable Long providerId,
+                                                                    @PathVariable Long tenantId,
+                                                                    @PathVariable Long participantId,
+                                                                    @PathVariable String transferProcessId) {
+        return dataAccessService.getTransferProcess(participantId, transferProcessId, cacheControl)
+                .map(ResponseEntity::ok);
+    }
+}
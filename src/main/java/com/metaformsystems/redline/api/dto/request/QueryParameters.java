@@ -0,0 +1,34 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.api.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Paging, sorting and filtering of list endpoints, bound from query parameters.
+ *
+ * @param offset    index of the first result
+ * @param limit     maximum number of results
+ * @param sortField property to sort by
+ * @param sortOrder ASC or DESC
+ * @param filter    filter expressions in the form {@code property=value}
+ */
+public record QueryParameters(@Schema(description = "Index of the first result") Integer offset,
+                              @Schema(description = "Maximum number of results") Integer limit,
+                              @Schema(description = "Property to sort by") String sortField,
+                              @Schema(description = "Sort order", allowableValues = {"ASC", "DESC"}) String sortOrder,
+                              @Schema(description = "Filter expressions in the form property=value, e.g. state=STARTED") List<String> filter) {
+}
@@ -0,0 +1,22 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.api.dto.response;
+
+import com.metaformsystems.redline.infrastructure.client.management.dto.Dataset;
+
+/**
+ * A dataset from the catalog of a counter-party.
+ */
+public record CatalogDataset(String counterPartyId, Dataset dataset) {
+}
@@ -0,0 +1,25 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.api.dto.response;
+
+import java.time.Instant;
+
+/**
+ * State of a contract negotiation or transfer process as pushed to the UI, {@code type} is either
+ * {@value #CONTRACT_NEGOTIATION} or {@value #TRANSFER_PROCESS}.
+ */
+public record ProcessStateEvent(String type, String id, String state, Instant observedAt) {
+    public static final String CONTRACT_NEGOTIATION = "contract-negotiation";
+    public static final String TRANSFER_PROCESS = "transfer-process";
+}
@@ -0,0 +1,110 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.application.service;
+
+import com.metaformsystems.redline.domain.entity.ClientCredentials;
+import com.metaformsystems.redline.domain.service.ClientCredentialsRegistry;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Adds a bearer token to outgoing requests. Callers select the identity through request attributes, either a
+ * participant context ID, whose client credentials are taken from the {@link ClientCredentialsRegistry}, or explicit
+ * client credentials. Tokens are obtained via {@link TokenProvider#getTokenAsync}, so the request pipeline never blocks
+ * on the token endpoint. Requests without any of these attributes are passed on unchanged.
+ */
+public class BearerTokenExchangeFilterFunction implements ExchangeFilterFunction {
+
+    private static final String PARTICIPANT_CONTEXT_ID_ATTRIBUTE = BearerTokenExchangeFilterFunction.class.getName() + ".participantContextId";
+    private static final String CLIENT_CREDENTIALS_ATTRIBUTE = BearerTokenExchangeFilterFunction.class.getName() + ".clientCredentials";
+    private static final String SCOPES_ATTRIBUTE = BearerTokenExchangeFilterFunction.class.getName() + ".scopes";
+
+    private final TokenProvider tokenProvider;
+    private final ClientCredentialsRegistry clientCredentialsRegistry;
+    private final String defaultScopes;
+
+    public BearerTokenExchangeFilterFunction(TokenProvider tokenProvider, ClientCredentialsRegistry clientCredentialsRegistry, String defaultScopes) {
+        this.tokenProvider = tokenProvider;
+        this.clientCredentialsRegistry = clientCredentialsRegistry;
+        this.defaultScopes = defaultScopes;
+    }
+
+    /**
+     * Authenticates the request with the client credentials of the given participant context.
+     */
+    public static Consumer<Map<String, Object>> participantContextId(String participantContextId) {
+        return attributes -> attributes.put(PARTICIPANT_CONTEXT_ID_ATTRIBUTE, participantContextId);
+    }
+
+    /**
+     * Authenticates the request with the given client credentials and the default scopes of the filter.
+     */
+    public static Consumer<Map<String, Object>> clientCredentials(ClientCredentials clientCredentials) {
+        return attributes -> attributes.put(CLIENT_CREDENTIALS_ATTRIBUTE, clientCredentials);
+    }
+
+    /**
+     * Authenticates the request with the given client credentials and scopes.
+     */
+    public static Consumer<Map<String, Object>> clientCredentials(ClientCredentials clientCredentials, String scopes) {
+        return clientCredentials(clientCredentials).andThen(attributes -> attributes.put(SCOPES_ATTRIBUTE, scopes));
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        var credentials = resolveCredentials(request);
+        if (credentials == null) {
+            return next.exchange(request);
+        }
+        var scopes = request.attribute(SCOPES_ATTRIBUTE).map(String.class::cast).orElse(defaultScopes);
+
+        return credentials
+                .flatMap(c -> tokenProvider.getTokenAsync(c.clientId(), c.clientSecret(), scopes))
+                .map(token -> ClientRequest.from(request)
+                        .headers(headers -> headers.setBearerAuth(token))
+                        .build())
+                .flatMap(next::exchange);
+    }
+
+    private Mono<ClientCredentials> resolveCredentials(ClientRequest request) {
+        var clientCredentials = request.attribute(CLIENT_CREDENTIALS_ATTRIBUTE).map(ClientCredentials.class::cast);
+        if (clientCredentials.isPresent()) {
+            return Mono.just(clientCredentials.get());
+        }
+        return request.attribute(PARTICIPANT_CONTEXT_ID_ATTRIBUTE)
+                .map(String.class::cast)
+                .map(participantContextId -> clientCredentialsRegistry.findCachedClientCredentials(participantContextId)
+                        .map(Mono::just)
+                        .orElseGet(() -> loadCredentials(participantContextId)))
+                .orElse(null);
+    }
+
+    /**
+     * Loads the credentials on the thread that sends the request, so that a caller sees the participant it has saved in
+     * its own transaction. Only on an event loop, which must not block on the database, they are loaded on a worker.
+     */
+    private Mono<ClientCredentials> loadCredentials(String participantContextId) {
+        var load = Mono.fromCallable(() -> clientCredentialsRegistry.getClientCredentials(participantContextId))
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Participant has no client credentials yet: " + participantContextId)));
+        return Schedulers.isInNonBlockingThread() ? load.subscribeOn(Schedulers.boundedElastic()) : load;
+    }
+}
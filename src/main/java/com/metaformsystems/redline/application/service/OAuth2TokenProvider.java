@@ -15,31 +15,114 @@
 package com.metaformsystems.redline.application.service;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Obtains access tokens using the OAuth2 client_credentials grant. Tokens are cached per client ID and scopes until
+ * shortly before they expire, and concurrent requests for the same client ID and scopes share a single token request.
+ * Tokens without an {@code expires_in} value are never cached. Token requests do not block, {@link #getToken} merely
+ * waits for the result of {@link #getTokenAsync}.
+ */
 @Component
 public class OAuth2TokenProvider implements TokenProvider {
 
     private final WebClient keycloakTokenClient;
+    private final Duration refreshSkew;
+    private final Clock clock;
+    private final ConcurrentMap<TokenKey, CompletableFuture<CachedToken>> tokens = new ConcurrentHashMap<>();
 
     public OAuth2TokenProvider(WebClient keycloakTokenClient) {
+        this(keycloakTokenClient, Duration.ofSeconds(30), Clock.systemUTC());
+    }
+
+    @Autowired
+    public OAuth2TokenProvider(WebClient keycloakTokenClient, @Value("${keycloak.token.refresh-skew:30s}") Duration refreshSkew) {
+        this(keycloakTokenClient, refreshSkew, Clock.systemUTC());
+    }
+
+    OAuth2TokenProvider(WebClient keycloakTokenClient, Duration refreshSkew, Clock clock) {
         this.keycloakTokenClient = keycloakTokenClient;
+        this.refreshSkew = refreshSkew;
+        this.clock = clock;
     }
 
     @Override
     public String getToken(String clientId, String clientSecret, String scopes) {
-        var tokenResponse = keycloakTokenClient.post()
+        return getTokenAsync(clientId, clientSecret, scopes).block();
+    }
+
+    @Override
+    public Mono<String> getTokenAsync(String clientId, String clientSecret, String scopes) {
+        return Mono.defer(() -> {
+            var key = new TokenKey(clientId, scopes);
+            var request = new CompletableFuture<CachedToken>();
+            var entry = tokens.compute(key, (k, existing) -> isUsable(existing) ? existing : request);
+
+            if (entry == request) {
+                requestToken(clientId, clientSecret, scopes)
+                        .subscribe(token -> {
+                            request.complete(token);
+                            if (token.expiresAt() == null) {
+                                tokens.remove(key, request);
+                            }
+                        }, error -> {
+                            tokens.remove(key, request);
+                            request.completeExceptionally(error);
+                        }, () -> {
+                            if (request.complete(null)) {
+                                tokens.remove(key, request);
+                            }
+                        });
+            }
+
+            // cancelling one subscriber must not cancel the request that other subscribers are waiting for
+            return Mono.fromFuture(entry, true).mapNotNull(CachedToken::accessToken);
+        });
+    }
+
+    private Mono<CachedToken> requestToken(String clientId, String clientSecret, String scopes) {
+        return keycloakTokenClient.post()
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                 .bodyValue("grant_type=client_credentials&client_id=" + clientId + "&client_secret=" + clientSecret + "&scope=" + scopes)
                 .retrieve()
                 .bodyToMono(TokenResponse.class)
-                .block();
+                .map(response -> new CachedToken(response.accessToken(),
+                        response.expiresIn() != null ? clock.instant().plusSeconds(response.expiresIn()) : null));
+    }
+
+    /**
+     * A pending request can always be joined, a completed one only as long as the token is not about to expire.
+     */
+    private boolean isUsable(CompletableFuture<CachedToken> entry) {
+        if (entry == null || entry.isCompletedExceptionally()) {
+            return false;
+        }
+        if (!entry.isDone()) {
+            return true;
+        }
+        var token = entry.getNow(null);
+        return token != null && token.expiresAt() != null && clock.instant().isBefore(token.expiresAt().minus(refreshSkew));
+    }
+
+    private record TokenResponse(@JsonProperty("access_token") String accessToken,
+                                 @JsonProperty("expires_in") Long expiresIn) {
+    }
 
-        return tokenResponse != null ? tokenResponse.accessToken() : null;
+    private record CachedToken(String accessToken, Instant expiresAt) {
     }
 
-    private record TokenResponse(@JsonProperty("access_token") String accessToken) {
+    private record TokenKey(String clientId, String scopes) {
     }
 }
@@ -14,6 +14,18 @@
 
 package com.metaformsystems.redline.application.service;
 
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
 public interface TokenProvider {
     String getToken(String clientId, String clientSecret, String scopes);
+
+    /**
+     * Non-blocking variant of {@link #getToken(String, String, String)}. Implementations that can obtain tokens
+     * without blocking should override this, the default offloads the blocking call to a worker thread.
+     */
+    default Mono<String> getTokenAsync(String clientId, String clientSecret, String scopes) {
+        return Mono.fromCallable(() -> getToken(clientId, clientSecret, scopes))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Local copy of a transfer process of the control plane. The state columns are kept for filtering and sorting, the
+ * complete transfer process is kept as payload. {@link #getNextPollAt()} and {@link #getPollIntervalMillis()} drive the
+ * background synchronization, which stops once the transfer process is terminal.
+ */
+@Entity
+@Table(name = "mirrored_transfer_processes",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"participantContextId", "transferProcessId"}),
+        indexes = @Index(columnList = "terminal, nextPollAt"))
+public class MirroredTransferProcess extends VersionedEntity {
+    @Column(nullable = false, updatable = false)
+    private String participantContextId;
+    @Column(nullable = false, updatable = false)
+    private String transferProcessId;
+    private String state;
+    private long stateTimestamp;
+    private String type;
+    private String assetId;
+    private String contractId;
+    @Column(name = "payload", columnDefinition = "TEXT")
+    @Convert(converter = HashMapConverter.class)
+    private Map<String, Object> payload;
+    private boolean terminal;
+    private Instant nextPollAt;
+    private long pollIntervalMillis;
+    private Instant syncedAt;
+
+    public String getParticipantContextId() {
+        return participantContextId;
+    }
+
+    public void setParticipantContextId(String participantContextId) {
+        this.participantContextId = participantContextId;
+    }
+
+    public String getTransferProcessId() {
+        return transferProcessId;
+    }
+
+    public void setTransferProcessId(String transferProcessId) {
+        this.transferProcessId = transferProcessId;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public long getStateTimestamp() {
+        return stateTimestamp;
+    }
+
+    public void setStateTimestamp(long stateTimestamp) {
+        this.stateTimestamp = stateTimestamp;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getAssetId() {
+        return assetId;
+    }
+
+    public void setAssetId(String assetId) {
+        this.assetId = assetId;
+    }
+
+    public String getContractId() {
+        return contractId;
+    }
+
+    public void setContractId(String contractId) {
+        this.contractId = contractId;
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Map<String, Object> payload) {
+        this.payload = payload;
+    }
+
+    public boolean isTerminal() {
+        return terminal;
+    }
+
+    public void setTerminal(boolean terminal) {
+        this.terminal = terminal;
+    }
+
+    public Instant getNextPollAt() {
+        return nextPollAt;
+    }
+
+    public void setNextPollAt(Instant nextPollAt) {
+        this.nextPollAt = nextPollAt;
+    }
+
+    public long getPollIntervalMillis() {
+        return pollIntervalMillis;
+    }
+
+    public void setPollIntervalMillis(long pollIntervalMillis) {
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    /**
+     * Time of the last successful synchronization, {@code null} for a transfer process that was just initiated and has
+     * not been read from the control plane yet.
+     */
+    public Instant getSyncedAt() {
+        return syncedAt;
+    }
+
+    public void setSyncedAt(Instant syncedAt) {
+        this.syncedAt = syncedAt;
+    }
+}
@@ -14,9 +14,11 @@
 
 package com.metaformsystems.redline.domain.entity;
 
+import com.metaformsystems.redline.domain.service.ParticipantCredentialsListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -32,6 +34,7 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "participants")
+@EntityListeners(ParticipantCredentialsListener.class)
 public class Participant extends VersionedEntity {
 
     private String identifier;
@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.Instant;
+
+/**
+ * A catalog that one of the Redline replicas has fetched from a counter-party, shared with the other replicas.
+ */
+@Entity
+@Table(name = "shared_catalogs", uniqueConstraints = @UniqueConstraint(columnNames = {"participant_context_id", "counter_party_did"}))
+public class SharedCatalog extends VersionedEntity {
+
+    @Column(name = "participant_context_id", nullable = false, updatable = false)
+    private String participantContextId;
+    @Column(name = "counter_party_did", nullable = false, updatable = false)
+    private String counterPartyDid;
+    /**
+     * The catalog as JSON.
+     */
+    @Column(name = "catalog", columnDefinition = "TEXT")
+    private String catalog;
+    @Column(name = "fetched_at", nullable = false)
+    private Instant fetchedAt;
+
+    public SharedCatalog(String participantContextId, String counterPartyDid) {
+        this.participantContextId = participantContextId;
+        this.counterPartyDid = counterPartyDid;
+    }
+
+    public SharedCatalog() {
+    }
+
+    public String getParticipantContextId() {
+        return participantContextId;
+    }
+
+    public String getCounterPartyDid() {
+        return counterPartyDid;
+    }
+
+    public String getCatalog() {
+        return catalog;
+    }
+
+    public void setCatalog(String catalog) {
+        this.catalog = catalog;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(Instant fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.util.Map;
+
+/**
+ * A contract agreement of a finalized contract negotiation. Signed agreements never change, so they are kept locally
+ * instead of being fetched from the control plane again.
+ */
+@Entity
+@Table(name = "signed_agreements", uniqueConstraints = @UniqueConstraint(columnNames = {"participantContextId", "negotiationId"}))
+public class SignedAgreement extends VersionedEntity {
+    @Column(nullable = false, updatable = false)
+    private String participantContextId;
+    @Column(nullable = false, updatable = false)
+    private String negotiationId;
+    private String contractAgreementId;
+    private String agreementId;
+    private String providerId;
+    private String consumerId;
+    private long contractSigningDate;
+    private String assetId;
+    @Column(name = "policy", columnDefinition = "TEXT")
+    @Convert(converter = HashMapConverter.class)
+    private Map<String, Object> policy;
+
+    public String getParticipantContextId() {
+        return participantContextId;
+    }
+
+    public void setParticipantContextId(String participantContextId) {
+        this.participantContextId = participantContextId;
+    }
+
+    public String getNegotiationId() {
+        return negotiationId;
+    }
+
+    public void setNegotiationId(String negotiationId) {
+        this.negotiationId = negotiationId;
+    }
+
+    public String getAgreementId() {
+        return agreementId;
+    }
+
+    public void setAgreementId(String agreementId) {
+        this.agreementId = agreementId;
+    }
+
+    public String getContractAgreementId() {
+        return contractAgreementId;
+    }
+
+    public void setContractAgreementId(String contractAgreementId) {
+        this.contractAgreementId = contractAgreementId;
+    }
+
+    public String getProviderId() {
+        return providerId;
+    }
+
+    public void setProviderId(String providerId) {
+        this.providerId = providerId;
+    }
+
+    public String getConsumerId() {
+        return consumerId;
+    }
+
+    public void setConsumerId(String consumerId) {
+        this.consumerId = consumerId;
+    }
+
+    public long getContractSigningDate() {
+        return contractSigningDate;
+    }
+
+    public void setContractSigningDate(long contractSigningDate) {
+        this.contractSigningDate = contractSigningDate;
+    }
+
+    public String getAssetId() {
+        return assetId;
+    }
+
+    public void setAssetId(String assetId) {
+        this.assetId = assetId;
+    }
+
+    public Map<String, Object> getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(Map<String, Object> policy) {
+        this.policy = policy;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Progress of the synchronization of a participant's transfer processes into the mirror, shared by all instances.
+ * Once a participant has been fully synchronized, only transfer processes whose state changed after
+ * {@link #getLatestStateTimestamp()} are read from the control plane.
+ */
+@Entity
+@Table(name = "transfer_process_sync_states")
+public class TransferProcessSyncState extends VersionedEntity {
+    @Column(nullable = false, updatable = false, unique = true)
+    private String participantContextId;
+    @Column(nullable = false, updatable = false)
+    private Instant synchronizedAt;
+    private long latestStateTimestamp;
+
+    public String getParticipantContextId() {
+        return participantContextId;
+    }
+
+    public void setParticipantContextId(String participantContextId) {
+        this.participantContextId = participantContextId;
+    }
+
+    public Instant getSynchronizedAt() {
+        return synchronizedAt;
+    }
+
+    public void setSynchronizedAt(Instant synchronizedAt) {
+        this.synchronizedAt = synchronizedAt;
+    }
+
+    public long getLatestStateTimestamp() {
+        return latestStateTimestamp;
+    }
+
+    public void setLatestStateTimestamp(long latestStateTimestamp) {
+        this.latestStateTimestamp = latestStateTimestamp;
+    }
+}
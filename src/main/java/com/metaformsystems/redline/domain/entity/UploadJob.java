@@ -0,0 +1,233 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * An upload that is published asynchronously. The uploaded file is staged on disk until the publication has completed
+ * or finally failed, so that pending jobs survive a restart.
+ */
+@Entity
+@Table(name = "upload_jobs", indexes = @Index(columnList = "status"))
+public class UploadJob extends VersionedEntity {
+
+    @Column(nullable = false, unique = true, updatable = false)
+    private String jobId;
+    @Column(nullable = false, updatable = false)
+    private Long participantId;
+    @Column(nullable = false, updatable = false)
+    private String participantContextId;
+    @Enumerated(EnumType.STRING)
+    private Status status;
+    /**
+     * Status of each {@link Step}, keyed by the step name.
+     */
+    @Column(name = "steps", columnDefinition = "TEXT")
+    @Convert(converter = HashMapConverter.class)
+    private Map<String, Object> steps;
+    private String originalFilename;
+    private String contentType;
+    private String stagedFile;
+    private String contentHash;
+    @Column(name = "public_metadata", columnDefinition = "TEXT")
+    @Convert(converter = HashMapConverter.class)
+    private Map<String, Object> publicMetadata;
+    @Column(name = "private_metadata", columnDefinition = "TEXT")
+    @Convert(converter = HashMapConverter.class)
+    private Map<String, Object> privateMetadata;
+    @Column(columnDefinition = "TEXT")
+    private String celExpressions;
+    @Column(columnDefinition = "TEXT")
+    private String policySet;
+    private int attempts;
+    private String fileId;
+    @Column(columnDefinition = "TEXT")
+    private String error;
+    /**
+     * The node that staged the file. Owner and lease are only changed through the claim and renewal queries of the
+     * repository, so that saving the job never overwrites a renewed lease.
+     */
+    @Column(name = "owner_node", updatable = false)
+    private String owner;
+    @Column(name = "lease_expires_at", updatable = false)
+    private Instant leaseExpiresAt;
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public Long getParticipantId() {
+        return participantId;
+    }
+
+    public void setParticipantId(Long participantId) {
+        this.participantId = participantId;
+    }
+
+    public String getParticipantContextId() {
+        return participantContextId;
+    }
+
+    public void setParticipantContextId(String participantContextId) {
+        this.participantContextId = participantContextId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Map<String, Object> getSteps() {
+        return steps;
+    }
+
+    public void setSteps(Map<String, Object> steps) {
+        this.steps = steps;
+    }
+
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    public void setOriginalFilename(String originalFilename) {
+        this.originalFilename = originalFilename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getStagedFile() {
+        return stagedFile;
+    }
+
+    public void setStagedFile(String stagedFile) {
+        this.stagedFile = stagedFile;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Map<String, Object> getPublicMetadata() {
+        return publicMetadata;
+    }
+
+    public void setPublicMetadata(Map<String, Object> publicMetadata) {
+        this.publicMetadata = publicMetadata;
+    }
+
+    public Map<String, Object> getPrivateMetadata() {
+        return privateMetadata;
+    }
+
+    public void setPrivateMetadata(Map<String, Object> privateMetadata) {
+        this.privateMetadata = privateMetadata;
+    }
+
+    /**
+     * The CEL expressions of the upload as JSON.
+     */
+    public String getCelExpressions() {
+        return celExpressions;
+    }
+
+    public void setCelExpressions(String celExpressions) {
+        this.celExpressions = celExpressions;
+    }
+
+    /**
+     * The policy set of the upload as JSON, {@code null} if the default policy is used.
+     */
+    public String getPolicySet() {
+        return policySet;
+    }
+
+    public void setPolicySet(String policySet) {
+        this.policySet = policySet;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getFileId() {
+        return fileId;
+    }
+
+    public void setFileId(String fileId) {
+        this.fileId = fileId;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Instant getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(Instant leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    public enum Step {
+        UPLOAD_FILE, CREATE_ASSET, REGISTER_CEL_EXPRESSIONS, CREATE_POLICY, CREATE_CONTRACT_DEFINITION
+    }
+}
@@ -17,12 +17,13 @@ package com.metaformsystems.redline.domain.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 import java.util.Map;
 
 @Entity
-@Table(name = "uploaded_files")
+@Table(name = "uploaded_files", indexes = @Index(columnList = "content_hash"))
 public class UploadedFile extends VersionedEntity {
     private String fileId;
     private String originalFilename;
@@ -30,6 +31,11 @@ public class UploadedFile extends VersionedEntity {
     @Column(name = "metadata", columnDefinition = "TEXT")
     @Convert(converter = HashMapConverter.class)
     private Map<String, Object> metadata;
+    /**
+     * Hex encoded SHA-256 digest of the content, files uploaded before it was recorded have none.
+     */
+    @Column(name = "content_hash")
+    private String contentHash;
 
     public UploadedFile(String fileId, String originalFilename, String contentType, Map<String, Object> metadata) {
         this.fileId = fileId;
@@ -61,4 +67,12 @@ public class UploadedFile extends VersionedEntity {
     public String getContentType() {
         return contentType;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
 }
@@ -18,6 +18,7 @@ import com.metaformsystems.redline.domain.entity.Participant;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -25,4 +26,6 @@ public interface ParticipantRepository extends JpaRepository<Participant, Long>
     Optional<Participant> findByCorrelationId(String correlationId);
 
     Optional<Participant> findByParticipantContextId(String participantContextId);
+
+    List<Participant> findByParticipantContextIdIsNotNull();
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.repository;
+
+import com.metaformsystems.redline.domain.entity.UploadJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadJobRepository extends JpaRepository<UploadJob, Long> {
+
+    Optional<UploadJob> findByJobId(String jobId);
+
+    List<UploadJob> findByStatusIn(Collection<UploadJob.Status> statuses);
+
+    /**
+     * Extends the leases of the jobs of the owner that are in one of the statuses.
+     */
+    @Modifying
+    @Transactional
+    @Query("update UploadJob j set j.leaseExpiresAt = :leaseExpiresAt where j.owner = :owner and j.status in :statuses")
+    int renewLeases(String owner, Collection<UploadJob.Status> statuses, Instant leaseExpiresAt);
+
+    /**
+     * Takes over the job if it has no owner or the lease of its owner has expired.
+     *
+     * @return 1 if the job was taken over, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("update UploadJob j set j.owner = :owner, j.leaseExpiresAt = :leaseExpiresAt where j.jobId = :jobId and (j.owner is null or j.leaseExpiresAt is null or j.leaseExpiresAt < :now)")
+    int claim(String jobId, String owner, Instant leaseExpiresAt, Instant now);
+}
@@ -0,0 +1,28 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.repository;
+
+import com.metaformsystems.redline.domain.entity.UploadedFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UploadedFileRepository extends JpaRepository<UploadedFile, Long> {
+
+    @Query("select f from Participant p join p.uploadedFiles f where p.participantContextId = :participantContextId and f.contentHash = :contentHash")
+    List<UploadedFile> findByParticipantContextIdAndContentHash(String participantContextId, String contentHash);
+}
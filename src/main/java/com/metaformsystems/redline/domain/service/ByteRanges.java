@@ -0,0 +1,198 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.infrastructure.client.dataplane.dto.DownloadResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves the byte ranges of a request from a download that contains the whole file, for data planes that do not
+ * support ranges themselves. The ranges are cut from the content while it is streamed, and reading stops after the last
+ * range. As permitted by RFC 9110, the whole file is sent instead if its length is unknown, the {@code If-Range}
+ * validator does not match, or the ranges are not in ascending order. Overlapping and adjacent ranges are coalesced.
+ */
+final class ByteRanges {
+    private static final DataBufferFactory BUFFER_FACTORY = DefaultDataBufferFactory.sharedInstance;
+
+    private ByteRanges() {
+    }
+
+    static DownloadResponse apply(DownloadResponse download, String range, String ifRange) {
+        var length = download.headers().getContentLength();
+        if (length < 0) {
+            return download;
+        }
+        var headers = new HttpHeaders();
+        headers.putAll(download.headers());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        var full = new DownloadResponse(download.status(), headers, download.content());
+        if (range == null || !matches(ifRange, download.headers())) {
+            return full;
+        }
+
+        List<HttpRange> requested;
+        try {
+            requested = HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            // an invalid Range header is ignored
+            return full;
+        }
+
+        var ranges = new ArrayList<Range>();
+        for (var httpRange : requested) {
+            var start = httpRange.getRangeStart(length);
+            var end = httpRange.getRangeEnd(length);
+            if (start >= length || start > end) {
+                continue;
+            }
+            if (!ranges.isEmpty()) {
+                var previous = ranges.getLast();
+                if (start < previous.start()) {
+                    return full;
+                }
+                if (start <= previous.end() + 1) {
+                    ranges.set(ranges.size() - 1, new Range(previous.start(), Math.max(previous.end(), end)));
+                    continue;
+                }
+            }
+            ranges.add(new Range(start, end));
+        }
+
+        if (ranges.isEmpty()) {
+            // cancels the download, so that the connection is released without reading the file
+            download.content().subscribe(DataBufferUtils::release).dispose();
+            var unsatisfiable = new HttpHeaders();
+            unsatisfiable.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+            unsatisfiable.set(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return new DownloadResponse(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, unsatisfiable, Flux.empty());
+        }
+
+        if (ranges.size() == 1) {
+            var single = ranges.getFirst();
+            headers.set(HttpHeaders.CONTENT_RANGE, single.contentRange(length));
+            headers.setContentLength(single.length());
+            return new DownloadResponse(HttpStatus.PARTIAL_CONTENT, headers, slice(download.content(), ranges, List.of(), null));
+        }
+
+        var boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        var contentType = headers.getContentType() != null ? headers.getContentType() : MediaType.APPLICATION_OCTET_STREAM;
+        var partHeaders = new ArrayList<byte[]>();
+        var trailer = "\r\n--%s--\r\n".formatted(boundary).getBytes(StandardCharsets.US_ASCII);
+        long contentLength = trailer.length;
+        for (var part : ranges) {
+            var partHeader = "\r\n--%s\r\nContent-Type: %s\r\nContent-Range: %s\r\n\r\n".formatted(boundary, contentType, part.contentRange(length))
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(partHeader);
+            contentLength += partHeader.length + part.length();
+        }
+        headers.setContentType(new MediaType("multipart", "byteranges", Map.of("boundary", boundary)));
+        headers.setContentLength(contentLength);
+        return new DownloadResponse(HttpStatus.PARTIAL_CONTENT, headers, slice(download.content(), ranges, partHeaders, trailer));
+    }
+
+    /**
+     * Whether the {@code If-Range} validator matches the current file, which requires a strong entity tag or the exact
+     * modification date.
+     */
+    private static boolean matches(String ifRange, HttpHeaders headers) {
+        if (ifRange == null) {
+            return true;
+        }
+        var value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            var etag = headers.getETag();
+            return value.startsWith("\"") && value.equals(etag);
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli() == headers.getLastModified();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static Flux<DataBuffer> slice(Flux<DataBuffer> content, List<Range> ranges, List<byte[]> partHeaders, byte[] trailer) {
+        var last = ranges.getLast().end();
+        var parts = Flux.defer(() -> {
+            var received = new AtomicLong();
+            var position = new AtomicLong();
+            return content
+                    .takeUntil(buffer -> received.addAndGet(buffer.readableByteCount()) > last)
+                    .concatMapIterable(buffer -> {
+                        try {
+                            return cut(buffer, position.getAndAdd(buffer.readableByteCount()), ranges, partHeaders);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    });
+        });
+        return trailer == null ? parts : parts.concatWith(Mono.fromSupplier(() -> BUFFER_FACTORY.wrap(trailer)));
+    }
+
+    /**
+     * Copies the parts of the ranges that fall into the given buffer, preceded by the header of a part where it starts.
+     */
+    private static List<DataBuffer> cut(DataBuffer buffer, long offset, List<Range> ranges, List<byte[]> partHeaders) {
+        var parts = new ArrayList<DataBuffer>();
+        var readPosition = buffer.readPosition();
+        var end = offset + buffer.readableByteCount();
+        for (var i = 0; i < ranges.size(); i++) {
+            var range = ranges.get(i);
+            var from = Math.max(range.start(), offset);
+            var to = Math.min(range.end() + 1, end);
+            if (from >= to) {
+                continue;
+            }
+            if (from == range.start() && !partHeaders.isEmpty()) {
+                parts.add(BUFFER_FACTORY.wrap(partHeaders.get(i)));
+            }
+            var bytes = new byte[(int) (to - from)];
+            buffer.readPosition(readPosition + (int) (from - offset));
+            buffer.read(bytes);
+            parts.add(BUFFER_FACTORY.wrap(bytes));
+        }
+        return parts;
+    }
+
+    /**
+     * A range of bytes, both positions inclusive.
+     */
+    private record Range(long start, long end) {
+        long length() {
+            return end - start + 1;
+        }
+
+        String contentRange(long total) {
+            return "bytes %d-%d/%d".formatted(start, end, total);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.metaformsystems.redline.api.dto.response.DatasetSearchResult;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the catalogs that participants have requested from counter-parties. A catalog is fresh for the configured TTL,
+ * and is refreshed in the background when it is requested shortly before it expires. An expired catalog is still
+ * served while it is refreshed in the background, for the configured stale-while-revalidate period or for as long as
+ * the {@code max-stale} directive of the request allows. Requests with {@code no-cache}, or a {@code max-age} that the
+ * cached catalog exceeds, wait for a new catalog. Concurrent loads of the same catalog share one request to the
+ * counter-party. If the {@link SharedCatalogStore} is enabled, a catalog that another replica has fetched recently is
+ * loaded from there instead of the counter-party, and catalogs that another replica has replaced are dropped. Each
+ * catalog carries an entity tag computed from its content, so that clients can revalidate their copy. The datasets
+ * of the cached catalogs are kept in the {@link DatasetIndex} for searching.
+ */
+@Component
+public class CatalogCache {
+    private static final Logger log = LoggerFactory.getLogger(CatalogCache.class);
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    private final ReactiveManagementApiClient managementApiClient;
+    private final SharedCatalogStore sharedCatalogStore;
+    private final DatasetIndex datasetIndex;
+    private final Duration ttl;
+    private final Duration refreshAhead;
+    private final Duration staleWhileRevalidate;
+    private final Clock clock;
+    private final Map<Key, CachedCatalog> entries;
+    private final ConcurrentMap<Key, Mono<CachedCatalog>> loads = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CatalogCache(ReactiveManagementApiClient managementApiClient,
+                        SharedCatalogStore sharedCatalogStore,
+                        DatasetIndex datasetIndex,
+                        @Value("${catalog.cache.max-size:100}") int maxSize,
+                        @Value("${catalog.cache.ttl:5m}") Duration ttl,
+                        @Value("${catalog.cache.refresh-ahead:1m}") Duration refreshAhead,
+                        @Value("${catalog.cache.stale-while-revalidate:1m}") Duration staleWhileRevalidate) {
+        this(managementApiClient, sharedCatalogStore, datasetIndex, maxSize, ttl, refreshAhead, staleWhileRevalidate, Clock.systemUTC());
+    }
+
+    CatalogCache(ReactiveManagementApiClient managementApiClient, SharedCatalogStore sharedCatalogStore, DatasetIndex datasetIndex, int maxSize,
+                 Duration ttl, Duration refreshAhead, Duration staleWhileRevalidate, Clock clock) {
+        this.managementApiClient = managementApiClient;
+        this.sharedCatalogStore = sharedCatalogStore;
+        this.datasetIndex = datasetIndex;
+        this.ttl = ttl;
+        this.refreshAhead = refreshAhead;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedCatalog> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                datasetIndex.remove(eldest.getKey().participantContextId(), eldest.getKey().counterPartyDid());
+                return true;
+            }
+        };
+        sharedCatalogStore.onInvalidation((participantContextId, counterPartyDid) -> evict(new Key(participantContextId, counterPartyDid)));
+    }
+
+    /**
+     * Returns the catalog of the counter-party, subject to the directives of the {@code Cache-Control} header of the
+     * request.
+     */
+    public Mono<CachedCatalog> getCatalog(String participantContextId, String counterPartyDid, String cacheControl) {
+        var key = new Key(participantContextId, counterPartyDid);
+        var directives = Directives.parse(cacheControl);
+        CachedCatalog entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null || directives.noCache()) {
+            return load(key, directives, null);
+        }
+
+        var age = Duration.between(entry.fetchedAt(), clock.instant());
+        if (directives.maxAge() != null && age.compareTo(directives.maxAge()) >= 0) {
+            return load(key, directives, entry.fetchedAt());
+        }
+        if (age.compareTo(ttl) < 0) {
+            if (age.compareTo(ttl.minus(refreshAhead)) >= 0) {
+                refresh(key, entry);
+            }
+            return Mono.just(entry);
+        }
+        var staleness = age.minus(ttl);
+        var acceptedStaleness = directives.maxStale() != null && directives.maxStale().compareTo(staleWhileRevalidate) > 0
+                ? directives.maxStale()
+                : staleWhileRevalidate;
+        if (staleness.compareTo(acceptedStaleness) <= 0) {
+            refresh(key, entry);
+            return Mono.just(entry);
+        }
+        return load(key, directives, entry.fetchedAt());
+    }
+
+    private void refresh(Key key, CachedCatalog stale) {
+        load(key, Directives.parse(null), stale.fetchedAt()).subscribe(refreshed -> {
+        }, e -> log.warn("Failed to refresh catalog of {} for participant {}: {}", key.counterPartyDid(), key.participantContextId(), e.toString()));
+    }
+
+    /**
+     * Searches the datasets of the cached catalogs of the participant in the {@link DatasetIndex}. The catalogs of the
+     * given counter-parties are loaded first if they are not cached, counter-parties whose catalog cannot be loaded are
+     * left out.
+     */
+    public Mono<DatasetSearchResult> searchDatasets(String participantContextId, List<String> counterPartyDids, String text, QuerySpec query) {
+        var counterParties = counterPartyDids == null ? List.<String>of() : counterPartyDids.stream().distinct().toList();
+        return Flux.fromIterable(counterParties)
+                .flatMap(counterPartyDid -> getCatalog(participantContextId, counterPartyDid, null)
+                        .onErrorResume(e -> {
+                            log.warn("Failed to load catalog of {} for participant {}, leaving it out of the search: {}", counterPartyDid, participantContextId, e.toString());
+                            return Mono.empty();
+                        }))
+                .then(Mono.fromSupplier(() -> datasetIndex.search(participantContextId, counterParties, text, query)));
+    }
+
+    /**
+     * Returns whether the catalog of the counter-party is being loaded, e.g. by a background refresh.
+     */
+    boolean isLoading(String participantContextId, String counterPartyDid) {
+        return loads.containsKey(new Key(participantContextId, counterPartyDid));
+    }
+
+    private void evict(Key key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+        datasetIndex.remove(key.participantContextId(), key.counterPartyDid());
+    }
+
+    /**
+     * Loads the catalog from the shared store if a replica has fetched a fresh one after {@code newerThan}, otherwise
+     * requests it from the counter-party. Joins the load that is already in progress.
+     */
+    private Mono<CachedCatalog> load(Key key, Directives directives, Instant newerThan) {
+        return loads.computeIfAbsent(key, k -> readShared(k, directives, newerThan)
+                .switchIfEmpty(Mono.defer(() -> fetch(k)))
+                // both sources emit on boundedElastic, so the catalog is indexed off the event loop
+                // the load is removed before its result is emitted, so that later requests see the new catalog
+                .doOnSuccess(entry -> {
+                    if (entry != null) {
+                        synchronized (entries) {
+                            entries.put(k, entry);
+                        }
+                        datasetIndex.index(k.participantContextId(), k.counterPartyDid(), entry.catalog(), entry.fetchedAt());
+                    }
+                    loads.remove(k);
+                })
+                .doOnError(e -> loads.remove(k))
+                .doOnCancel(() -> loads.remove(k))
+                .cache());
+    }
+
+    private Mono<CachedCatalog> fetch(Key key) {
+        return managementApiClient.getCatalog(key.participantContextId(), key.counterPartyDid())
+                // hashing and indexing the catalog is CPU-bound, keep it off the event loop that emitted the response
+                .publishOn(Schedulers.boundedElastic())
+                .map(catalog -> cachedCatalog(catalog, clock.instant()))
+                .doOnNext(entry -> writeShared(key, entry));
+    }
+
+    private Mono<CachedCatalog> readShared(Key key, Directives directives, Instant newerThan) {
+        if (!sharedCatalogStore.isEnabled() || directives.noCache()) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> sharedCatalogStore.get(key.participantContextId(), key.counterPartyDid()).orElse(null))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(stored -> cachedCatalog(stored.catalog(), stored.fetchedAt()))
+                .filter(entry -> {
+                    var age = Duration.between(entry.fetchedAt(), clock.instant());
+                    return (newerThan == null || entry.fetchedAt().isAfter(newerThan))
+                            && age.compareTo(ttl.minus(refreshAhead)) < 0
+                            && (directives.maxAge() == null || age.compareTo(directives.maxAge()) < 0);
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to read shared catalog of {} for participant {}: {}", key.counterPartyDid(), key.participantContextId(), e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private void writeShared(Key key, CachedCatalog entry) {
+        if (!sharedCatalogStore.isEnabled()) {
+            return;
+        }
+        Schedulers.boundedElastic().schedule(() -> {
+            try {
+                sharedCatalogStore.put(key.participantContextId(), key.counterPartyDid(), entry.catalog(), entry.fetchedAt());
+            } catch (RuntimeException e) {
+                log.warn("Failed to share catalog of {} for participant {}: {}", key.counterPartyDid(), key.participantContextId(), e.toString());
+            }
+        });
+    }
+
+    private record Key(String participantContextId, String counterPartyDid) {
+    }
+
+    /**
+     * Computes the entity tag of the catalog from its content, so that catalogs with the same content have the same
+     * entity tag regardless of when and by which replica they were fetched. The tag is weak, because the JSON that is
+     * sent to the client is only semantically equivalent for equal tags.
+     */
+    private static CachedCatalog cachedCatalog(Catalog catalog, Instant fetchedAt) {
+        var digest = ContentHash.newDigest();
+        try (var out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            CANONICAL_MAPPER.writeValue(out, catalog);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to hash catalog " + catalog.getId(), e);
+        }
+        return new CachedCatalog(catalog, "W/\"" + ContentHash.toHex(digest) + "\"", fetchedAt);
+    }
+
+    /**
+     * A catalog with its entity tag and the time it was fetched from the counter-party.
+     */
+    public record CachedCatalog(Catalog catalog, String etag, Instant fetchedAt) {
+
+        /**
+         * Whether the entity tags of an {@code If-None-Match} request header match this catalog, using the weak
+         * comparison.
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (!StringUtils.hasText(ifNoneMatch)) {
+                return false;
+            }
+            var tag = opaqueTag(etag);
+            for (var candidate : ifNoneMatch.split(",")) {
+                var value = candidate.trim();
+                if (value.equals("*") || opaqueTag(value).equals(tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String opaqueTag(String etag) {
+            return etag.startsWith("W/") ? etag.substring(2) : etag;
+        }
+    }
+
+    /**
+     * The directives of a {@code Cache-Control} request header that the cache supports. A {@code max-stale} directive
+     * without a value accepts a catalog of any staleness.
+     */
+    record Directives(boolean noCache, Duration maxAge, Duration maxStale) {
+
+        static Directives parse(String cacheControl) {
+            var noCache = false;
+            Duration maxAge = null;
+            Duration maxStale = null;
+            if (StringUtils.hasText(cacheControl)) {
+                for (var directive : cacheControl.split(",")) {
+                    var parts = directive.trim().split("=", 2);
+                    var name = parts[0].trim().toLowerCase();
+                    var value = parts.length > 1 ? parts[1].trim().replace("\"", "") : null;
+                    switch (name) {
+                        case "no-cache", "no-store" -> noCache = true;
+                        case "max-age" -> maxAge = seconds(value);
+                        case "max-stale" -> maxStale = value != null ? seconds(value) : Duration.ofSeconds(Long.MAX_VALUE);
+                        default -> {
+                        }
+                    }
+                }
+            }
+            return new Directives(noCache, maxAge, maxStale);
+        }
+
+        private static Duration seconds(String value) {
+            try {
+                return value != null ? Duration.ofSeconds(Long.parseLong(value)) : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.infrastructure.client.management.ManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the CEL expressions that exist in the control plane, so that each one is created only once. The IDs
+ * are read from the control plane at startup and added whenever an expression is created. An expression that is not
+ * known yet is created, a conflict means it existed already. Expressions deleted in the control plane by other means
+ * are not noticed until the next restart.
+ */
+@Component
+public class CelExpressionRegistry {
+    private static final Logger log = LoggerFactory.getLogger(CelExpressionRegistry.class);
+
+    private final ManagementApiClient managementApiClient;
+    private final ReactiveManagementApiClient reactiveManagementApiClient;
+    private final boolean warmUpEnabled;
+    private final int warmUpLimit;
+    private final Set<String> registeredIds = ConcurrentHashMap.newKeySet();
+
+    public CelExpressionRegistry(ManagementApiClient managementApiClient,
+                                 ReactiveManagementApiClient reactiveManagementApiClient,
+                                 @Value("${cel-expressions.warm-up.enabled:true}") boolean warmUpEnabled,
+                                 @Value("${cel-expressions.warm-up.limit:1000}") int warmUpLimit) {
+        this.managementApiClient = managementApiClient;
+        this.reactiveManagementApiClient = reactiveManagementApiClient;
+        this.warmUpEnabled = warmUpEnabled;
+        this.warmUpLimit = warmUpLimit;
+    }
+
+    /**
+     * Reads the IDs of the existing CEL expressions in the background. Until it completes, or if it fails, expressions
+     * are created and conflicts are ignored.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmUpEnabled) {
+            return;
+        }
+        reactiveManagementApiClient.queryCelExpressions(QuerySpec.Builder.aQuerySpecDto().limit(warmUpLimit).build())
+                .map(CelExpression::getId)
+                .filter(Objects::nonNull)
+                .doOnNext(registeredIds::add)
+                .count()
+                .subscribe(count -> log.info("Found {} CEL expressions in the control plane", count),
+                        e -> log.warn("Failed to read CEL expressions from the control plane: {}", e.toString()));
+    }
+
+    /**
+     * Creates the CEL expression in the control plane unless it is known to exist.
+     */
+    public void register(CelExpression celExpression) {
+        var id = celExpression.getId();
+        if (id != null && registeredIds.contains(id)) {
+            return;
+        }
+        try {
+            managementApiClient.createCelExpression(celExpression);
+        } catch (WebClientResponseException.Conflict e) {
+            //do nothing, CEL expression already exists
+        }
+        if (id != null) {
+            registeredIds.add(id);
+        }
+    }
+
+    boolean isRegistered(String id) {
+        return registeredIds.contains(id);
+    }
+}
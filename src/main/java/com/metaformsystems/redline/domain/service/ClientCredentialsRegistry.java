@@ -0,0 +1,124 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.domain.entity.ClientCredentials;
+import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory registry of the client credentials of each participant context, so that outbound calls to the control
+ * plane, data plane and identity hub do not have to load the participant for every request. Entries are loaded lazily
+ * from the {@link ParticipantRepository} and kept up to date by {@link TenantService} whenever it changes a
+ * participant's credentials.
+ * <p>
+ * Lookups and size are published as the {@code cache.gets} and {@code cache.size} metrics, tagged with
+ * {@code cache=client-credentials}.
+ */
+@Component
+public class ClientCredentialsRegistry implements MeterBinder {
+
+    private static final String CACHE_NAME = "client-credentials";
+
+    private final ParticipantRepository participantRepository;
+    private final ConcurrentMap<String, ClientCredentials> credentials = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ClientCredentialsRegistry(ParticipantRepository participantRepository) {
+        this.participantRepository = participantRepository;
+    }
+
+    /**
+     * Returns the client credentials of a participant context, loading them on first access.
+     *
+     * @return the credentials, or null if the participant has no credentials yet
+     * @throws ObjectNotFoundException if no participant with that context ID exists
+     */
+    public ClientCredentials getClientCredentials(String participantContextId) {
+        var cached = findCachedClientCredentials(participantContextId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        misses.increment();
+        var loaded = participantRepository.findByParticipantContextId(participantContextId)
+                .orElseThrow(() -> new ObjectNotFoundException("Participant not found with context id: " + participantContextId))
+                .getClientCredentials();
+        // participants without credentials are not cached, they are expected to receive them shortly
+        if (loaded != null) {
+            credentials.putIfAbsent(participantContextId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the client credentials of a participant context if they are already registered, without loading them.
+     * Callers that must not block use this before falling back to {@link #getClientCredentials(String)}.
+     */
+    public Optional<ClientCredentials> findCachedClientCredentials(String participantContextId) {
+        var cached = participantContextId != null ? Optional.ofNullable(credentials.get(participantContextId)) : Optional.<ClientCredentials>empty();
+        cached.ifPresent(c -> hits.increment());
+        return cached;
+    }
+
+    /**
+     * Replaces the registered credentials of a participant context. Passing null removes the entry.
+     */
+    public void update(String participantContextId, ClientCredentials clientCredentials) {
+        if (clientCredentials == null) {
+            invalidate(participantContextId);
+        } else {
+            credentials.put(participantContextId, clientCredentials);
+        }
+    }
+
+    public void invalidate(String participantContextId) {
+        credentials.remove(participantContextId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .description("Lookups of registered client credentials")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .description("Lookups that loaded client credentials from the database")
+                .register(registry);
+        Gauge.builder("cache.size", credentials, Map::size)
+                .tags("cache", CACHE_NAME)
+                .description("Number of registered client credentials")
+                .register(registry);
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), credentials.size());
+    }
+
+    public record Stats(long hits, long misses, int size) {
+    }
+}
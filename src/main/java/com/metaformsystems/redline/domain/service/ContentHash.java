@@ -0,0 +1,55 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 digests of file contents, used to recognize a file that a participant has already uploaded, and of catalogs,
+ * used as their entity tags.
+ */
+final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String toHex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Reads the stream to its end and returns the digest of its content.
+     */
+    static String of(InputStream stream) throws IOException {
+        var digest = newDigest();
+        try (var digestStream = new DigestInputStream(stream, digest)) {
+            digestStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return toHex(digest);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.domain.entity.SignedAgreement;
+import com.metaformsystems.redline.domain.repository.SignedAgreementRepository;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractAgreement;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Attaches the contract agreements to a list of contract negotiations. Agreements of finalized negotiations never
+ * change, they are kept in the {@link SignedAgreementRepository} and only fetched from the control plane once. The
+ * remaining agreements are fetched concurrently, up to a configurable parallelism, and the negotiations are emitted
+ * in their original order. A lookup that fails or takes longer than the per-item timeout leaves the agreement of that
+ * negotiation empty instead of failing the whole list.
+ */
+@Component
+public class ContractAgreementResolver {
+    private static final String FINALIZED = "FINALIZED";
+    private static final int BATCH_SIZE = 100;
+    private static final Logger log = LoggerFactory.getLogger(ContractAgreementResolver.class);
+
+    private final ReactiveManagementApiClient managementApiClient;
+    private final SignedAgreementRepository signedAgreementRepository;
+    private final int parallelism;
+    private final Duration timeout;
+
+    public ContractAgreementResolver(ReactiveManagementApiClient managementApiClient,
+                                     SignedAgreementRepository signedAgreementRepository,
+                                     @Value("${contracts.agreement-lookup.parallelism:8}") int parallelism,
+                                     @Value("${contracts.agreement-lookup.timeout:5s}") Duration timeout) {
+        this.managementApiClient = managementApiClient;
+        this.signedAgreementRepository = signedAgreementRepository;
+        this.parallelism = parallelism;
+        this.timeout = timeout;
+    }
+
+    public Flux<ContractNegotiation> resolveAgreements(String participantContextId, Flux<ContractNegotiation> negotiations) {
+        // batches bound the size of the signed agreement queries and keep long streams from being collected at once
+        return negotiations.buffer(BATCH_SIZE)
+                .concatMap(batch -> findSignedAgreements(participantContextId, batch)
+                        .flatMapMany(signed -> Flux.fromIterable(batch)
+                                .flatMapSequential(negotiation -> resolveAgreement(participantContextId, negotiation, signed), parallelism)));
+    }
+
+    /**
+     * Stores the agreement of a negotiation that has just been finalized, so that it is never fetched by
+     * {@link #resolveAgreements} again. Does nothing for other negotiations or if the agreement is already stored.
+     */
+    public Mono<Void> warmUp(String participantContextId, ContractNegotiation negotiation) {
+        if (!isSigned(negotiation)) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> signedAgreementRepository.existsByParticipantContextIdAndNegotiationId(participantContextId, negotiation.getId()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .filter(exists -> !exists)
+                .flatMap(x -> managementApiClient.getAgreement(participantContextId, negotiation.getId()).timeout(timeout))
+                .flatMap(agreement -> store(participantContextId, negotiation, agreement))
+                .onErrorResume(e -> {
+                    log.warn("Failed to store agreement of contract negotiation {}: {}", negotiation.getId(), e.toString());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Map<String, SignedAgreement>> findSignedAgreements(String participantContextId, List<ContractNegotiation> negotiations) {
+        var negotiationIds = negotiations.stream().filter(this::isSigned).map(ContractNegotiation::getId).toList();
+        if (negotiationIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return Mono.fromCallable(() -> signedAgreementRepository.findByParticipantContextIdAndNegotiationIdIn(participantContextId, negotiationIds).stream()
+                        .collect(Collectors.toMap(SignedAgreement::getNegotiationId, Function.identity())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.warn("Failed to read signed agreements: {}", e.toString());
+                    return Mono.just(Map.of());
+                });
+    }
+
+    private Mono<ContractNegotiation> resolveAgreement(String participantContextId, ContractNegotiation negotiation, Map<String, SignedAgreement> signed) {
+        if (negotiation.getContractAgreementId() == null) {
+            return Mono.just(negotiation);
+        }
+        var signedAgreement = signed.get(negotiation.getId());
+        if (signedAgreement != null) {
+            negotiation.setContractAgreement(toContractAgreement(signedAgreement));
+            return Mono.just(negotiation);
+        }
+        return managementApiClient.getAgreement(participantContextId, negotiation.getId())
+                .timeout(timeout)
+                .flatMap(agreement -> store(participantContextId, negotiation, agreement))
+                .map(agreement -> {
+                    negotiation.setContractAgreement(agreement);
+                    return negotiation;
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to get agreement of contract negotiation {}: {}", negotiation.getId(), e.toString());
+                    return Mono.just(negotiation);
+                })
+                .defaultIfEmpty(negotiation);
+    }
+
+    private Mono<ContractAgreement> store(String participantContextId, ContractNegotiation negotiation, ContractAgreement agreement) {
+        if (!isSigned(negotiation)) {
+            return Mono.just(agreement);
+        }
+        return Mono.fromRunnable(() -> signedAgreementRepository.save(toSignedAgreement(participantContextId, negotiation.getId(), agreement)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.empty()) // stored concurrently
+                .onErrorResume(e -> {
+                    log.warn("Failed to store agreement of contract negotiation {}: {}", negotiation.getId(), e.toString());
+                    return Mono.empty();
+                })
+                .thenReturn(agreement);
+    }
+
+    private boolean isSigned(ContractNegotiation negotiation) {
+        return FINALIZED.equals(negotiation.getState()) && negotiation.getContractAgreementId() != null;
+    }
+
+    private SignedAgreement toSignedAgreement(String participantContextId, String negotiationId, ContractAgreement agreement) {
+        var signedAgreement = new SignedAgreement();
+        signedAgreement.setParticipantContextId(participantContextId);
+        signedAgreement.setNegotiationId(negotiationId);
+        signedAgreement.setContractAgreementId(agreement.getId());
+        signedAgreement.setAgreementId(agreement.getAgreementId());
+        signedAgreement.setProviderId(agreement.getProviderId());
+        signedAgreement.setConsumerId(agreement.getConsumerId());
+        signedAgreement.setContractSigningDate(agreement.getContractSigningDate());
+        signedAgreement.setAssetId(agreement.getAssetId());
+        signedAgreement.setPolicy(agreement.getPolicy());
+        return signedAgreement;
+    }
+
+    private ContractAgreement toContractAgreement(SignedAgreement signedAgreement) {
+        var agreement = new ContractAgreement();
+        agreement.setId(signedAgreement.getContractAgreementId());
+        agreement.setAgreementId(signedAgreement.getAgreementId());
+        agreement.setProviderId(signedAgreement.getProviderId());
+        agreement.setConsumerId(signedAgreement.getConsumerId());
+        agreement.setContractSigningDate(signedAgreement.getContractSigningDate());
+        agreement.setAssetId(signedAgreement.getAssetId());
+        agreement.setPolicy(signedAgreement.getPolicy());
+        agreement.setParticipantContextId(signedAgreement.getParticipantContextId());
+        return agreement;
+    }
+}
@@ -16,14 +16,19 @@
 package com.metaformsystems.redline.domain.service;
 
 import com.metaformsystems.redline.api.dto.request.TransferProcessRequest;
+import com.metaformsystems.redline.api.dto.response.DatasetSearchResult;
 import com.metaformsystems.redline.api.dto.response.FileResource;
+import com.metaformsystems.redline.domain.entity.HashMapConverter;
+import com.metaformsystems.redline.domain.entity.UploadJob;
 import com.metaformsystems.redline.domain.entity.UploadedFile;
 import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
 import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.repository.UploadedFileRepository;
 import com.metaformsystems.redline.infrastructure.client.dataplane.DataPlaneApiClient;
+import com.metaformsystems.redline.infrastructure.client.dataplane.dto.DownloadResponse;
 import com.metaformsystems.redline.infrastructure.client.management.ManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Asset;
-import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
 import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
 import com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation;
 import com.metaformsystems.redline.infrastructure.client.management.dto.ContractRequest;
@@ -31,26 +36,39 @@ import com.metaformsystems.redline.infrastructure.client.management.dto.Criterio
 import com.metaformsystems.redline.infrastructure.client.management.dto.NewContractDefinition;
 import com.metaformsystems.redline.infrastructure.client.management.dto.NewPolicyDefinition;
 import com.metaformsystems.redline.infrastructure.client.management.dto.PolicySet;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
 import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
 import com.metaformsystems.redline.infrastructure.client.management.dto.TransferRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.StringUtils;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.time.Duration;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -62,35 +80,104 @@ import static com.metaformsystems.redline.domain.service.Constants.MEMBERSHIP_EX
 @Service
 public class DataAccessService {
     private static final Logger log = LoggerFactory.getLogger(DataAccessService.class);
+    private static final HashMapConverter METADATA_CONVERTER = new HashMapConverter();
     private final DataPlaneApiClient dataPlaneApiClient;
-    private final ConcurrentLruCache<LookupKey, CacheableEntry<Catalog>> catalogCache;
+    private final CatalogCache catalogCache;
     private final WebDidResolver webDidResolver;
     private final ParticipantRepository participantRepository;
     private final ManagementApiClient managementApiClient;
-
-    public DataAccessService(DataPlaneApiClient dataPlaneApiClient, WebDidResolver webDidResolver, ParticipantRepository participantRepository, ManagementApiClient managementApiClient) {
+    private final ReactiveManagementApiClient reactiveManagementApiClient;
+    private final ContractAgreementResolver contractAgreementResolver;
+    private final TransferProcessMirror transferProcessMirror;
+    private final EdrCache edrCache;
+    private final CelExpressionRegistry celExpressionRegistry;
+    private final DownloadCache downloadCache;
+    private final UploadedFileRepository uploadedFileRepository;
+
+    public DataAccessService(DataPlaneApiClient dataPlaneApiClient, WebDidResolver webDidResolver, ParticipantRepository participantRepository, ManagementApiClient managementApiClient, ReactiveManagementApiClient reactiveManagementApiClient, ContractAgreementResolver contractAgreementResolver, TransferProcessMirror transferProcessMirror, EdrCache edrCache, CelExpressionRegistry celExpressionRegistry, DownloadCache downloadCache, UploadedFileRepository uploadedFileRepository, CatalogCache catalogCache) {
         this.dataPlaneApiClient = dataPlaneApiClient;
         this.participantRepository = participantRepository;
         this.managementApiClient = managementApiClient;
-        this.catalogCache = new ConcurrentLruCache<>(100, key -> fetchCatalog(key.participantId(), key.did()));
+        this.catalogCache = catalogCache;
         this.webDidResolver = webDidResolver;
+        this.reactiveManagementApiClient = reactiveManagementApiClient;
+        this.contractAgreementResolver = contractAgreementResolver;
+        this.transferProcessMirror = transferProcessMirror;
+        this.edrCache = edrCache;
+        this.celExpressionRegistry = celExpressionRegistry;
+        this.downloadCache = downloadCache;
+        this.uploadedFileRepository = uploadedFileRepository;
     }
 
+    /**
+     * Uploads a file received as a whole and publishes it like {@link #publishFile}. The file is read twice: whether
+     * the participant has uploaded the same content before must be known before anything is sent to the data plane,
+     * so its digest is computed in a first pass, and only the second pass uploads it if it cannot be reused. Callers
+     * that stage the content themselves, like the {@link UploadJobService}, compute the digest while staging instead.
+     */
     @Transactional
-    public void uploadFileForParticipant(Long participantId, Map<String, Object> publicMetadata, Map<String, Object> privateMetadata, InputStream fileStream, String contentType, String originalFilename, List<CelExpression> celExpressions,  PolicySet policySet) {
+    public void uploadFileForParticipant(Long participantId, Map<String, Object> publicMetadata, Map<String, Object> privateMetadata, InputStreamSource file, String contentType, String originalFilename, List<CelExpression> celExpressions,  PolicySet policySet) {
 
         var participant = participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
-        var participantContextId = participant.getParticipantContextId();
 
-        //0. upload file to data plane
+        try {
+            var contentHash = ContentHash.of(file.getInputStream());
+            try (var fileStream = file.getInputStream()) {
+                    var uploadedFile = publishFile(participant.getParticipantContextId(), publicMetadata, privateMetadata, fileStream, contentType, originalFilename, celExpressions, policySet, contentHash, (step, status) -> {
+                });
+
+                //5. track uploaded file in DB
+                participant.getUploadedFiles().add(uploadedFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Uploads a file to the data plane and publishes it as an asset with its policy and contract definition. Does not
+     * need a transaction, the returned {@link UploadedFile} is tracked by the caller. The progress of each step is
+     * reported to the given listener, possibly from different threads. If the SHA-256 digest of the content is given
+     * and the participant has uploaded the same content with the same metadata before, the file on the data plane is
+     * reused instead of being uploaded again. Otherwise the digest is computed during the upload.
+     */
+    public UploadedFile publishFile(String participantContextId, Map<String, Object> publicMetadata, Map<String, Object> privateMetadata, InputStream fileStream, String contentType, String originalFilename, List<CelExpression> celExpressions, PolicySet policySet, String contentHash, BiConsumer<UploadJob.Step, UploadJob.Status> progress) {
+        var digest = ContentHash.newDigest();
+        var content = contentHash != null ? fileStream : new DigestInputStream(fileStream, digest);
+        return publish(participantContextId, publicMetadata, privateMetadata, contentHash,
+                metadata -> Mono.fromCallable(() -> new StoredFile(dataPlaneApiClient.uploadMultipart(participantContextId, metadata, content).id(),
+                                contentHash != null ? contentHash : ContentHash.toHex(digest)))
+                        .subscribeOn(Schedulers.boundedElastic()),
+                contentType, originalFilename, celExpressions, policySet, progress)
+                .block();
+    }
+
+    /**
+     * Streams a file to the data plane and publishes it like {@link #publishFile}. The content is forwarded as it is
+     * emitted, so it is never held in memory as a whole. Its digest is only known once it has been forwarded, so the
+     * file is always uploaded, but later uploads of the same content can reuse it.
+     */
+    public Mono<UploadedFile> streamFile(String participantContextId, Map<String, Object> publicMetadata, Map<String, Object> privateMetadata, Flux<DataBuffer> content, String contentType, String originalFilename, List<CelExpression> celExpressions, PolicySet policySet) {
+        var digest = ContentHash.newDigest();
+        var digestedContent = content.doOnNext(buffer -> {
+            try (var byteBuffers = buffer.readableByteBuffers()) {
+                byteBuffers.forEachRemaining(digest::update);
+            }
+        });
+        return publish(participantContextId, publicMetadata, privateMetadata, null,
+                metadata -> dataPlaneApiClient.uploadMultipart(participantContextId, metadata, digestedContent)
+                        .map(response -> new StoredFile(response.id(), ContentHash.toHex(digest))),
+                contentType, originalFilename, celExpressions, policySet, (step, status) -> {
+                });
+    }
+
+    private Mono<UploadedFile> publish(String participantContextId, Map<String, Object> publicMetadata, Map<String, Object> privateMetadata, String contentHash, Function<Map<String, Object>, Mono<StoredFile>> upload, String contentType, String originalFilename, List<CelExpression> celExpressions, PolicySet policySet, BiConsumer<UploadJob.Step, UploadJob.Status> progress) {
+
         var assetId = UUID.randomUUID().toString();
         publicMetadata.put("assetId", assetId);
         var combinedMetadata = Stream.of(publicMetadata, privateMetadata).flatMap(m -> m.entrySet().stream())
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-        var response = dataPlaneApiClient.uploadMultipart(participantContextId, combinedMetadata, fileStream);
-        var fileId = response.id();
 
-        //1. create CEL expressions
         var expressions = new ArrayList<>(celExpressions);
         expressions.add(CelExpression.Builder.aNewCelExpression()
                 .id(MEMBERSHIP_EXPRESSION_ID)
@@ -99,20 +186,7 @@ public class DataAccessService {
                 .scopes(Set.of("catalog", "contract.negotiation", "transfer.process"))
                 .expression(MEMBERSHIP_EXPRESSION)
                 .build());
-        expressions.forEach(celExpression -> {
-            try {
-                managementApiClient.createCelExpression(celExpression);
-            } catch (WebClientResponseException.Conflict e) {
-                //do nothing, CEL expression already exists
-            }
-        });
 
-        //2. create asset
-        publicMetadata.put("fileId", fileId);
-        var asset = createAsset(assetId, publicMetadata, privateMetadata, contentType, originalFilename);
-        managementApiClient.createAsset(participantContextId, asset);
-
-        //3. create policy
         if (policySet != null) {
             var constraints = new ArrayList<>(List.of(MEMBERSHIP_CONSTRAINT));
             constraints.addAll(policySet.getPermission().getFirst().getConstraint());
@@ -125,20 +199,87 @@ public class DataAccessService {
         var policy = NewPolicyDefinition.Builder.aNewPolicyDefinition()
                 .id(UUID.randomUUID().toString())
                 .policy(policySet).build();
-        managementApiClient.createPolicy(participantContextId, policy);
 
-        //4. create contract definition if none exists
         var contractDef = NewContractDefinition.Builder.aNewContractDefinition()
                 .id(UUID.randomUUID().toString())
                 .contractPolicyId(policy.getId())
                 .accessPolicyId(policy.getId())
                 .assetsSelector(Set.of(new Criterion("id", "=", assetId)))
                 .build();
-        managementApiClient.createContractDefinition(participantContextId, contractDef);
 
+        // only the asset depends on the uploaded file, the CEL expressions and the policy are created alongside
+        // the policy constraints reference the CEL expressions, so those are registered first
+        var assetCreated = new AtomicBoolean();
+        var policyCreated = new AtomicBoolean();
+
+        // looked up on the calling thread, which sees the files tracked in its transaction
+        var storedFile = findStoredFile(participantContextId, contentHash, combinedMetadata);
+
+        //0. upload file to data plane unless the participant has uploaded the same content before, 1. create asset
+        var fileUpload = track(UploadJob.Step.UPLOAD_FILE, progress, storedFile.map(Mono::just).orElseGet(() -> upload.apply(combinedMetadata)))
+                .flatMap(file -> {
+                    publicMetadata.put("fileId", file.fileId());
+                    var asset = createAsset(assetId, publicMetadata, privateMetadata, contentType, originalFilename);
+                    return track(UploadJob.Step.CREATE_ASSET, progress, reactiveManagementApiClient.createAsset(participantContextId, asset)
+                            .doOnSuccess(v -> assetCreated.set(true))
+                            .thenReturn(file));
+                });
+
+        //2. create CEL expressions
+        var celRegistration = track(UploadJob.Step.REGISTER_CEL_EXPRESSIONS, progress, Flux.fromIterable(expressions)
+                .flatMap(celExpression -> Mono.fromRunnable(() -> celExpressionRegistry.register(celExpression))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .then(Mono.just(true)));
+
+        //3. create policy once its CEL expressions are registered
+        var policyCreation = celRegistration.then(track(UploadJob.Step.CREATE_POLICY, progress, reactiveManagementApiClient.createPolicy(participantContextId, policy)
+                .doOnSuccess(v -> policyCreated.set(true))
+                .thenReturn(true)));
+
+        //4. create contract definition once asset and policy exist
+        return Mono.zipDelayError(fileUpload, policyCreation)
+                .flatMap(steps -> track(UploadJob.Step.CREATE_CONTRACT_DEFINITION, progress, reactiveManagementApiClient.createContractDefinition(participantContextId, contractDef)
+                        .thenReturn(steps.getT1())))
+                .onErrorMap(Exceptions::isMultiple, e -> Exceptions.unwrapMultiple(e).getFirst())
+                .onErrorResume(e -> compensateUpload(participantContextId, assetCreated.get() ? assetId : null, policyCreated.get() ? policy.getId() : null)
+                        .then(Mono.error(e)))
+                .map(file -> {
+                    var uploadedFile = new UploadedFile(file.fileId(), originalFilename, contentType, combinedMetadata);
+                    uploadedFile.setContentHash(file.contentHash());
+                    return uploadedFile;
+                });
+    }
 
-        //5. track uploaded file in DB
-        participant.getUploadedFiles().add(new UploadedFile(fileId, originalFilename, contentType, combinedMetadata));
+    /**
+     * Finds a file of the participant on the data plane that can be reused for the given content and metadata. The
+     * metadata of a file is not sent again when it is reused, so only files that were uploaded with the same metadata
+     * qualify. The generated asset id is the only difference, the file keeps the id of the asset it was uploaded for.
+     */
+    private Optional<StoredFile> findStoredFile(String participantContextId, String contentHash, Map<String, Object> metadata) {
+        if (contentHash == null) {
+            return Optional.empty();
+        }
+        var reusableMetadata = reusableMetadata(metadata);
+        return uploadedFileRepository.findByParticipantContextIdAndContentHash(participantContextId, contentHash).stream()
+                .filter(uploadedFile -> reusableMetadata.equals(reusableMetadata(uploadedFile.getMetadata())))
+                .findFirst()
+                .map(uploadedFile -> {
+                    log.info("Reusing file {} of participant {}, which has the same content and metadata", uploadedFile.getFileId(), participantContextId);
+                    return new StoredFile(uploadedFile.getFileId(), contentHash);
+                });
+    }
+
+    // compared as stored, since the JSON column does not preserve the types of numbers
+    private static Map<String, Object> reusableMetadata(Map<String, Object> metadata) {
+        var withoutAssetId = new HashMap<>(metadata != null ? metadata : Map.of());
+        withoutAssetId.remove("assetId");
+        return METADATA_CONVERTER.convertToEntityAttribute(METADATA_CONVERTER.convertToDatabaseColumn(withoutAssetId));
+    }
+
+    @Transactional
+    public void addUploadedFile(Long participantId, UploadedFile uploadedFile) {
+        var participant = participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
+        participant.getUploadedFiles().add(uploadedFile);
     }
 
     @Transactional
@@ -149,23 +290,22 @@ public class DataAccessService {
                 .toList();
     }
 
+    /**
+     * Returns the catalog of the counter-party with its entity tag from the {@link CatalogCache}, subject to the given
+     * {@code Cache-Control} directives.
+     */
     @Transactional
-    public Catalog requestCatalog(Long participantId, String counterPartyIdentifier, String cacheControl) {
-
+    public CatalogCache.CachedCatalog requestCatalog(Long participantId, String counterPartyIdentifier, String cacheControl) {
         var participant = participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
+        return catalogCache.getCatalog(participant.getParticipantContextId(), counterPartyIdentifier, cacheControl).block();
+    }
 
-        var key = new LookupKey(participant.getParticipantContextId(), counterPartyIdentifier);
-        var catalogEntry = catalogCache.get(key);
-        //todo: check if expired or must be reloaded
-        if (isExpired(catalogEntry, cacheControl)) {
-            log.info("Catalog cache expired or no-cache requested for participant {} and counterparty {}", participantId, counterPartyIdentifier);
-
-            // removing and re-getting forces a cache update, i.e., reading the remote catalog again
-            catalogCache.remove(key);
-            return catalogCache.get(key).value();
-        }
-
-        return catalogEntry.value();
+    /**
+     * Searches the datasets of the cached catalogs of the participant, see {@link CatalogCache#searchDatasets}.
+     */
+    @Transactional(readOnly = true)
+    public DatasetSearchResult searchDatasets(Long participantId, List<String> counterPartyIds, String text, QuerySpec query) {
+        return catalogCache.searchDatasets(getContextId(participantId), counterPartyIds, text, query).block();
     }
 
     @Transactional
@@ -175,6 +315,27 @@ public class DataAccessService {
         return managementApiClient.listTransferProcesses(participantContextId);
     }
 
+    /**
+     * Lists the transfer processes from the {@link TransferProcessMirror}, or from the control plane if the mirror
+     * cannot answer the query.
+     */
+    @Transactional
+    public List<TransferProcess> listTransferProcesses(Long participantId, QuerySpec query) {
+        var participantContextId = getContextId(participantId);
+        return transferProcessMirror.list(participantContextId, query)
+                .orElseGet(() -> managementApiClient.listTransferProcesses(participantContextId, query));
+    }
+
+    /**
+     * Streams all transfer processes matching the query, the control plane is paged through while the results are
+     * consumed.
+     */
+    @Transactional(readOnly = true)
+    public Flux<TransferProcess> streamTransferProcesses(Long participantId, QuerySpec query) {
+        var participant = participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
+        return reactiveManagementApiClient.streamTransferProcesses(participant.getParticipantContextId(), query);
+    }
+
     @Transactional
     public List<ContractNegotiation> listContracts(Long participantId) {
         var participant = participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
@@ -182,8 +343,32 @@ public class DataAccessService {
 
         var negotiations = managementApiClient.listContracts(participantContextId);
 
-        return negotiations.stream().map(cn -> getAgreement(participantContextId, cn))
-                .toList();
+        return contractAgreementResolver.resolveAgreements(participantContextId, Flux.fromIterable(negotiations))
+                .collectList()
+                .block();
+    }
+
+    @Transactional
+    public List<ContractNegotiation> listContracts(Long participantId, QuerySpec query) {
+        var participant = participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
+        var participantContextId = participant.getParticipantContextId();
+
+        var negotiations = managementApiClient.listContracts(participantContextId, query);
+
+        return contractAgreementResolver.resolveAgreements(participantContextId, Flux.fromIterable(negotiations))
+                .collectList()
+                .block();
+    }
+
+    /**
+     * Streams all contract negotiations matching the query together with their agreements, see
+     * {@link #streamTransferProcesses(Long, QuerySpec)}.
+     */
+    @Transactional(readOnly = true)
+    public Flux<ContractNegotiation> streamContracts(Long participantId, QuerySpec query) {
+        var participant = participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
+        var participantContextId = participant.getParticipantContextId();
+        return contractAgreementResolver.resolveAgreements(participantContextId, reactiveManagementApiClient.streamContracts(participantContextId, query));
     }
 
     @Transactional
@@ -208,7 +393,11 @@ public class DataAccessService {
     public ContractNegotiation getContractNegotiation(Long participantId, String contractId) {
         var participant = participantRepository.findById(participantId)
                 .orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
-        return managementApiClient.getContractNegotiation(participant.getParticipantContextId(), contractId);
+        var participantContextId = participant.getParticipantContextId();
+        var negotiation = managementApiClient.getContractNegotiation(participantContextId, contractId);
+        // keep the agreement locally as soon as the negotiation is finalized
+        contractAgreementResolver.warmUp(participantContextId, negotiation).subscribe();
+        return negotiation;
     }
 
     public String initiateTransferProcess(Long providerId, TransferProcessRequest transferRequest) {
@@ -226,65 +415,99 @@ public class DataAccessService {
                 .dataDestination(transferRequest.getDataDestination())
                 .build();
 
-        return managementApiClient.initiateTransferProcess(participantContextId, rq);
+        var transferProcessId = managementApiClient.initiateTransferProcess(participantContextId, rq);
+        transferProcessMirror.register(participantContextId, transferProcessId);
+        return transferProcessId;
     }
 
-    @Transactional
     public TransferProcess getTransferProcess(Long participantId, String transferProcessId) {
-        var tp = managementApiClient.getTransferProcess(getContextId(participantId), transferProcessId);
+        return getTransferProcess(participantId, transferProcessId, null);
+    }
+
+    /**
+     * Returns the transfer process from the {@link TransferProcessMirror} if it is mirrored already, otherwise it is
+     * read from the control plane and mirrored from now on. The EDR of a started transfer process is taken from the
+     * {@link EdrCache}, a {@code no-cache} cache control reads it from the control plane again. Not transactional, so
+     * that a concurrent insert into the mirror does not fail the read.
+     */
+    public TransferProcess getTransferProcess(Long participantId, String transferProcessId, String cacheControl) {
+        var participantContextId = getContextId(participantId);
+        var tp = transferProcessMirror.get(participantContextId, transferProcessId)
+                .orElseGet(() -> transferProcessMirror.track(participantContextId, transferProcessId,
+                        managementApiClient.getTransferProcess(participantContextId, transferProcessId)));
         if ("STARTED".equals(tp.getState())) { //download EDR as well
-            var edr = managementApiClient.getEdr(getContextId(participantId), transferProcessId);
+            var edr = edrCache.getEdr(participantContextId, transferProcessId, isNoCache(cacheControl)).block();
             tp.setContentDataAddress(edr);
+        } else {
+            edrCache.evict(participantContextId, transferProcessId);
         }
         return tp;
     }
 
-    @Transactional
-    public byte[] downloadData(Long participantId, String fileId, String authToken) {
+    /**
+     * Starts the download of a file from the provider's data plane. Returns once the response headers are received, the
+     * content is streamed while the caller consumes it. If the file is in the {@link DownloadCache}, the data plane is
+     * asked to send it only if it has changed, otherwise the {@code Range} and {@code If-Range} headers are passed to
+     * the data plane. Ranges of a whole file, whether cached or sent anyway, are cut from it by {@link ByteRanges}.
+     */
+    public DownloadResponse downloadData(Long participantId, String fileId, String authToken, String range, String ifRange) {
         participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
-        return dataPlaneApiClient.downloadFile(authToken, fileId);
+        var cached = downloadCache.get(fileId);
+        var requestHeaders = new HttpHeaders();
+        if (cached.isPresent()) {
+            // the conditional request also checks that the caller is authorized to read the cached file
+            cached.get().addConditions(requestHeaders);
+        } else if (range != null) {
+            requestHeaders.set(HttpHeaders.RANGE, range);
+            if (ifRange != null) {
+                requestHeaders.set(HttpHeaders.IF_RANGE, ifRange);
+            }
+        }
+        var download = dataPlaneApiClient.downloadFileStream(authToken, fileId, requestHeaders).block();
+        if (cached.isPresent() && download.status().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            download.content().subscribe(DataBufferUtils::release);
+            return ByteRanges.apply(cached.get().toDownload(), range, ifRange);
+        }
+        if (!download.status().isSameCodeAs(HttpStatus.OK)) {
+            return download;
+        }
+        return ByteRanges.apply(downloadCache.store(fileId, download), range, ifRange);
     }
 
-    private CacheableEntry<Catalog> fetchCatalog(String participantId, String did) {
-        return new CacheableEntry<>(managementApiClient.getCatalog(participantId, did), Instant.now());
+    private static <T> Mono<T> track(UploadJob.Step step, BiConsumer<UploadJob.Step, UploadJob.Status> progress, Mono<T> mono) {
+        return mono.doOnSubscribe(s -> progress.accept(step, UploadJob.Status.RUNNING))
+                .doOnSuccess(v -> progress.accept(step, UploadJob.Status.COMPLETED))
+                .doOnError(e -> progress.accept(step, UploadJob.Status.FAILED));
     }
 
     /**
-     * Determines if cache entry requires refresh according to the cacheControl value
+     * Deletes the asset and policy of a failed upload, whichever of them has been created. Failures are logged, the
+     * original error of the upload is reported to the caller.
      */
-    private boolean isExpired(CacheableEntry<Catalog> entry, String cacheControl) {
-        if (entry == null) return true;
-        if (!StringUtils.hasText(cacheControl)) return false;
-
-        if (cacheControl.contains("no-cache") || cacheControl.contains("no-store")) {
-            return true;
-        }
-
-        // Parse max-age
-        var maxAgeMatch = Pattern.compile("max-age=(\\d+)").matcher(cacheControl);
-        if (maxAgeMatch.find()) {
-            long maxAgeSeconds = Long.parseLong(maxAgeMatch.group(1));
-            return entry.timestamp().plus(Duration.ofSeconds(maxAgeSeconds)).isBefore(Instant.now());
-        }
-
-        return false;
+    private Mono<Void> compensateUpload(String participantContextId, String assetId, String policyId) {
+        var assetDeletion = assetId == null ? Mono.<Void>empty() : reactiveManagementApiClient.deleteAsset(participantContextId, assetId)
+                .onErrorResume(e -> {
+                    log.warn("Failed to delete asset {} of failed upload: {}", assetId, e.toString());
+                    return Mono.empty();
+                });
+        var policyDeletion = policyId == null ? Mono.<Void>empty() : reactiveManagementApiClient.deletePolicyDefinition(participantContextId, policyId)
+                .onErrorResume(e -> {
+                    log.warn("Failed to delete policy {} of failed upload: {}", policyId, e.toString());
+                    return Mono.empty();
+                });
+        return Mono.when(assetDeletion, policyDeletion);
     }
 
+    static boolean isNoCache(String cacheControl) {
+        return StringUtils.hasText(cacheControl) && (cacheControl.contains("no-cache") || cacheControl.contains("no-store"));
+    }
 
-    private String getContextId(Long providerId) {
+    public String getContextId(Long providerId) {
         var participant = participantRepository.findById(providerId)
                 .orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + providerId));
         return participant.getParticipantContextId();
     }
 
-    private ContractNegotiation getAgreement(String participantContextId, ContractNegotiation negotiation) {
-        if (negotiation.getContractAgreementId() != null) {
-            var agreement = managementApiClient.getAgreement(participantContextId, negotiation.getId());
-            negotiation.setContractAgreement(agreement);
-        }
-        return negotiation;
-    }
-
     private Asset createAsset(String id, Map<String, Object> publicMetadata, Map<String, Object> privateMetadata, String contentType, String originalFilename) {
 
         var properties = new HashMap<String, Object>(Map.of(
@@ -306,11 +529,9 @@ public class DataAccessService {
                 .build();
     }
 
-    private record CacheableEntry<T>(T value, Instant timestamp) {
-
-    }
-
-    private record LookupKey(String participantId, String did) {
-
+    /**
+     * A file on the data plane and the digest of its content.
+     */
+    private record StoredFile(String fileId, String contentHash) {
     }
 }
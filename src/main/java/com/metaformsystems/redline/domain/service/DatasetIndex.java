@@ -0,0 +1,325 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.api.dto.response.CatalogDataset;
+import com.metaformsystems.redline.api.dto.response.DatasetSearchResult;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Constraint;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Dataset;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Offer;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the datasets of the catalogs in the {@link CatalogCache}, per participant. Each dataset is
+ * indexed by its {@code id}, {@code type}, {@code counterPartyId}, its properties, and the fields of its offers under
+ * {@code policy.*}, e.g. {@code policy.permission.constraint.leftOperand}. Properties are indexed under their full key
+ * and, for IRIs, also under their local name, nested properties under their dotted path. Field names and values are
+ * matched case-insensitively. The words of the {@code description}, {@code title}, {@code name} and {@code keyword}
+ * properties are indexed for full-text search, where each search word matches the words it is a prefix of.
+ */
+@Component
+public class DatasetIndex {
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Set<String> TEXT_FIELDS = Set.of("description", "title", "name", "keyword", "keywords");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, ParticipantIndex> participants = new HashMap<>();
+
+    /**
+     * Replaces the indexed datasets of the counter-party, unless a catalog that was fetched later is already indexed.
+     */
+    public void index(String participantContextId, String counterPartyId, Catalog catalog, Instant fetchedAt) {
+        var documents = catalog.getDataset() == null ? List.<Document>of() : catalog.getDataset().stream()
+                .map(dataset -> toDocument(counterPartyId, dataset))
+                .toList();
+        lock.writeLock().lock();
+        try {
+            var index = participants.computeIfAbsent(participantContextId, p -> new ParticipantIndex());
+            var indexed = index.sources.get(counterPartyId);
+            if (indexed != null && indexed.fetchedAt().isAfter(fetchedAt)) {
+                return;
+            }
+            index.remove(counterPartyId);
+            index.add(counterPartyId, new Source(fetchedAt, documents));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the datasets of the counter-party from the index.
+     */
+    public void remove(String participantContextId, String counterPartyId) {
+        lock.writeLock().lock();
+        try {
+            var index = participants.get(participantContextId);
+            if (index != null) {
+                index.remove(counterPartyId);
+                if (index.sources.isEmpty()) {
+                    participants.remove(participantContextId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the datasets of the given counter-parties, or of all indexed counter-parties if none are given, that
+     * match all filter expressions and all words of the text. Results are sorted by the sort field of the query, then by
+     * counter-party and ID.
+     */
+    public DatasetSearchResult search(String participantContextId, Collection<String> counterPartyIds, String text, QuerySpec query) {
+        lock.readLock().lock();
+        try {
+            var index = participants.get(participantContextId);
+            if (index == null) {
+                return new DatasetSearchResult(0, List.of());
+            }
+            var constraints = new ArrayList<Set<Document>>();
+            if (counterPartyIds != null && !counterPartyIds.isEmpty()) {
+                var documents = new HashSet<Document>();
+                counterPartyIds.forEach(counterPartyId -> {
+                    var source = index.sources.get(counterPartyId);
+                    if (source != null) {
+                        documents.addAll(source.documents());
+                    }
+                });
+                constraints.add(documents);
+            }
+            if (query.getFilterExpression() != null) {
+                query.getFilterExpression().forEach(criterion -> constraints.add(index.values
+                        .getOrDefault(normalize(criterion.getOperandLeft()), Map.of())
+                        .getOrDefault(normalize(criterion.getOperandRight()), Set.of())));
+            }
+            for (var word : words(text)) {
+                var documents = new HashSet<Document>();
+                index.words.subMap(word, true, word + Character.MAX_VALUE, true).values().forEach(documents::addAll);
+                constraints.add(documents);
+            }
+
+            var matches = new ArrayList<>(constraints.isEmpty() ? index.all() : intersect(constraints));
+            matches.sort(comparator(query));
+            var offset = Math.min(query.getOffset(), matches.size());
+            var end = query.getLimit() > 0 ? (int) Math.min((long) offset + query.getLimit(), matches.size()) : matches.size();
+            var page = matches.subList(offset, end).stream()
+                    .map(document -> new CatalogDataset(document.counterPartyId, document.dataset))
+                    .toList();
+            return new DatasetSearchResult(matches.size(), page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<Document> intersect(List<Set<Document>> constraints) {
+        constraints.sort(Comparator.comparingInt(Set::size));
+        var result = new HashSet<>(constraints.getFirst());
+        constraints.subList(1, constraints.size()).forEach(result::retainAll);
+        return result;
+    }
+
+    private static Comparator<Document> comparator(QuerySpec query) {
+        Comparator<Document> tieBreak = Comparator.<Document, String>comparing(document -> document.counterPartyId)
+                .thenComparing(document -> document.dataset.getId(), Comparator.nullsLast(Comparator.naturalOrder()));
+        if (query.getSortField() == null) {
+            return tieBreak;
+        }
+        var field = normalize(query.getSortField());
+        Comparator<String> order = "DESC".equals(query.getSortOrder()) ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        return Comparator.<Document, String>comparing(document -> document.sortValue(field), Comparator.nullsLast(order))
+                .thenComparing(tieBreak);
+    }
+
+    private static Document toDocument(String counterPartyId, Dataset dataset) {
+        var fields = new LinkedHashMap<String, List<String>>();
+        addField(fields, "id", dataset.getId());
+        addField(fields, "type", dataset.getType());
+        addField(fields, "counterPartyId", counterPartyId);
+        if (dataset.getProperties() != null) {
+            dataset.getProperties().forEach((key, value) -> addProperty(fields, key, value));
+        }
+        if (dataset.getHasPolicy() != null) {
+            dataset.getHasPolicy().forEach(offer -> addOffer(fields, offer));
+        }
+
+        var words = new HashSet<String>();
+        fields.forEach((field, values) -> {
+            if (TEXT_FIELDS.contains(localName(field))) {
+                values.forEach(value -> words.addAll(words(value)));
+            }
+        });
+        return new Document(counterPartyId, dataset, fields, words);
+    }
+
+    private static void addProperty(Map<String, List<String>> fields, String key, Object value) {
+        if (value instanceof Map<?, ?> map) {
+            var literal = map.containsKey("@value") ? map.get("@value") : map.get("@id");
+            if (literal != null) {
+                addProperty(fields, key, literal);
+            } else {
+                map.forEach((nestedKey, nestedValue) -> addProperty(fields, key + "." + nestedKey, nestedValue));
+            }
+        } else if (value instanceof Collection<?> values) {
+            values.forEach(element -> addProperty(fields, key, element));
+        } else if (value != null) {
+            addField(fields, key, value.toString());
+            var localName = localName(key);
+            if (!localName.equals(key)) {
+                addField(fields, localName, value.toString());
+            }
+        }
+    }
+
+    private static void addOffer(Map<String, List<String>> fields, Offer offer) {
+        addField(fields, "policy.id", offer.getId());
+        addField(fields, "policy.assigner", offer.getAssigner());
+        addField(fields, "policy.target", offer.getTarget());
+        if (offer.getPermission() != null) {
+            offer.getPermission().forEach(rule -> addRule(fields, "policy.permission", rule.getAction(), rule.getConstraint()));
+        }
+        if (offer.getProhibition() != null) {
+            offer.getProhibition().forEach(rule -> addRule(fields, "policy.prohibition", rule.getAction(), rule.getConstraint()));
+        }
+        if (offer.getObligation() != null) {
+            offer.getObligation().forEach(rule -> addRule(fields, "policy.obligation", rule.getAction(), rule.getConstraint()));
+        }
+    }
+
+    private static void addRule(Map<String, List<String>> fields, String prefix, String action, List<Constraint> constraints) {
+        addField(fields, prefix + ".action", action);
+        if (constraints != null) {
+            constraints.forEach(constraint -> {
+                addField(fields, prefix + ".constraint.leftOperand", constraint.getLeftOperand());
+                addField(fields, prefix + ".constraint.operator", constraint.getOperator());
+                addField(fields, prefix + ".constraint.rightOperand", constraint.getRightOperand());
+            });
+        }
+    }
+
+    private static void addField(Map<String, List<String>> fields, String field, String value) {
+        if (value != null) {
+            fields.computeIfAbsent(normalize(field), f -> new ArrayList<>()).add(value);
+        }
+    }
+
+    /**
+     * Returns the part of an IRI or compact IRI after the last {@code /}, {@code #} or {@code :}.
+     */
+    private static String localName(String key) {
+        var separator = Math.max(key.lastIndexOf('/'), Math.max(key.lastIndexOf('#'), key.lastIndexOf(':')));
+        return separator >= 0 && separator < key.length() - 1 ? key.substring(separator + 1) : key;
+    }
+
+    private static List<String> words(String text) {
+        if (!StringUtils.hasText(text)) {
+            return List.of();
+        }
+        return WORD.matcher(normalize(text)).results().map(match -> match.group()).distinct().toList();
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Source(Instant fetchedAt, List<Document> documents) {
+    }
+
+    /**
+     * An indexed dataset. Compared by identity, so that the postings of equal datasets of different catalogs are kept
+     * apart.
+     */
+    private static final class Document {
+        private final String counterPartyId;
+        private final Dataset dataset;
+        private final Map<String, List<String>> fields;
+        private final Set<String> words;
+
+        private Document(String counterPartyId, Dataset dataset, Map<String, List<String>> fields, Set<String> words) {
+            this.counterPartyId = counterPartyId;
+            this.dataset = dataset;
+            this.fields = fields;
+            this.words = words;
+        }
+
+        private String sortValue(String field) {
+            var values = fields.get(field);
+            return values == null ? null : normalize(values.getFirst());
+        }
+    }
+
+    private static final class ParticipantIndex {
+        private final Map<String, Source> sources = new HashMap<>();
+        private final Map<String, Map<String, Set<Document>>> values = new HashMap<>();
+        private final NavigableMap<String, Set<Document>> words = new TreeMap<>();
+
+        private void add(String counterPartyId, Source source) {
+            sources.put(counterPartyId, source);
+            source.documents().forEach(document -> {
+                document.fields.forEach((field, fieldValues) -> fieldValues.forEach(value -> values
+                        .computeIfAbsent(field, f -> new HashMap<>())
+                        .computeIfAbsent(normalize(value), v -> new HashSet<>())
+                        .add(document)));
+                document.words.forEach(word -> words.computeIfAbsent(word, w -> new HashSet<>()).add(document));
+            });
+        }
+
+        private void remove(String counterPartyId) {
+            var source = sources.remove(counterPartyId);
+            if (source == null) {
+                return;
+            }
+            source.documents().forEach(document -> {
+                document.fields.forEach((field, fieldValues) -> {
+                    var postings = values.get(field);
+                    fieldValues.forEach(value -> removePosting(postings, normalize(value), document));
+                    if (postings.isEmpty()) {
+                        values.remove(field);
+                    }
+                });
+                document.words.forEach(word -> removePosting(words, word, document));
+            });
+        }
+
+        private Collection<Document> all() {
+            return sources.values().stream().flatMap(source -> source.documents().stream()).toList();
+        }
+
+        private static void removePosting(Map<String, Set<Document>> postings, String key, Document document) {
+            var documents = postings.get(key);
+            if (documents != null && documents.remove(document) && documents.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+}
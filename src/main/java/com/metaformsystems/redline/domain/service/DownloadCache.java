@@ -0,0 +1,288 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.infrastructure.client.dataplane.dto.DownloadResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps the content of downloaded files on disk, so that repeated downloads of a file are not transferred from the data
+ * plane again. Entries are keyed by file ID and hold the validator of the version they contain, its ETag or otherwise
+ * its modification date, files without a validator are not cached. Callers revalidate an entry with a conditional
+ * request before serving it, so the data plane checks both the caller's authorization and whether the entry is
+ * current. Entries are evicted in least recently used order to stay within the size budget. Hits are read through a
+ * memory mapping of the file. The index is only kept in memory, so the files of a previous run are deleted at startup.
+ */
+@Component
+public class DownloadCache {
+    private static final Logger log = LoggerFactory.getLogger(DownloadCache.class);
+    private static final String SUFFIX = ".download";
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final List<String> CACHED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_DISPOSITION,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxSize;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    public DownloadCache(@Value("${downloads.cache.enabled:false}") boolean enabled,
+                         @Value("${downloads.cache.directory:${java.io.tmpdir}/redline-downloads}") String directory,
+                         @Value("${downloads.cache.max-size:1GB}") DataSize maxSize) throws IOException {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.maxSize = maxSize.toBytes();
+        if (enabled) {
+            Files.createDirectories(this.directory);
+            try (var files = Files.newDirectoryStream(this.directory, "*" + SUFFIX)) {
+                for (var file : files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the cached version of the file, or empty if it is not cached or the cache is disabled.
+     */
+    public Optional<CachedFile> get(String fileId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(fileId);
+        }
+        if (entry == null) {
+            return Optional.empty();
+        }
+        // the mapping stays readable if the entry is evicted while it is served
+        try (var channel = FileChannel.open(entry.file(), StandardOpenOption.READ)) {
+            var regions = new ArrayList<ByteBuffer>();
+            for (long position = 0; position < entry.size(); position += Integer.MAX_VALUE) {
+                regions.add(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(Integer.MAX_VALUE, entry.size() - position)));
+            }
+            return Optional.of(new CachedFile(entry.headers(), entry.size(), regions));
+        } catch (NoSuchFileException e) {
+            remove(fileId, entry);
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Failed to read cached file {}: {}", fileId, e.toString());
+            remove(fileId, entry);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Passes a complete download of the file through while writing it to the cache, the previous version of the file
+     * is removed. The entry is only added once the content has been read to its end, a download that is cancelled,
+     * fails or exceeds the size budget is not cached.
+     */
+    public DownloadResponse store(String fileId, DownloadResponse download) {
+        if (!enabled) {
+            return download;
+        }
+        Entry previous;
+        synchronized (entries) {
+            previous = entries.get(fileId);
+        }
+        if (previous != null) {
+            remove(fileId, previous);
+        }
+        var headers = download.headers();
+        var length = headers.getContentLength();
+        if ((headers.getETag() == null && headers.getLastModified() < 0) || length > maxSize) {
+            return download;
+        }
+        var content = Flux.defer(() -> {
+            var writer = new Writer(fileId, headers, length);
+            // the file is written on a worker, never on the event loop of the data plane client
+            return download.content()
+                    .publishOn(Schedulers.boundedElastic())
+                    .doOnNext(writer::write)
+                    .doOnComplete(() -> writer.finish(true))
+                    .doOnError(e -> writer.finish(false))
+                    .doOnCancel(() -> writer.finish(false));
+        });
+        return new DownloadResponse(download.status(), headers, content);
+    }
+
+    private void add(String fileId, Entry entry) {
+        var evicted = new ArrayList<Entry>();
+        synchronized (entries) {
+            var previous = entries.put(fileId, entry);
+            if (previous != null) {
+                size -= previous.size();
+                evicted.add(previous);
+            }
+            size += entry.size();
+            var iterator = entries.values().iterator();
+            while (size > maxSize && iterator.hasNext()) {
+                var eldest = iterator.next();
+                iterator.remove();
+                size -= eldest.size();
+                evicted.add(eldest);
+            }
+        }
+        evicted.forEach(evictedEntry -> delete(evictedEntry.file()));
+    }
+
+    private void remove(String fileId, Entry entry) {
+        synchronized (entries) {
+            if (entries.remove(fileId, entry)) {
+                size -= entry.size();
+            }
+        }
+        delete(entry.file());
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete cached file {}: {}", file, e.toString());
+        }
+    }
+
+    /**
+     * A version of a file in the cache, read from a memory mapping.
+     */
+    public record CachedFile(HttpHeaders headers, long size, List<ByteBuffer> regions) {
+
+        /**
+         * Makes the request conditional on the cached version, so that the data plane only sends a newer one.
+         */
+        public void addConditions(HttpHeaders requestHeaders) {
+            if (headers.getETag() != null) {
+                requestHeaders.setIfNoneMatch(headers.getETag());
+            } else {
+                requestHeaders.setIfModifiedSince(headers.getLastModified());
+            }
+        }
+
+        public DownloadResponse toDownload() {
+            var responseHeaders = new HttpHeaders();
+            responseHeaders.putAll(headers);
+            responseHeaders.setContentLength(size);
+            var content = Flux.fromIterable(regions)
+                    .concatMapIterable(CachedFile::chunks)
+                    .map(chunk -> (DataBuffer) DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+            return new DownloadResponse(HttpStatus.OK, responseHeaders, content);
+        }
+
+        private static List<ByteBuffer> chunks(ByteBuffer region) {
+            var chunks = new ArrayList<ByteBuffer>();
+            for (var position = 0; position < region.limit(); position += CHUNK_SIZE) {
+                chunks.add(region.slice(position, Math.min(CHUNK_SIZE, region.limit() - position)));
+            }
+            return chunks;
+        }
+    }
+
+    private record Entry(Path file, long size, HttpHeaders headers) {
+    }
+
+    /**
+     * Writes the content of one download to a new file, which is added to the cache once the download is complete.
+     */
+    private class Writer {
+        private final String fileId;
+        private final HttpHeaders headers;
+        private final long expectedLength;
+        private Path file;
+        private FileChannel channel;
+        private long written;
+        private boolean failed;
+
+        Writer(String fileId, HttpHeaders headers, long expectedLength) {
+            this.fileId = fileId;
+            this.headers = headers;
+            this.expectedLength = expectedLength;
+        }
+
+        void write(DataBuffer buffer) {
+            if (failed) {
+                return;
+            }
+            try {
+                if (channel == null) {
+                    file = directory.resolve(UUID.randomUUID() + SUFFIX);
+                    channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                }
+                try (var byteBuffers = buffer.readableByteBuffers()) {
+                    while (byteBuffers.hasNext()) {
+                        var byteBuffer = byteBuffers.next();
+                        while (byteBuffer.hasRemaining()) {
+                            written += channel.write(byteBuffer);
+                        }
+                    }
+                }
+                if (written > maxSize) {
+                    failed = true;
+                }
+            } catch (IOException e) {
+                log.warn("Failed to cache file {}: {}", fileId, e.toString());
+                failed = true;
+            }
+        }
+
+        void finish(boolean complete) {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to cache file {}: {}", fileId, e.toString());
+                failed = true;
+            }
+            if (complete && !failed && (expectedLength < 0 || written == expectedLength)) {
+                var cachedHeaders = new HttpHeaders();
+                CACHED_HEADERS.forEach(name -> {
+                    var values = headers.get(name);
+                    if (values != null) {
+                        cachedHeaders.addAll(name, values);
+                    }
+                });
+                add(fileId, new Entry(file, written, cachedHeaders));
+            } else {
+                delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the EDRs of started transfer processes. An EDR is served from the cache until the expiry of its authorization
+ * token, less a safety margin, so that callers do not receive a token that is about to expire. EDRs whose expiry
+ * cannot be determined are not cached. Callers evict the EDR once the transfer process leaves the STARTED state, and
+ * can bypass the cache to force a refresh.
+ */
+@Component
+public class EdrCache {
+    private static final Logger log = LoggerFactory.getLogger(EdrCache.class);
+
+    private final ReactiveManagementApiClient managementApiClient;
+    private final ObjectMapper objectMapper;
+    private final Duration expirySkew;
+    private final Clock clock;
+    private final Map<Key, Entry> entries;
+
+    @Autowired
+    public EdrCache(ReactiveManagementApiClient managementApiClient,
+                    ObjectMapper objectMapper,
+                    @Value("${edr.cache.max-size:1000}") int maxSize,
+                    @Value("${edr.cache.expiry-skew:10s}") Duration expirySkew) {
+        this(managementApiClient, objectMapper, maxSize, expirySkew, Clock.systemUTC());
+    }
+
+    EdrCache(ReactiveManagementApiClient managementApiClient, ObjectMapper objectMapper, int maxSize, Duration expirySkew, Clock clock) {
+        this.managementApiClient = managementApiClient;
+        this.objectMapper = objectMapper;
+        this.expirySkew = expirySkew;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the EDR of the transfer process, from the cache unless {@code refresh} is set or the cached token has
+     * expired. Concurrent misses for the same transfer process may fetch the EDR more than once.
+     */
+    public Mono<Map<String, Object>> getEdr(String participantContextId, String transferProcessId, boolean refresh) {
+        var key = new Key(participantContextId, transferProcessId);
+        if (!refresh) {
+            var cached = lookup(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+        }
+        return managementApiClient.getEdr(participantContextId, transferProcessId)
+                .doOnNext(edr -> store(key, edr));
+    }
+
+    public void evict(String participantContextId, String transferProcessId) {
+        synchronized (entries) {
+            entries.remove(new Key(participantContextId, transferProcessId));
+        }
+    }
+
+    private Map<String, Object> lookup(Key key) {
+        synchronized (entries) {
+            var entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (clock.instant().isBefore(entry.expiresAt())) {
+                return entry.edr();
+            }
+            entries.remove(key);
+            return null;
+        }
+    }
+
+    private void store(Key key, Map<String, Object> edr) {
+        var expiresAt = expiresAt(edr);
+        if (expiresAt == null) {
+            return;
+        }
+        var servedUntil = expiresAt.minus(expirySkew);
+        if (clock.instant().isBefore(servedUntil)) {
+            synchronized (entries) {
+                entries.put(key, new Entry(edr, servedUntil));
+            }
+        }
+    }
+
+    /**
+     * Reads the expiry from the {@code exp} claim of the authorization token, or from an {@code expiresIn} property
+     * in seconds.
+     */
+    private Instant expiresAt(Map<String, Object> edr) {
+        if (edr.get("authorization") instanceof String authorization) {
+            var parts = authorization.replaceFirst("^Bearer ", "").split("\\.");
+            if (parts.length == 3) {
+                try {
+                    var claims = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+                    if (claims.path("exp").canConvertToLong()) {
+                        return Instant.ofEpochSecond(claims.path("exp").asLong());
+                    }
+                } catch (Exception e) {
+                    log.debug("Authorization token of EDR is not a readable JWT: {}", e.toString());
+                }
+            }
+        }
+        return edr.entrySet().stream()
+                .filter(e -> e.getKey().endsWith("expiresIn"))
+                .map(e -> toLong(e.getValue()))
+                .filter(seconds -> seconds != null)
+                .findFirst()
+                .map(seconds -> clock.instant().plusSeconds(seconds))
+                .orElse(null);
+    }
+
+    private Long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        try {
+            return value != null ? Long.parseLong(value.toString()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Key(String participantContextId, String transferProcessId) {
+    }
+
+    private record Entry(Map<String, Object> edr, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.domain.entity.Participant;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Registers the client credentials of a participant in the {@link ClientCredentialsRegistry} as soon as the participant
+ * is saved. Outbound calls made later in the same transaction may run on other threads, which cannot load the
+ * uncommitted participant from the database. If the transaction does not commit, the entry is removed again.
+ */
+@Component
+public class ParticipantCredentialsListener {
+
+    // resolved lazily: the registry depends on the participant repository, which needs the entity manager factory
+    // that instantiates this listener
+    private final ObjectProvider<ClientCredentialsRegistry> clientCredentialsRegistry;
+
+    public ParticipantCredentialsListener(ObjectProvider<ClientCredentialsRegistry> clientCredentialsRegistry) {
+        this.clientCredentialsRegistry = clientCredentialsRegistry;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void register(Participant participant) {
+        var participantContextId = participant.getParticipantContextId();
+        if (participantContextId == null || participant.getClientCredentials() == null) {
+            return;
+        }
+        var registry = clientCredentialsRegistry.getObject();
+        registry.update(participantContextId, participant.getClientCredentials());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        registry.invalidate(participantContextId);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.api.dto.response.ProcessStateEvent;
+import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static com.metaformsystems.redline.api.dto.response.ProcessStateEvent.CONTRACT_NEGOTIATION;
+import static com.metaformsystems.redline.api.dto.response.ProcessStateEvent.TRANSFER_PROCESS;
+
+/**
+ * Watches contract negotiations and transfer processes for state changes. There is one watch per process, shared by
+ * all subscribers: it polls the control plane while at least one subscriber is connected, replays the current state
+ * to new subscribers and emits an event only when the state changes. A watch completes once its process reaches a
+ * terminal state.
+ */
+@Component
+public class ProcessStateWatcher {
+    private static final Set<String> TERMINAL_NEGOTIATION_STATES = Set.of("FINALIZED", "TERMINATED");
+    private static final Set<String> TERMINAL_TRANSFER_STATES = Set.of("COMPLETED", "TERMINATED", "DEPROVISIONED");
+    private static final Logger log = LoggerFactory.getLogger(ProcessStateWatcher.class);
+
+    private final ReactiveManagementApiClient managementApiClient;
+    private final ParticipantRepository participantRepository;
+    private final Duration pollInterval;
+    private final int maxProcesses;
+    private final ConcurrentMap<WatchKey, Flux<ProcessStateEvent>> watches = new ConcurrentHashMap<>();
+
+    public ProcessStateWatcher(ReactiveManagementApiClient managementApiClient,
+                               ParticipantRepository participantRepository,
+                               @Value("${events.poll-interval:2s}") Duration pollInterval,
+                               @Value("${events.max-processes:50}") int maxProcesses) {
+        this.managementApiClient = managementApiClient;
+        this.participantRepository = participantRepository;
+        this.pollInterval = pollInterval;
+        this.maxProcesses = maxProcesses;
+    }
+
+    /**
+     * Emits the current state of each of the given processes of the participant, followed by every state change.
+     * Completes once all processes have reached a terminal state. The participant and the arguments are checked
+     * before the flux is returned.
+     */
+    public Flux<ProcessStateEvent> watch(Long participantId, List<String> contractNegotiationIds, List<String> transferProcessIds) {
+        var negotiationIds = contractNegotiationIds != null ? contractNegotiationIds : List.<String>of();
+        var transferIds = transferProcessIds != null ? transferProcessIds : List.<String>of();
+        if (negotiationIds.isEmpty() && transferIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one contract negotiation or transfer process must be given");
+        }
+        if (negotiationIds.size() + transferIds.size() > maxProcesses) {
+            throw new IllegalArgumentException("At most %d processes can be watched at once".formatted(maxProcesses));
+        }
+        var participantContextId = participantRepository.findById(participantId)
+                .orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId))
+                .getParticipantContextId();
+
+        return Flux.merge(Stream.concat(
+                        negotiationIds.stream().distinct().map(id -> new WatchKey(participantContextId, CONTRACT_NEGOTIATION, id)),
+                        transferIds.stream().distinct().map(id -> new WatchKey(participantContextId, TRANSFER_PROCESS, id)))
+                .map(this::shared)
+                .toList());
+    }
+
+    int activeWatches() {
+        return watches.size();
+    }
+
+    private Flux<ProcessStateEvent> shared(WatchKey key) {
+        return watches.computeIfAbsent(key, k -> {
+            var self = new AtomicReference<Flux<ProcessStateEvent>>();
+            var watch = poll(k)
+                    // removed before the completion is emitted, so that subscribers see the watch as ended
+                    .doOnTerminate(() -> watches.remove(k, self.get()))
+                    .doOnCancel(() -> watches.remove(k, self.get()))
+                    .replay(1)
+                    .refCount();
+            self.set(watch);
+            return watch;
+        });
+    }
+
+    private Flux<ProcessStateEvent> poll(WatchKey key) {
+        return Flux.interval(Duration.ZERO, pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> fetchState(key)
+                        .onErrorResume(e -> !(e instanceof ObjectNotFoundException), e -> {
+                            log.warn("Failed to poll state of {} {}: {}", key.type(), key.id(), e.toString());
+                            return Mono.empty();
+                        }), 0)
+                .distinctUntilChanged()
+                .map(state -> new ProcessStateEvent(key.type(), key.id(), state, Instant.now()))
+                .takeUntil(event -> isTerminal(key.type(), event.state()));
+    }
+
+    private Mono<String> fetchState(WatchKey key) {
+        var state = CONTRACT_NEGOTIATION.equals(key.type())
+                ? managementApiClient.getContractNegotiation(key.participantContextId(), key.id()).map(ContractNegotiation::getState)
+                : managementApiClient.getTransferProcess(key.participantContextId(), key.id()).map(TransferProcess::getState);
+        return state.onErrorMap(WebClientResponseException.NotFound.class,
+                e -> new ObjectNotFoundException("%s not found with id: %s".formatted(key.type(), key.id())));
+    }
+
+    private boolean isTerminal(String type, String state) {
+        return (CONTRACT_NEGOTIATION.equals(type) ? TERMINAL_NEGOTIATION_STATES : TERMINAL_TRANSFER_STATES).contains(state);
+    }
+
+    private record WatchKey(String participantContextId, String type, String id) {
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.api.dto.request.TransferProcessRequest;
+import com.metaformsystems.redline.api.dto.response.DatasetSearchResult;
+import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractRequest;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+import static com.metaformsystems.redline.domain.service.DataAccessService.isNoCache;
+
+/**
+ * Non-blocking counterpart of the catalog, contract and transfer operations of {@link DataAccessService}, used when
+ * the {@code reactive} profile is active. The participant lookup and the reads of the {@link TransferProcessMirror}
+ * run on the subscribing thread. DID resolution and writes to the mirror, which follow a remote call, are moved to a
+ * worker thread.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveDataAccessService {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveDataAccessService.class);
+    private final CatalogCache catalogCache;
+    private final WebDidResolver webDidResolver;
+    private final ParticipantRepository participantRepository;
+    private final ReactiveManagementApiClient managementApiClient;
+    private final ContractAgreementResolver contractAgreementResolver;
+    private final TransferProcessMirror transferProcessMirror;
+    private final EdrCache edrCache;
+
+    public ReactiveDataAccessService(WebDidResolver webDidResolver, ParticipantRepository participantRepository, ReactiveManagementApiClient managementApiClient, ContractAgreementResolver contractAgreementResolver, TransferProcessMirror transferProcessMirror, EdrCache edrCache, CatalogCache catalogCache) {
+        this.webDidResolver = webDidResolver;
+        this.participantRepository = participantRepository;
+        this.managementApiClient = managementApiClient;
+        this.catalogCache = catalogCache;
+        this.contractAgreementResolver = contractAgreementResolver;
+        this.transferProcessMirror = transferProcessMirror;
+        this.edrCache = edrCache;
+    }
+
+    public Mono<CatalogCache.CachedCatalog> requestCatalog(Long participantId, String counterPartyIdentifier, String cacheControl) {
+        return getContextId(participantId)
+                .flatMap(participantContextId -> catalogCache.getCatalog(participantContextId, counterPartyIdentifier, cacheControl));
+    }
+
+    public Mono<DatasetSearchResult> searchDatasets(Long participantId, List<String> counterPartyIds, String text, QuerySpec query) {
+        return getContextId(participantId)
+                .flatMap(participantContextId -> catalogCache.searchDatasets(participantContextId, counterPartyIds, text, query));
+    }
+
+    public Flux<TransferProcess> listTransferProcesses(Long participantId, QuerySpec query) {
+        return getContextId(participantId)
+                .flatMapMany(participantContextId -> Mono.fromCallable(() -> transferProcessMirror.list(participantContextId, query))
+                        .flatMapMany(mirrored -> mirrored.map(Flux::fromIterable)
+                                .orElseGet(() -> managementApiClient.listTransferProcesses(participantContextId, query))));
+    }
+
+    public Flux<TransferProcess> streamTransferProcesses(Long participantId, QuerySpec query) {
+        return getContextId(participantId).flatMapMany(participantContextId -> managementApiClient.streamTransferProcesses(participantContextId, query));
+    }
+
+    public Flux<ContractNegotiation> listContracts(Long participantId, QuerySpec query) {
+        return getContextId(participantId)
+                .flatMapMany(participantContextId -> contractAgreementResolver.resolveAgreements(participantContextId, managementApiClient.listContracts(participantContextId, query)));
+    }
+
+    public Flux<ContractNegotiation> streamContracts(Long participantId, QuerySpec query) {
+        return getContextId(participantId)
+                .flatMapMany(participantContextId -> contractAgreementResolver.resolveAgreements(participantContextId, managementApiClient.streamContracts(participantContextId, query)));
+    }
+
+    public Mono<String> initiateContractNegotiation(Long providerId, ContractRequest request) {
+        return getContextId(providerId)
+                .flatMap(participantContextId -> {
+                    if (request.getCounterPartyAddress() != null) {
+                        return managementApiClient.initiateContractNegotiation(participantContextId, request);
+                    }
+                    log.info("Counter party address not provided, resolving from DID: {}", request.getProviderId());
+                    return resolveProtocolEndpoint(request.getProviderId())
+                            .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Could not resolve protocol endpoint from DID: " + request.getProviderId())))
+                            .flatMap(address -> {
+                                request.setCounterPartyAddress(address);
+                                return managementApiClient.initiateContractNegotiation(participantContextId, request);
+                            });
+                });
+    }
+
+    public Mono<ContractNegotiation> getContractNegotiation(Long participantId, String contractId) {
+        return getContextId(participantId)
+                .flatMap(participantContextId -> managementApiClient.getContractNegotiation(participantContextId, contractId)
+                        // keep the agreement locally as soon as the negotiation is finalized
+                        .doOnNext(negotiation -> contractAgreementResolver.warmUp(participantContextId, negotiation).subscribe()));
+    }
+
+    public Mono<String> initiateTransferProcess(Long providerId, TransferProcessRequest transferRequest) {
+        return getContextId(providerId)
+                .flatMap(participantContextId -> resolveProtocolEndpoint(transferRequest.getCounterPartyId())
+                        .switchIfEmpty(Mono.error(() -> new ObjectNotFoundException("Could not resolve protocol endpoint from DID: " + transferRequest.getCounterPartyId())))
+                        .flatMap(address -> {
+                            var rq = TransferRequest.Builder.aTransferRequest()
+                                    .counterPartyAddress(address)
+                                    .transferType(transferRequest.getTransferType())
+                                    .contractId(transferRequest.getContractId())
+                                    .dataDestination(transferRequest.getDataDestination())
+                                    .build();
+                            return managementApiClient.initiateTransferProcess(participantContextId, rq);
+                        })
+                        .flatMap(transferProcessId -> Mono.fromRunnable(() -> transferProcessMirror.register(participantContextId, transferProcessId))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .thenReturn(transferProcessId)));
+    }
+
+    public Mono<TransferProcess> getTransferProcess(Long participantId, String transferProcessId, String cacheControl) {
+        return getContextId(participantId)
+                .flatMap(participantContextId -> Mono.fromCallable(() -> transferProcessMirror.get(participantContextId, transferProcessId).orElse(null))
+                        .switchIfEmpty(Mono.defer(() -> managementApiClient.getTransferProcess(participantContextId, transferProcessId)
+                                .publishOn(Schedulers.boundedElastic())
+                                .map(tp -> transferProcessMirror.track(participantContextId, transferProcessId, tp))))
+                        .flatMap(tp -> {
+                            if (!"STARTED".equals(tp.getState())) {
+                                edrCache.evict(participantContextId, transferProcessId);
+                                return Mono.just(tp);
+                            }
+                            //download EDR as well
+                            return edrCache.getEdr(participantContextId, transferProcessId, isNoCache(cacheControl))
+                                    .map(edr -> {
+                                        tp.setContentDataAddress(edr);
+                                        return tp;
+                                    })
+                                    .defaultIfEmpty(tp);
+                        }));
+    }
+
+    private Mono<String> getContextId(Long participantId) {
+        return Mono.fromCallable(() -> participantRepository.findById(participantId)
+                .orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId))
+                .getParticipantContextId());
+    }
+
+    private Mono<String> resolveProtocolEndpoint(String did) {
+        return Mono.fromCallable(() -> webDidResolver.resolveProtocolEndpoints(did))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metaformsystems.redline.domain.entity.SharedCatalog;
+import com.metaformsystems.redline.domain.repository.SharedCatalogRepository;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import com.metaformsystems.redline.infrastructure.database.PostgresNotifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Shares fetched catalogs between the Redline replicas through the database, so that a catalog that one replica has
+ * fetched from a counter-party can be served by the others. When a replica stores a new catalog, the other replicas
+ * are notified through PostgreSQL LISTEN/NOTIFY and drop their own copy. Without PostgreSQL, catalogs are still shared,
+ * but the other replicas only pick them up when their own copy expires.
+ */
+@Component
+public class SharedCatalogStore {
+    static final String CHANNEL = "redline_catalogs";
+    private static final Logger log = LoggerFactory.getLogger(SharedCatalogStore.class);
+
+    private final SharedCatalogRepository sharedCatalogRepository;
+    private final PostgresNotifications notifications;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String node = UUID.randomUUID().toString();
+    private final List<BiConsumer<String, String>> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    public SharedCatalogStore(SharedCatalogRepository sharedCatalogRepository,
+                              PostgresNotifications notifications,
+                              ObjectMapper objectMapper,
+                              @Value("${catalog.cache.shared.enabled:false}") boolean enabled) {
+        this.sharedCatalogRepository = sharedCatalogRepository;
+        this.notifications = notifications;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        if (enabled) {
+            notifications.listen(CHANNEL, this::onNotification);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the catalog that a replica has last fetched from the counter-party.
+     */
+    public Optional<StoredCatalog> get(String participantContextId, String counterPartyDid) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return sharedCatalogRepository.findByParticipantContextIdAndCounterPartyDid(participantContextId, counterPartyDid)
+                .flatMap(this::toStoredCatalog);
+    }
+
+    /**
+     * Stores a catalog that this replica has fetched from the counter-party, unless a newer one is already stored, and
+     * notifies the other replicas.
+     */
+    public void put(String participantContextId, String counterPartyDid, Catalog catalog, Instant fetchedAt) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            var shared = sharedCatalogRepository.findByParticipantContextIdAndCounterPartyDid(participantContextId, counterPartyDid)
+                    .orElseGet(() -> new SharedCatalog(participantContextId, counterPartyDid));
+            if (shared.getFetchedAt() != null && !shared.getFetchedAt().isBefore(fetchedAt)) {
+                return;
+            }
+            shared.setCatalog(objectMapper.writeValueAsString(catalog));
+            shared.setFetchedAt(fetchedAt);
+            sharedCatalogRepository.save(shared);
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            // another replica has stored the catalog at the same time, its copy is as good as ours
+            log.debug("Catalog of {} for participant {} was stored concurrently", counterPartyDid, participantContextId);
+            return;
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize catalog of {} for participant {}: {}", counterPartyDid, participantContextId, e.getMessage());
+            return;
+        }
+        try {
+            notifications.notify(CHANNEL, objectMapper.writeValueAsString(new Invalidation(node, participantContextId, counterPartyDid)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Registers a listener that is called with the participant context ID and counter-party DID when another replica
+     * has stored a new catalog.
+     */
+    public void onInvalidation(BiConsumer<String, String> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    void onNotification(String payload) {
+        Invalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(payload, Invalidation.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed catalog notification: {}", payload);
+            return;
+        }
+        if (node.equals(invalidation.node())) {
+            return;
+        }
+        invalidationListeners.forEach(listener -> listener.accept(invalidation.participantContextId(), invalidation.counterPartyDid()));
+    }
+
+    private Optional<StoredCatalog> toStoredCatalog(SharedCatalog shared) {
+        try {
+            return Optional.of(new StoredCatalog(objectMapper.readValue(shared.getCatalog(), Catalog.class), shared.getFetchedAt()));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable catalog of {} for participant {}: {}", shared.getCounterPartyDid(), shared.getParticipantContextId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public record StoredCatalog(Catalog catalog, Instant fetchedAt) {
+    }
+
+    private record Invalidation(String node, String participantContextId, String counterPartyDid) {
+    }
+}
@@ -40,6 +40,8 @@ import com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1.
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -69,6 +71,7 @@ public class TenantService {
     private final TenantManagerClient tenantManagerClient;
     private final HashicorpVaultClient vaultClient;
     private final ManagementApiClient managementApiClient;
+    private final ClientCredentialsRegistry clientCredentialsRegistry;
 
 
     public TenantService(TenantRepository tenantRepository,
@@ -76,7 +79,8 @@ public class TenantService {
                          ServiceProviderRepository serviceProviderRepository,
                          DataspaceRepository dataspaceRepository,
                          TenantManagerClient tenantManagerClient,
-                         HashicorpVaultClient vaultClient, ManagementApiClient managementApiClient) {
+                         HashicorpVaultClient vaultClient, ManagementApiClient managementApiClient,
+                         ClientCredentialsRegistry clientCredentialsRegistry) {
         this.tenantRepository = tenantRepository;
         this.participantRepository = participantRepository;
         this.serviceProviderRepository = serviceProviderRepository;
@@ -84,6 +88,7 @@ public class TenantService {
         this.tenantManagerClient = tenantManagerClient;
         this.vaultClient = vaultClient;
         this.managementApiClient = managementApiClient;
+        this.clientCredentialsRegistry = clientCredentialsRegistry;
     }
 
     @Transactional
@@ -180,7 +185,7 @@ public class TenantService {
      */
     @Transactional
     public ClientCredentials getClientCredentials(String participantContextId) {
-        var secret = vaultClient.readSecret("/v1/secret/data/%s".formatted(participantContextId));
+        var secret = vaultClient.readSecret(secretPath(participantContextId));
         if (!StringUtils.hasText(secret)) {
             return null;
         }
@@ -190,10 +195,28 @@ public class TenantService {
 
         var clientCredentials = new ClientCredentials(participantContextId, secret);
         participantProfile.setClientCredentials(clientCredentials);
+        clientCredentialsRegistry.update(participantContextId, clientCredentials);
 
         return clientCredentials;
     }
 
+    /**
+     * Warms the Vault secret cache for all participants that are still waiting for their client credentials, so that
+     * the first {@link #getParticipant(Long)} calls after startup do not hit Vault one by one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void prefetchClientCredentials() {
+        var paths = participantRepository.findByParticipantContextIdIsNotNull().stream()
+                .filter(participant -> participant.getClientCredentials() == null)
+                .map(participant -> secretPath(participant.getParticipantContextId()))
+                .toList();
+        if (!paths.isEmpty()) {
+            log.info("Prefetching client credentials of {} participants", paths.size());
+            vaultClient.prefetchSecrets(paths);
+        }
+    }
+
     @Transactional
     public Participant getParticipant(Long id) {
 
@@ -203,7 +226,11 @@ public class TenantService {
         // fixme: figure out a better way to synchronize redline with CFM (periodically, NATS, etc.)
         // update VPA state
         var cfmProfile = tenantManagerClient.getParticipantProfile(profile.getTenant().getCorrelationId(), profile.getCorrelationId());
+        var previousContextId = profile.getParticipantContextId();
         profile.setParticipantContextId(extractParticipantContextId(cfmProfile));
+        if (previousContextId != null && !previousContextId.equals(profile.getParticipantContextId())) {
+            clientCredentialsRegistry.invalidate(previousContextId);
+        }
 
         // update credentials
         ofNullable(profile.getClientCredentials()).orElseGet(() -> getClientCredentials(profile.getParticipantContextId()));
@@ -331,5 +358,7 @@ public class TenantService {
         return new Tenant(t.getId(), t.getServiceProvider().getId(), t.getName(), participants, t.getProperties());
     }
 
-
+    private static String secretPath(String participantContextId) {
+        return "/v1/secret/data/%s".formatted(participantContextId);
+    }
 }
@@ -0,0 +1,391 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metaformsystems.redline.domain.entity.MirroredTransferProcess;
+import com.metaformsystems.redline.domain.entity.TransferProcessSyncState;
+import com.metaformsystems.redline.domain.repository.MirroredTransferProcessRepository;
+import com.metaformsystems.redline.domain.repository.TransferProcessSyncStateRepository;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Criterion;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a local copy of the transfer processes of each participant in the {@link MirroredTransferProcessRepository}.
+ * Transfer processes that are not yet terminal are polled from the control plane, starting at the minimum interval
+ * after each state change and doubling the interval up to the maximum while the state stays the same. Terminal
+ * transfer processes are not polled anymore. Reads are only served from the mirror once a participant has been fully
+ * synchronized, and only for queries the mirror can answer; otherwise the methods return empty and the caller asks
+ * the control plane. The EDR of a transfer process is never stored.
+ * <p>
+ * A participant is fully synchronized once, by whichever instance gets to it first, the progress is kept in the
+ * {@link TransferProcessSyncStateRepository}. Later synchronizations only read the transfer processes whose state
+ * changed since, e.g. those initiated by counter parties, and skip the ones that are stored unchanged.
+ */
+@Component
+public class TransferProcessMirror {
+    private static final Set<String> TERMINAL_STATES = Set.of("COMPLETED", "TERMINATED", "DEPROVISIONED");
+    private static final Set<String> QUERYABLE_PROPERTIES = Set.of("state", "type", "assetId", "contractId", "stateTimestamp");
+    private static final Logger log = LoggerFactory.getLogger(TransferProcessMirror.class);
+    private static final int BATCH_SIZE = 100;
+    // state changes are read again for this long, in case they were committed by the control plane out of order
+    private static final long SYNC_OVERLAP_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    private final MirroredTransferProcessRepository repository;
+    private final TransferProcessSyncStateRepository syncStateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ReactiveManagementApiClient managementApiClient;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final int concurrency;
+    private final Clock clock;
+    private final Set<String> synchronizedParticipants = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public TransferProcessMirror(MirroredTransferProcessRepository repository,
+                                 TransferProcessSyncStateRepository syncStateRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 EntityManager entityManager,
+                                 ReactiveManagementApiClient managementApiClient,
+                                 ObjectMapper objectMapper,
+                                 @Value("${transfers.sync.enabled:true}") boolean enabled,
+                                 @Value("${transfers.sync.min-interval:2s}") Duration minInterval,
+                                 @Value("${transfers.sync.max-interval:1m}") Duration maxInterval,
+                                 @Value("${transfers.sync.concurrency:8}") int concurrency) {
+        this(repository, syncStateRepository, transactionManager, entityManager, managementApiClient, objectMapper, enabled, minInterval, maxInterval,
+                concurrency, Clock.systemUTC());
+    }
+
+    TransferProcessMirror(MirroredTransferProcessRepository repository, TransferProcessSyncStateRepository syncStateRepository,
+                          PlatformTransactionManager transactionManager, EntityManager entityManager, ReactiveManagementApiClient managementApiClient,
+                          ObjectMapper objectMapper, boolean enabled, Duration minInterval, Duration maxInterval, int concurrency, Clock clock) {
+        this.repository = repository;
+        this.syncStateRepository = syncStateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.managementApiClient = managementApiClient;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval;
+        this.concurrency = concurrency;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the transfer processes matching the query, or empty if the participant has not been synchronized yet or
+     * the query filters or sorts by a property that is not mirrored.
+     */
+    public Optional<List<TransferProcess>> list(String participantContextId, QuerySpec query) {
+        if (!enabled || !isSynchronized(participantContextId) || !isQueryable(query)) {
+            return Optional.empty();
+        }
+        var cb = entityManager.getCriteriaBuilder();
+        var cq = cb.createQuery(MirroredTransferProcess.class);
+        var root = cq.from(MirroredTransferProcess.class);
+
+        var predicates = new ArrayList<Predicate>();
+        predicates.add(cb.equal(root.get("participantContextId"), participantContextId));
+        predicates.add(cb.isNotNull(root.get("syncedAt")));
+        if (query.getFilterExpression() != null) {
+            query.getFilterExpression().forEach(criterion -> predicates.add("stateTimestamp".equals(criterion.getOperandLeft())
+                    ? cb.equal(root.get("stateTimestamp"), Long.parseLong(criterion.getOperandRight()))
+                    : cb.equal(root.get(criterion.getOperandLeft()), criterion.getOperandRight())));
+        }
+        cq.where(predicates.toArray(Predicate[]::new));
+
+        var orders = new ArrayList<Order>();
+        if (query.getSortField() != null) {
+            var path = root.get(query.getSortField());
+            orders.add("DESC".equals(query.getSortOrder()) ? cb.desc(path) : cb.asc(path));
+        }
+        orders.add(cb.asc(root.get("id")));
+        cq.orderBy(orders);
+
+        var typedQuery = entityManager.createQuery(cq).setFirstResult(query.getOffset());
+        if (query.getLimit() > 0) {
+            typedQuery.setMaxResults(query.getLimit());
+        }
+        return Optional.of(typedQuery.getResultList().stream().map(this::toTransferProcess).toList());
+    }
+
+    /**
+     * Returns the mirrored transfer process, or empty if it is unknown or has not been read from the control plane yet.
+     */
+    public Optional<TransferProcess> get(String participantContextId, String transferProcessId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return repository.findByParticipantContextIdAndTransferProcessId(participantContextId, transferProcessId)
+                .filter(mirrored -> mirrored.getSyncedAt() != null)
+                .map(this::toTransferProcess);
+    }
+
+    /**
+     * Stores a transfer process that was read from the control plane, so that further reads are served locally.
+     */
+    public TransferProcess track(String participantContextId, String transferProcessId, TransferProcess transferProcess) {
+        if (!enabled) {
+            return transferProcess;
+        }
+        if (transferProcess.getId() == null) {
+            transferProcess.setId(transferProcessId);
+        }
+        save(repository.findByParticipantContextIdAndTransferProcessId(participantContextId, transferProcessId)
+                .map(mirrored -> apply(mirrored, transferProcess))
+                .orElseGet(() -> apply(newMirror(participantContextId, transferProcessId), transferProcess)));
+        return transferProcess;
+    }
+
+    /**
+     * Registers a transfer process that has just been initiated, it is read from the control plane with the next poll.
+     */
+    public void register(String participantContextId, String transferProcessId) {
+        if (!enabled || transferProcessId == null) {
+            return;
+        }
+        var mirrored = newMirror(participantContextId, transferProcessId);
+        mirrored.setNextPollAt(clock.instant());
+        mirrored.setPollIntervalMillis(minInterval.toMillis());
+        save(mirrored);
+    }
+
+    /**
+     * Reads all transfer processes of the participant from the control plane the first time, afterwards only those
+     * whose state changed since the previous synchronization. Once the participant has been fully synchronized, its
+     * lists are served from the mirror.
+     */
+    public void synchronize(String participantContextId) {
+        var syncState = syncStateRepository.findByParticipantContextId(participantContextId);
+        var query = syncState
+                .map(state -> QuerySpec.Builder.aQuerySpecDto()
+                        .sortField("stateTimestamp")
+                        .sortOrder("ASC")
+                        .filterExpression(List.of(new Criterion("stateTimestamp", ">=", String.valueOf(Math.max(0, state.getLatestStateTimestamp() - SYNC_OVERLAP_MILLIS)))))
+                        .build())
+                .orElseGet(() -> QuerySpec.Builder.aQuerySpecDto().build());
+
+        var latestStateTimestamp = syncState.map(TransferProcessSyncState::getLatestStateTimestamp).orElse(0L);
+        var read = 0;
+        var stored = 0;
+        var batches = managementApiClient.streamTransferProcesses(participantContextId, query)
+                .filter(transferProcess -> transferProcess.getId() != null)
+                .buffer(BATCH_SIZE);
+        for (var batch : batches.toIterable()) {
+            read += batch.size();
+            stored += store(participantContextId, batch);
+            for (var transferProcess : batch) {
+                latestStateTimestamp = Math.max(latestStateTimestamp, transferProcess.getStateTimestamp());
+            }
+        }
+
+        var state = syncState.orElseGet(() -> {
+            var newState = new TransferProcessSyncState();
+            newState.setParticipantContextId(participantContextId);
+            newState.setSynchronizedAt(clock.instant());
+            return newState;
+        });
+        state.setLatestStateTimestamp(latestStateTimestamp);
+        try {
+            syncStateRepository.save(state);
+            synchronizedParticipants.add(participantContextId);
+        } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+            // synchronized concurrently by another instance, which stored its own progress
+            log.debug("Concurrent synchronization of participant {}: {}", participantContextId, e.toString());
+        }
+        log.debug("Synchronized transfer processes of participant {}: {} read, {} stored", participantContextId, read, stored);
+    }
+
+    /**
+     * Polls the transfer processes whose next poll is due, the longest overdue first.
+     */
+    public void pollDue() {
+        var due = repository.findTop100ByTerminalFalseAndNextPollAtLessThanEqualOrderByNextPollAtAsc(clock.instant());
+        if (due.isEmpty()) {
+            return;
+        }
+        var polled = Flux.fromIterable(due)
+                .flatMap(mirrored -> managementApiClient.getTransferProcess(mirrored.getParticipantContextId(), mirrored.getTransferProcessId())
+                        .map(Optional::of)
+                        .onErrorResume(e -> {
+                            log.warn("Failed to poll transfer process {}: {}", mirrored.getTransferProcessId(), e.toString());
+                            return Mono.just(Optional.empty());
+                        })
+                        .defaultIfEmpty(Optional.empty())
+                        .map(transferProcess -> Map.entry(mirrored, transferProcess)), concurrency)
+                .collectList()
+                .block();
+        polled.forEach(entry -> save(entry.getValue()
+                .map(transferProcess -> apply(entry.getKey(), transferProcess))
+                .orElseGet(() -> backOff(entry.getKey()))));
+    }
+
+    /**
+     * Stores a batch of transfer processes in one transaction, skipping those that are stored unchanged. If another
+     * instance stored some of them concurrently, they are stored one by one.
+     */
+    private int store(String participantContextId, List<TransferProcess> batch) {
+        try {
+            return Objects.requireNonNull(transactionTemplate.execute(status -> {
+                var stored = repository.findByParticipantContextIdAndTransferProcessIdIn(participantContextId,
+                                batch.stream().map(TransferProcess::getId).toList()).stream()
+                        .collect(Collectors.toMap(MirroredTransferProcess::getTransferProcessId, Function.identity()));
+                var changed = new ArrayList<MirroredTransferProcess>();
+                for (var transferProcess : batch) {
+                    var mirrored = stored.get(transferProcess.getId());
+                    if (mirrored == null) {
+                        changed.add(apply(newMirror(participantContextId, transferProcess.getId()), transferProcess));
+                    } else if (!isUnchanged(mirrored, transferProcess)) {
+                        changed.add(apply(mirrored, transferProcess));
+                    }
+                }
+                repository.saveAll(changed);
+                return changed.size();
+            }));
+        } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+            log.debug("Concurrent update of transfer processes of participant {}, storing them one by one: {}", participantContextId, e.toString());
+            batch.forEach(transferProcess -> track(participantContextId, transferProcess.getId(), transferProcess));
+            return batch.size();
+        }
+    }
+
+    private boolean isUnchanged(MirroredTransferProcess mirrored, TransferProcess transferProcess) {
+        return mirrored.getSyncedAt() != null
+                && Objects.equals(mirrored.getState(), transferProcess.getState())
+                && mirrored.getStateTimestamp() == transferProcess.getStateTimestamp();
+    }
+
+    private boolean isSynchronized(String participantContextId) {
+        if (synchronizedParticipants.contains(participantContextId)) {
+            return true;
+        }
+        if (syncStateRepository.existsByParticipantContextId(participantContextId)) {
+            synchronizedParticipants.add(participantContextId);
+            return true;
+        }
+        return false;
+    }
+
+    private MirroredTransferProcess apply(MirroredTransferProcess mirrored, TransferProcess transferProcess) {
+        var now = clock.instant();
+        var changed = mirrored.getSyncedAt() == null
+                || !Objects.equals(mirrored.getState(), transferProcess.getState())
+                || mirrored.getStateTimestamp() != transferProcess.getStateTimestamp();
+
+        mirrored.setState(transferProcess.getState());
+        mirrored.setStateTimestamp(transferProcess.getStateTimestamp());
+        mirrored.setType(transferProcess.getType());
+        mirrored.setAssetId(transferProcess.getAssetId());
+        mirrored.setContractId(transferProcess.getContractId());
+        mirrored.setPayload(toPayload(transferProcess));
+        mirrored.setTerminal(TERMINAL_STATES.contains(transferProcess.getState()));
+        mirrored.setSyncedAt(now);
+
+        var interval = changed ? minInterval.toMillis() : nextInterval(mirrored);
+        mirrored.setPollIntervalMillis(interval);
+        mirrored.setNextPollAt(now.plusMillis(interval));
+        return mirrored;
+    }
+
+    private MirroredTransferProcess backOff(MirroredTransferProcess mirrored) {
+        var interval = nextInterval(mirrored);
+        mirrored.setPollIntervalMillis(interval);
+        mirrored.setNextPollAt(clock.instant().plusMillis(interval));
+        return mirrored;
+    }
+
+    private long nextInterval(MirroredTransferProcess mirrored) {
+        return Math.min(Math.max(mirrored.getPollIntervalMillis() * 2, minInterval.toMillis()), maxInterval.toMillis());
+    }
+
+    private void save(MirroredTransferProcess mirrored) {
+        try {
+            repository.save(mirrored);
+        } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+            // stored or updated concurrently, the next poll picks up the latest state
+            log.debug("Concurrent update of transfer process {}: {}", mirrored.getTransferProcessId(), e.toString());
+        }
+    }
+
+    private boolean isQueryable(QuerySpec query) {
+        if (query.getSortField() != null && !QUERYABLE_PROPERTIES.contains(query.getSortField())) {
+            return false;
+        }
+        if (query.getFilterExpression() == null) {
+            return true;
+        }
+        return query.getFilterExpression().stream()
+                .allMatch(criterion -> "=".equals(criterion.getOperator()) && QUERYABLE_PROPERTIES.contains(criterion.getOperandLeft())
+                        && (!"stateTimestamp".equals(criterion.getOperandLeft()) || criterion.getOperandRight().matches("-?\\d+")));
+    }
+
+    private MirroredTransferProcess newMirror(String participantContextId, String transferProcessId) {
+        var mirrored = new MirroredTransferProcess();
+        mirrored.setParticipantContextId(participantContextId);
+        mirrored.setTransferProcessId(transferProcessId);
+        return mirrored;
+    }
+
+    private Map<String, Object> toPayload(TransferProcess transferProcess) {
+        // read back from JSON like the column is, otherwise small numbers differ in type from the stored payload and
+        // every flush updates an unchanged transfer process
+        Map<String, Object> payload;
+        try {
+            payload = objectMapper.readValue(objectMapper.writeValueAsString(transferProcess), new TypeReference<>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store transfer process " + transferProcess.getId(), e);
+        }
+        payload.remove("contentDataAddress");
+        return payload;
+    }
+
+    private TransferProcess toTransferProcess(MirroredTransferProcess mirrored) {
+        return objectMapper.convertValue(mirrored.getPayload(), TransferProcess.class);
+    }
+}
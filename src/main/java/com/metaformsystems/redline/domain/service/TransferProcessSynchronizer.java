@@ -0,0 +1,64 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drives the {@link TransferProcessMirror}: transfer processes that are due are polled on every tick, up to 100 at a time, and all participants are
+ * synchronized periodically, which picks up transfer processes initiated by counter parties. Only the first
+ * synchronization of a participant reads all of its transfer processes.
+ */
+@Component
+@ConditionalOnProperty(name = "transfers.sync.enabled", havingValue = "true", matchIfMissing = true)
+public class TransferProcessSynchronizer {
+    private static final Logger log = LoggerFactory.getLogger(TransferProcessSynchronizer.class);
+
+    private final TransferProcessMirror transferProcessMirror;
+    private final ParticipantRepository participantRepository;
+
+    public TransferProcessSynchronizer(TransferProcessMirror transferProcessMirror, ParticipantRepository participantRepository) {
+        this.transferProcessMirror = transferProcessMirror;
+        this.participantRepository = participantRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${transfers.sync.poll-tick:1s}", initialDelayString = "${transfers.sync.poll-tick:1s}")
+    public void pollDue() {
+        try {
+            transferProcessMirror.pollDue();
+        } catch (RuntimeException e) {
+            log.warn("Failed to poll transfer processes: {}", e.toString());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${transfers.sync.full-interval:10m}")
+    public void synchronizeAll() {
+        participantRepository.findAll().stream()
+                .map(Participant::getParticipantContextId)
+                .filter(participantContextId -> participantContextId != null)
+                .forEach(participantContextId -> {
+                    try {
+                        transferProcessMirror.synchronize(participantContextId);
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to synchronize transfer processes of participant {}: {}", participantContextId, e.toString());
+                    }
+                });
+    }
+}
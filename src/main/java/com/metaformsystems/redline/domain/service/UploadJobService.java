@@ -0,0 +1,382 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metaformsystems.redline.api.dto.response.UploadJobResource;
+import com.metaformsystems.redline.domain.entity.UploadJob;
+import com.metaformsystems.redline.domain.entity.UploadedFile;
+import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.repository.UploadJobRepository;
+import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
+import com.metaformsystems.redline.infrastructure.client.management.dto.PolicySet;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Publishes uploaded files in the background. The file is staged on disk and the job is stored before the caller
+ * returns, the publication then runs on a bounded pool of workers. Failures of the downstream services are retried
+ * with a linear back-off, the asset and policy of a failed attempt are removed by
+ * {@link DataAccessService#publishFile}. Jobs that were pending or running when the application stopped are resumed at
+ * startup. The staged files are local to each node, so a job is owned by the node that staged it and only resumed by
+ * that node. The owner holds a lease on its unfinished jobs that it renews periodically; once the lease has expired,
+ * e.g. because the node is gone, another node takes the job over and resumes it if it can read the staged file, or
+ * fails it otherwise.
+ */
+@Service
+public class UploadJobService {
+    private static final Logger log = LoggerFactory.getLogger(UploadJobService.class);
+    private static final Set<UploadJob.Status> UNFINISHED = EnumSet.of(UploadJob.Status.PENDING, UploadJob.Status.RUNNING);
+
+    private final UploadJobRepository uploadJobRepository;
+    private final ParticipantRepository participantRepository;
+    private final DataAccessService dataAccessService;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final Executor executor;
+    private final Path stagingDirectory;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final String nodeId;
+    private final Duration leaseDuration;
+    private volatile ScheduledFuture<?> leaseRenewal;
+
+    @Autowired
+    public UploadJobService(UploadJobRepository uploadJobRepository,
+                            ParticipantRepository participantRepository,
+                            DataAccessService dataAccessService,
+                            ObjectMapper objectMapper,
+                            TaskScheduler taskScheduler,
+                            @Value("${uploads.staging-directory:${java.io.tmpdir}/redline-uploads}") String stagingDirectory,
+                            @Value("${uploads.workers:4}") int workers,
+                            @Value("${uploads.queue-capacity:100}") int queueCapacity,
+                            @Value("${uploads.max-attempts:3}") int maxAttempts,
+                            @Value("${uploads.retry-backoff:10s}") Duration retryBackoff,
+                            @Value("${uploads.node-id:}") String nodeId,
+                            @Value("${uploads.lease-duration:1m}") Duration leaseDuration) {
+        this(uploadJobRepository, participantRepository, dataAccessService, objectMapper, taskScheduler,
+                new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("upload-")),
+                Path.of(stagingDirectory), maxAttempts, retryBackoff, StringUtils.hasText(nodeId) ? nodeId : hostName(), leaseDuration);
+    }
+
+    UploadJobService(UploadJobRepository uploadJobRepository, ParticipantRepository participantRepository, DataAccessService dataAccessService, ObjectMapper objectMapper, TaskScheduler taskScheduler, Executor executor, Path stagingDirectory, int maxAttempts, Duration retryBackoff,
+                     String nodeId, Duration leaseDuration) {
+        this.uploadJobRepository = uploadJobRepository;
+        this.participantRepository = participantRepository;
+        this.dataAccessService = dataAccessService;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+        this.executor = executor;
+        this.stagingDirectory = stagingDirectory;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.nodeId = nodeId;
+        this.leaseDuration = leaseDuration;
+    }
+
+    /**
+     * Stages the file and queues its publication.
+     *
+     * @throws RejectedExecutionException if the queue of the workers is full, nothing is stored in that case
+     */
+    public UploadJobResource submit(Long participantId, Map<String, Object> publicMetadata, Map<String, Object> privateMetadata, InputStream fileStream, String contentType, String originalFilename, List<CelExpression> celExpressions, PolicySet policySet) throws IOException {
+        var participant = participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
+
+        var job = new UploadJob();
+        job.setJobId(UUID.randomUUID().toString());
+        job.setParticipantId(participantId);
+        job.setParticipantContextId(participant.getParticipantContextId());
+        job.setStatus(UploadJob.Status.PENDING);
+        job.setSteps(initialSteps());
+        job.setOriginalFilename(originalFilename);
+        job.setContentType(contentType);
+        job.setPublicMetadata(publicMetadata);
+        job.setPrivateMetadata(privateMetadata);
+        job.setCelExpressions(objectMapper.writeValueAsString(celExpressions));
+        job.setPolicySet(policySet != null ? objectMapper.writeValueAsString(policySet) : null);
+        job.setOwner(nodeId);
+        job.setLeaseExpiresAt(Instant.now().plus(leaseDuration));
+
+        var stagedFile = stagingDirectory.resolve(job.getJobId());
+        Files.createDirectories(stagingDirectory);
+        // the digest is computed while the file is staged, so that a known file is not uploaded again
+        var digest = ContentHash.newDigest();
+        Files.copy(new DigestInputStream(fileStream, digest), stagedFile);
+        job.setStagedFile(stagedFile.toString());
+        job.setContentHash(ContentHash.toHex(digest));
+
+        var saved = uploadJobRepository.save(job);
+        try {
+            enqueue(saved.getJobId());
+        } catch (RejectedExecutionException e) {
+            uploadJobRepository.delete(saved);
+            deleteStagedFile(saved);
+            throw e;
+        }
+        return toResource(saved);
+    }
+
+    public UploadJobResource getJob(Long participantId, String jobId) {
+        return uploadJobRepository.findByJobId(jobId)
+                .filter(job -> job.getParticipantId().equals(participantId))
+                .map(this::toResource)
+                .orElseThrow(() -> new ObjectNotFoundException("Upload job not found with id: " + jobId));
+    }
+
+    /**
+     * Resumes the unfinished jobs of this node and takes over those of other nodes whose lease has expired, then starts
+     * renewing the leases of this node.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        uploadJobRepository.renewLeases(nodeId, UNFINISHED, Instant.now().plus(leaseDuration));
+        for (var job : uploadJobRepository.findByStatusIn(UNFINISHED)) {
+            if (nodeId.equals(job.getOwner())) {
+                resume(job);
+            }
+        }
+        adoptExpired();
+        if (leaseRenewal == null) {
+            leaseRenewal = taskScheduler.scheduleAtFixedRate(this::heartbeat, Instant.now().plus(leaseDuration.dividedBy(3)), leaseDuration.dividedBy(3));
+        }
+    }
+
+    void heartbeat() {
+        try {
+            uploadJobRepository.renewLeases(nodeId, UNFINISHED, Instant.now().plus(leaseDuration));
+            adoptExpired();
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew the leases of upload jobs: {}", e.getMessage());
+        }
+    }
+
+    private void adoptExpired() {
+        var now = Instant.now();
+        for (var job : uploadJobRepository.findByStatusIn(UNFINISHED)) {
+            if (nodeId.equals(job.getOwner()) || job.getOwner() != null && job.getLeaseExpiresAt() != null && job.getLeaseExpiresAt().isAfter(now)) {
+                continue;
+            }
+            if (uploadJobRepository.claim(job.getJobId(), nodeId, now.plus(leaseDuration), now) == 1) {
+                log.info("Taking over upload job {} from {}", job.getJobId(), job.getOwner());
+                resume(job);
+            }
+        }
+    }
+
+    private void resume(UploadJob job) {
+        if (!Files.exists(Path.of(job.getStagedFile()))) {
+            fail(job.getJobId(), "Staged file is missing");
+            return;
+        }
+        log.info("Resuming upload job {}", job.getJobId());
+        retry(job.getJobId());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // running jobs are resumed at the next startup, their leases expire unless another node takes them over
+        if (leaseRenewal != null) {
+            leaseRenewal.cancel(false);
+        }
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    void run(String jobId) {
+        var job = uploadJobRepository.findByJobId(jobId).orElse(null);
+        if (job == null || !UNFINISHED.contains(job.getStatus())) {
+            return;
+        }
+        var execution = new Execution(job);
+        execution.update(j -> {
+            j.setStatus(UploadJob.Status.RUNNING);
+            j.setAttempts(j.getAttempts() + 1);
+            j.setSteps(initialSteps());
+            j.setError(null);
+        });
+
+        try {
+            UploadedFile uploadedFile;
+            try (var fileStream = Files.newInputStream(Path.of(job.getStagedFile()))) {
+                uploadedFile = dataAccessService.publishFile(job.getParticipantContextId(),
+                        new HashMap<>(job.getPublicMetadata()),
+                        new HashMap<>(job.getPrivateMetadata()),
+                        fileStream,
+                        job.getContentType(),
+                        job.getOriginalFilename(),
+                        objectMapper.readValue(job.getCelExpressions(), new TypeReference<List<CelExpression>>() {
+                        }),
+                        job.getPolicySet() != null ? objectMapper.readValue(job.getPolicySet(), PolicySet.class) : null,
+                        job.getContentHash(),
+                        execution::step);
+            }
+            dataAccessService.addUploadedFile(job.getParticipantId(), uploadedFile);
+            execution.update(j -> {
+                j.setStatus(UploadJob.Status.COMPLETED);
+                j.setFileId(uploadedFile.getFileId());
+            });
+            deleteStagedFile(job);
+        } catch (Exception e) {
+            var cause = Exceptions.unwrap(e);
+            var attempts = execution.job().getAttempts();
+            if (isRetryable(cause) && attempts < maxAttempts) {
+                log.warn("Upload job {} failed in attempt {}, retrying: {}", jobId, attempts, cause.getMessage());
+                execution.update(j -> {
+                    j.setStatus(UploadJob.Status.PENDING);
+                    j.setError(cause.getMessage());
+                });
+                taskScheduler.schedule(() -> retry(jobId), Instant.now().plus(retryBackoff.multipliedBy(attempts)));
+            } else {
+                log.error("Upload job {} failed in attempt {}", jobId, attempts, cause);
+                execution.update(j -> {
+                    j.setStatus(UploadJob.Status.FAILED);
+                    j.setError(cause.getMessage());
+                });
+                deleteStagedFile(job);
+            }
+        }
+    }
+
+    static boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return e instanceof WebClientRequestException || e instanceof IOException || e instanceof UncheckedIOException;
+    }
+
+    private void enqueue(String jobId) {
+        executor.execute(() -> run(jobId));
+    }
+
+    private void retry(String jobId) {
+        try {
+            enqueue(jobId);
+        } catch (RejectedExecutionException e) {
+            fail(jobId, "Upload queue is full");
+        }
+    }
+
+    private void fail(String jobId, String error) {
+        uploadJobRepository.findByJobId(jobId).ifPresent(job -> {
+            log.error("Upload job {} failed: {}", jobId, error);
+            job.setStatus(UploadJob.Status.FAILED);
+            job.setError(error);
+            uploadJobRepository.save(job);
+            deleteStagedFile(job);
+        });
+    }
+
+    private void deleteStagedFile(UploadJob job) {
+        try {
+            Files.deleteIfExists(Path.of(job.getStagedFile()));
+        } catch (IOException e) {
+            log.warn("Failed to delete staged file {}: {}", job.getStagedFile(), e.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Cannot determine the host name, set uploads.node-id", e);
+        }
+    }
+
+    private Map<String, Object> initialSteps() {
+        var steps = new LinkedHashMap<String, Object>();
+        for (var step : UploadJob.Step.values()) {
+            steps.put(step.name(), UploadJob.Status.PENDING.name());
+        }
+        return steps;
+    }
+
+    private UploadJobResource toResource(UploadJob job) {
+        var steps = new LinkedHashMap<String, String>();
+        for (var step : UploadJob.Step.values()) {
+            steps.put(step.name(), String.valueOf(job.getSteps().getOrDefault(step.name(), UploadJob.Status.PENDING.name())));
+        }
+        return new UploadJobResource(job.getJobId(), job.getStatus().name(), steps, job.getAttempts(), job.getFileId(),
+                job.getOriginalFilename(), job.getError(), Objects.toString(job.getCreatedAt(), null), Objects.toString(job.getUpdatedAt(), null));
+    }
+
+    /**
+     * Serializes the updates of a running job, the steps report their progress from different threads.
+     */
+    private class Execution {
+        private UploadJob job;
+
+        Execution(UploadJob job) {
+            this.job = job;
+        }
+
+        synchronized UploadJob job() {
+            return job;
+        }
+
+        synchronized void update(Consumer<UploadJob> change) {
+            change.accept(job);
+            job = uploadJobRepository.save(job);
+        }
+
+        void step(UploadJob.Step step, UploadJob.Status status) {
+            update(j -> {
+                var steps = new LinkedHashMap<>(j.getSteps());
+                steps.put(step.name(), status.name());
+                j.setSteps(steps);
+            });
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.infrastructure.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static io.netty.channel.ChannelOption.CONNECT_TIMEOUT_MILLIS;
+
+/**
+ * Hands out one dedicated connection pool per downstream service, so that a slow or unavailable service can only
+ * exhaust its own connections. Each pool is configured through {@code http-client.<name>.*} properties, falling back
+ * to {@code http-client.default.*}:
+ * <ul>
+ *     <li>{@code max-connections}: maximum number of open connections</li>
+ *     <li>{@code pending-acquire-max-count}: requests that may wait for a connection before being rejected</li>
+ *     <li>{@code pending-acquire-timeout}: how long a request waits for a connection</li>
+ *     <li>{@code max-idle-time}: idle connections are closed after this time</li>
+ *     <li>{@code connect-timeout}, {@code response-timeout}</li>
+ *     <li>{@code http2}: negotiate HTTP/2, falling back to HTTP/1.1 if the server does not support it</li>
+ * </ul>
+ * Pool occupancy is published as {@code reactor.netty.connection.provider.*} metrics, tagged with the pool name.
+ */
+@Component
+public class ConnectionPoolRegistry implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolRegistry.class);
+    private static final String PREFIX = "http-client.";
+
+    private final Environment environment;
+    private final ConcurrentMap<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+
+    public ConnectionPoolRegistry(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Returns a connector that uses the connection pool of the given downstream service.
+     *
+     * @param name    name of the downstream service, used for configuration and metrics
+     * @param baseUrl base URL of the service, used to decide between HTTP/2 over TLS and cleartext HTTP/2
+     */
+    public ClientHttpConnector connector(String name, String baseUrl) {
+        var provider = providers.computeIfAbsent(name, this::createProvider);
+        var httpClient = HttpClient.create(provider)
+                .option(CONNECT_TIMEOUT_MILLIS, (int) duration(name, "connect-timeout", "5s").toMillis())
+                .responseTimeout(duration(name, "response-timeout", "30s"));
+
+        if (Boolean.parseBoolean(property(name, "http2", "false"))) {
+            httpClient = baseUrl.startsWith("https:")
+                    ? httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                    : httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Override
+    public void destroy() {
+        Flux.fromIterable(providers.values())
+                .flatMap(ConnectionProvider::disposeLater)
+                .then()
+                .block(Duration.ofSeconds(10));
+    }
+
+    private ConnectionProvider createProvider(String name) {
+        var maxConnections = Integer.parseInt(property(name, "max-connections", "50"));
+        log.debug("Creating connection pool '{}' with {} connections", name, maxConnections);
+        return ConnectionProvider.builder(name)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(Integer.parseInt(property(name, "pending-acquire-max-count", "100")))
+                .pendingAcquireTimeout(duration(name, "pending-acquire-timeout", "10s"))
+                .maxIdleTime(duration(name, "max-idle-time", "30s"))
+                .evictInBackground(duration(name, "max-idle-time", "30s"))
+                .metrics(true)
+                .build();
+    }
+
+    private Duration duration(String name, String key, String defaultValue) {
+        return DurationStyle.detectAndParse(property(name, key, defaultValue));
+    }
+
+    private String property(String name, String key, String defaultValue) {
+        return environment.getProperty(PREFIX + name + "." + key, environment.getProperty(PREFIX + "default." + key, defaultValue));
+    }
+}
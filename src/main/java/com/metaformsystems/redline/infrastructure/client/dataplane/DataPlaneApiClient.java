@@ -14,8 +14,13 @@
 
 package com.metaformsystems.redline.infrastructure.client.dataplane;
 
+import com.metaformsystems.redline.infrastructure.client.dataplane.dto.DownloadResponse;
 import com.metaformsystems.redline.infrastructure.client.dataplane.dto.UploadResponse;
 import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.io.InputStream;
 import java.util.List;
@@ -30,6 +35,15 @@ public interface DataPlaneApiClient {
      */
     UploadResponse uploadMultipart(String participantContextId, Map<String, Object> metadata, InputStream data);
 
+    /**
+     * Streams a file to the data plane. The content is forwarded as it is emitted, subject to the backpressure of the
+     * outbound connection.
+     *
+     * @param metadata optional metadata to describe the file
+     * @param data     the file data
+     */
+    Mono<UploadResponse> uploadMultipart(String participantContextId, Map<String, Object> metadata, Flux<DataBuffer> data);
+
     /**
      * This is used on the provider side to list all uploaded files
      */
@@ -41,9 +55,13 @@ public interface DataPlaneApiClient {
     List<UploadResponse> listPublicFiles(String participantContextId, QuerySpec querySpec);
 
     /**
-     * Downloads a file from the provider's dataplane
+     * Downloads a file from the provider's dataplane as a stream. Completes once the response headers are received,
+     * the content is not buffered. A range that cannot be satisfied is reported with status 416 and a current
+     * conditional request with status 304, instead of an error.
      *
-     * @param fileId the id of the file to download
+     * @param fileId         the id of the file to download
+     * @param requestHeaders optional headers such as {@code Range}, {@code If-Range} or {@code If-None-Match}, the data
+     *                       plane may ignore them and send the whole file
      */
-    byte[] downloadFile(String authToken, String fileId);
+    Mono<DownloadResponse> downloadFileStream(String authToken, String fileId, HttpHeaders requestHeaders);
 }
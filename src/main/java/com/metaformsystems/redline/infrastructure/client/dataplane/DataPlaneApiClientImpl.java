@@ -14,43 +14,41 @@
 
 package com.metaformsystems.redline.infrastructure.client.dataplane;
 
-import com.metaformsystems.redline.application.service.TokenProvider;
-import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
-import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.infrastructure.client.dataplane.dto.DownloadResponse;
 import com.metaformsystems.redline.infrastructure.client.dataplane.dto.UploadResponse;
 import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
+import static com.metaformsystems.redline.application.service.BearerTokenExchangeFilterFunction.participantContextId;
+
 @Component
 public class DataPlaneApiClientImpl implements DataPlaneApiClient {
     private final WebClient dataPlanePublicClient;
     private final WebClient dataPlaneInternalClient;
-    private final ParticipantRepository participantRepository;
-    private final TokenProvider tokenProvider;
 
-    public DataPlaneApiClientImpl(WebClient dataPlanePublicClient, WebClient dataPlaneInternalClient, ParticipantRepository participantRepository, TokenProvider tokenProvider) {
+    public DataPlaneApiClientImpl(WebClient dataPlanePublicClient, WebClient dataPlaneInternalClient) {
         this.dataPlanePublicClient = dataPlanePublicClient.mutate()
                 .exchangeStrategies(ExchangeStrategies.builder()
                         .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(50 * 1024 * 1024))
                         .build())
                 .build();
         this.dataPlaneInternalClient = dataPlaneInternalClient;
-        this.participantRepository = participantRepository;
-        this.tokenProvider = tokenProvider;
     }
 
     @Override
@@ -69,7 +67,7 @@ public class DataPlaneApiClientImpl implements DataPlaneApiClient {
 
         return dataPlaneInternalClient.post()
                 .uri("/certs")
-                .header("Authorization", "Bearer " + getToken(participantContextId))
+                .attributes(participantContextId(participantContextId))
                 .contentType(MediaType.MULTIPART_FORM_DATA)
                 .bodyValue(bodyBuilder.build())
                 .retrieve()
@@ -77,6 +75,25 @@ public class DataPlaneApiClientImpl implements DataPlaneApiClient {
                 .block();
     }
 
+    @Override
+    public Mono<UploadResponse> uploadMultipart(String participantContextId, Map<String, Object> metadata, Flux<DataBuffer> data) {
+        var bodyBuilder = new MultipartBodyBuilder();
+        if (metadata != null) {
+            bodyBuilder.part("metadata", metadata);
+        }
+        bodyBuilder
+                .asyncPart("file", data, DataBuffer.class)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+        return dataPlaneInternalClient.post()
+                .uri("/certs")
+                .attributes(participantContextId(participantContextId))
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(bodyBuilder.build()))
+                .retrieve()
+                .bodyToMono(UploadResponse.class);
+    }
+
     @Override
     public List<UploadResponse> getAllUploads() {
         return dataPlaneInternalClient.post()
@@ -99,28 +116,14 @@ public class DataPlaneApiClientImpl implements DataPlaneApiClient {
     }
 
     @Override
-    public byte[] downloadFile(String authToken, String fileId) {
-
-        Flux<DataBuffer> dataBufferFlux = dataPlanePublicClient.get()
+    public Mono<DownloadResponse> downloadFileStream(String authToken, String fileId, HttpHeaders requestHeaders) {
+        return dataPlanePublicClient.get()
                 .uri("/certs/" + fileId)
+                .headers(headers -> headers.addAll(requestHeaders))
                 .header("Authorization", authToken)
                 .retrieve()
-                .bodyToFlux(DataBuffer.class);
-
-        return DataBufferUtils.join(dataBufferFlux)
-                .map(dataBuffer -> {
-                    byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                    dataBuffer.read(bytes);
-                    DataBufferUtils.release(dataBuffer);
-                    return bytes;
-                })
-                .block();
-    }
-
-    private String getToken(String participantContextId) {
-        var participantProfile = participantRepository.findByParticipantContextId(participantContextId)
-                .orElseThrow(() -> new ObjectNotFoundException("Participant not found with context id: " + participantContextId));
-
-        return tokenProvider.getToken(participantProfile.getClientCredentials().clientId(), participantProfile.getClientCredentials().clientSecret(), "management-api:write management-api:read");
+                .onStatus(status -> status.isSameCodeAs(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE), response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(entity -> new DownloadResponse(entity.getStatusCode(), entity.getHeaders(), entity.getBody()));
     }
 }
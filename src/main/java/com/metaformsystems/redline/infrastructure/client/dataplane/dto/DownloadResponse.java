@@ -0,0 +1,26 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.infrastructure.client.dataplane.dto;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import reactor.core.publisher.Flux;
+
+/**
+ * A file download whose response status and headers have been received. The content is read from the data plane while
+ * it is consumed and must be subscribed to exactly once.
+ */
+public record DownloadResponse(HttpStatusCode status, HttpHeaders headers, Flux<DataBuffer> content) {
+}
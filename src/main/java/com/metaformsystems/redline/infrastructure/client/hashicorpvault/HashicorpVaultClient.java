@@ -14,6 +14,14 @@
 
 package com.metaformsystems.redline.infrastructure.client.hashicorpvault;
 
+import java.util.Collection;
+
 public interface HashicorpVaultClient {
     String readSecret(String path);
+
+    /**
+     * Reads the given secrets ahead of time, so that subsequent {@link #readSecret(String)} calls can be served without
+     * contacting Vault. Failures to read individual secrets are ignored.
+     */
+    void prefetchSecrets(Collection<String> paths);
 }
@@ -14,41 +14,132 @@
 
 package com.metaformsystems.redline.infrastructure.client.hashicorpvault;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Reads KV v2 secrets from Hashicorp Vault. Secrets are cached for their lease duration, or for a default TTL if Vault
+ * does not report one. Missing, deleted and destroyed secrets are cached for a shorter negative TTL. A response with
+ * an older KV version than the cached one, e.g. from a lagging standby, does not replace the cached secret.
+ */
 @Component
 public class HashicorpVaultClientImpl implements HashicorpVaultClient {
+    private static final Logger log = LoggerFactory.getLogger(HashicorpVaultClientImpl.class);
+
     private final WebClient vaultWebClient;
+    private final Duration defaultTtl;
+    private final Duration negativeTtl;
+    private final int prefetchConcurrency;
+    private final Clock clock;
+    private final ConcurrentMap<String, CachedSecret> secrets = new ConcurrentHashMap<>();
     @Value("${vault.token:root}")
     private String vaultToken;
 
-    public HashicorpVaultClientImpl(WebClient vaultWebClient) {
+    @Autowired
+    public HashicorpVaultClientImpl(WebClient vaultWebClient,
+                                    @Value("${vault.cache.ttl:5m}") Duration defaultTtl,
+                                    @Value("${vault.cache.negative-ttl:30s}") Duration negativeTtl,
+                                    @Value("${vault.prefetch.concurrency:8}") int prefetchConcurrency) {
+        this(vaultWebClient, defaultTtl, negativeTtl, prefetchConcurrency, Clock.systemUTC());
+    }
+
+    HashicorpVaultClientImpl(WebClient vaultWebClient, Duration defaultTtl, Duration negativeTtl, int prefetchConcurrency, Clock clock) {
         this.vaultWebClient = vaultWebClient;
+        this.defaultTtl = defaultTtl;
+        this.negativeTtl = negativeTtl;
+        this.prefetchConcurrency = prefetchConcurrency;
+        this.clock = clock;
     }
 
     @Override
     public String readSecret(String path) {
+        var cached = secrets.get(path);
+        if (isFresh(cached)) {
+            return cached.value();
+        }
+        var secret = fetchSecret(path).block();
+        return store(path, secret).value();
+    }
+
+    @Override
+    public void prefetchSecrets(Collection<String> paths) {
+        Flux.fromIterable(paths)
+                .distinct()
+                .filter(path -> !isFresh(secrets.get(path)))
+                .flatMap(path -> fetchSecret(path)
+                        .doOnNext(secret -> store(path, secret))
+                        .onErrorResume(e -> {
+                            log.warn("Failed to prefetch secret {}: {}", path, e.getMessage());
+                            return Mono.empty();
+                        }), prefetchConcurrency)
+                .then()
+                .block();
+    }
+
+    private Mono<CachedSecret> fetchSecret(String path) {
         return vaultWebClient.get()
                 .uri(path)
                 .header("X-Vault-Token", vaultToken)
                 .retrieve()
                 .onStatus(status -> status.equals(HttpStatus.NOT_FOUND), r -> Mono.empty())
                 .bodyToMono(VaultGetSecretResponse.class)
-                // for some braindead reason it is not allowed to map to null, so we need to map to an empty string...
-                .map(r -> r.data() == null ? "" : r.data().getData().get("content"))
-                .block();
+                .map(this::toCachedSecret)
+                .defaultIfEmpty(absent(null));
     }
 
-    private record VaultGetSecretResponse(VaultDataWrapper data) {
+    private CachedSecret toCachedSecret(VaultGetSecretResponse response) {
+        var data = response.data();
+        var version = data != null && data.getMetadata() != null ? data.getMetadata().version() : null;
+        if (data == null || data.getData() == null || (data.getMetadata() != null && data.getMetadata().isDeleted())) {
+            // missing and soft-deleted secrets are reported as empty, same as a 404
+            return absent(version);
+        }
+        var ttl = response.leaseDuration() != null && response.leaseDuration() > 0 ? Duration.ofSeconds(response.leaseDuration()) : defaultTtl;
+        return new CachedSecret(data.getData().get("content"), version, clock.instant().plus(ttl));
+    }
+
+    private CachedSecret absent(Integer version) {
+        return new CachedSecret("", version, clock.instant().plus(negativeTtl));
+    }
+
+    private CachedSecret store(String path, CachedSecret secret) {
+        return secrets.merge(path, secret, (cached, fetched) -> fetched.isOlderThan(cached)
+                ? new CachedSecret(cached.value(), cached.version(), fetched.expiresAt())
+                : fetched);
+    }
+
+    private boolean isFresh(CachedSecret secret) {
+        return secret != null && clock.instant().isBefore(secret.expiresAt());
+    }
+
+    private record CachedSecret(String value, Integer version, Instant expiresAt) {
+        boolean isOlderThan(CachedSecret other) {
+            return version != null && other.version() != null && version < other.version();
+        }
+    }
+
+    private record VaultGetSecretResponse(@JsonProperty("lease_duration") Long leaseDuration, VaultDataWrapper data) {
 
         public static class VaultDataWrapper {
             private Map<String, String> data;
+            private VaultMetadata metadata;
 
             // Getters and Setters
             public Map<String, String> getData() {
@@ -58,6 +149,20 @@ public class HashicorpVaultClientImpl implements HashicorpVaultClient {
             public void setData(Map<String, String> data) {
                 this.data = data;
             }
+
+            public VaultMetadata getMetadata() {
+                return metadata;
+            }
+
+            public void setMetadata(VaultMetadata metadata) {
+                this.metadata = metadata;
+            }
+        }
+
+        private record VaultMetadata(Integer version, Boolean destroyed, @JsonProperty("deletion_time") String deletionTime) {
+            boolean isDeleted() {
+                return Boolean.TRUE.equals(destroyed) || StringUtils.hasText(deletionTime);
+            }
         }
     }
 }
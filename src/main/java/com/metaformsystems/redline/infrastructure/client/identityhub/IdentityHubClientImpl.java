@@ -14,9 +14,7 @@
 
 package com.metaformsystems.redline.infrastructure.client.identityhub;
 
-import com.metaformsystems.redline.application.service.TokenProvider;
-import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
-import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.entity.ClientCredentials;
 import com.metaformsystems.redline.infrastructure.client.identityhub.dto.CredentialRequestDto;
 import com.metaformsystems.redline.infrastructure.client.identityhub.dto.DidRequestPayload;
 import com.metaformsystems.redline.infrastructure.client.identityhub.dto.IdentityHubParticipantContext;
@@ -30,6 +28,8 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.List;
 
+import static com.metaformsystems.redline.application.service.BearerTokenExchangeFilterFunction.clientCredentials;
+import static com.metaformsystems.redline.application.service.BearerTokenExchangeFilterFunction.participantContextId;
 import static com.nimbusds.jose.util.Base64URL.encode;
 
 @Component
@@ -37,21 +37,13 @@ public class IdentityHubClientImpl implements IdentityHubClient {
 
     private static final String IDENTITY_API_BASE = "/api/identity/v1alpha";
     private final WebClient webClient;
-    private final TokenProvider tokenProvider;
-    private final String adminClientId;
-    private final String adminClientSecret;
-    private final ParticipantRepository participantRepository;
+    private final ClientCredentials adminCredentials;
 
     public IdentityHubClientImpl(WebClient identityHubWebClient,
-                                 TokenProvider tokenProvider,
-                                 ParticipantRepository participantRepository,
                                  @Value("${controlplane.admin.client-id:admin}") String adminClientId,
                                  @Value("${controlplane.admin.client-secret:edc-v-admin-secret}") String adminClientSecret) {
         this.webClient = identityHubWebClient;
-        this.tokenProvider = tokenProvider;
-        this.adminClientId = adminClientId;
-        this.adminClientSecret = adminClientSecret;
-        this.participantRepository = participantRepository;
+        this.adminCredentials = new ClientCredentials(adminClientId, adminClientSecret);
     }
 
     @Override
@@ -60,7 +52,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                 .uri(uriBuilder -> uriBuilder
                         .path(IDENTITY_API_BASE + "/participants")
                         .build())
-                .header("Authorization", "Bearer " + getToken())
+                .attributes(clientCredentials(adminCredentials, "identity-api:read"))
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<IdentityHubParticipantContext>>() {
                 })
@@ -71,7 +63,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
     public IdentityHubParticipantContext getParticipant(String participantContextId) {
         return webClient.get()
                 .uri(IDENTITY_API_BASE + "/participants/{participantContextId}", encode(participantContextId))
-                .header("Authorization", "Bearer " + getToken(participantContextId))
+                .attributes(participantContextId(participantContextId))
                 .retrieve()
                 .bodyToMono(IdentityHubParticipantContext.class)
                 .block();
@@ -83,7 +75,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                 .uri(uriBuilder -> uriBuilder
                         .path(IDENTITY_API_BASE + "/credentials")
                         .build())
-                .header("Authorization", "Bearer " + getToken())
+                .attributes(clientCredentials(adminCredentials, "identity-api:read"))
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<VerifiableCredentialResource>>() {
                 })
@@ -100,7 +92,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                     }
                     return builder.build();
                 })
-                .header("Authorization", "Bearer " + getToken(participantContextId))
+                .attributes(participantContextId(participantContextId))
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<VerifiableCredentialResource>>() {
                 })
@@ -112,7 +104,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
         return webClient.get()
                 .uri(IDENTITY_API_BASE + "/participants/{participantContextId}/credentials/request/{holderPid}",
                         encode(participantContextId), holderPid)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
+                .attributes(participantContextId(participantContextId))
                 .retrieve()
                 .bodyToMono(VerifiableCredentialResource.class)
                 .block();
@@ -122,7 +114,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
     public void requestCredential(String participantContextId, CredentialRequestDto request) {
         webClient.post()
                 .uri(IDENTITY_API_BASE + "/participants/{participantContextId}/credentials/request", encode(participantContextId))
-                .header("Authorization", "Bearer " + getToken(participantContextId))
+                .attributes(participantContextId(participantContextId))
                 .bodyValue(request)
                 .retrieve()
                 .toBodilessEntity()
@@ -135,7 +127,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                 .uri(uriBuilder -> uriBuilder
                         .path(IDENTITY_API_BASE + "/keypairs")
                         .build())
-                .header("Authorization", "Bearer " + getToken())
+                .attributes(clientCredentials(adminCredentials, "identity-api:read"))
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<KeyPairResource>>() {
                 })
@@ -146,7 +138,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
     public List<KeyPairResource> queryKeyPairByParticipantContextId(String participantContextId) {
         return webClient.get()
                 .uri(IDENTITY_API_BASE + "/participants/{participantContextId}/keypairs", encode(participantContextId))
-                .header("Authorization", "Bearer " + getToken(participantContextId))
+                .attributes(participantContextId(participantContextId))
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<KeyPairResource>>() {
                 })
@@ -158,7 +150,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
         return webClient.get()
                 .uri(IDENTITY_API_BASE + "/participants/{participantContextId}/keypairs/{keyPairId}",
                         encode(participantContextId), keyPairId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
+                .attributes(participantContextId(participantContextId))
                 .retrieve()
                 .bodyToMono(KeyPairResource.class)
                 .block();
@@ -174,7 +166,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                     }
                     return builder.build();
                 })
-                .header("Authorization", "Bearer " + getToken(participantContextId))
+                .attributes(participantContextId(participantContextId))
                 .bodyValue(keyDescriptor)
                 .retrieve()
                 .toBodilessEntity()
@@ -191,7 +183,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                     }
                     return builder.build();
                 })
-                .header("Authorization", "Bearer " + getToken(participantContextId))
+                .attributes(participantContextId(participantContextId))
                 .bodyValue(keyDescriptor)
                 .retrieve()
                 .toBodilessEntity()
@@ -203,7 +195,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
         webClient.post()
                 .uri(IDENTITY_API_BASE + "/participants/{participantContextId}/keypairs/{keyPairId}/revoke",
                         encode(participantContextId), keyPairId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
+                .attributes(participantContextId(participantContextId))
                 .bodyValue(keyDescriptor)
                 .retrieve()
                 .toBodilessEntity()
@@ -214,22 +206,10 @@ public class IdentityHubClientImpl implements IdentityHubClient {
     public void getDidState(String participantContextId, DidRequestPayload payload) {
         webClient.post()
                 .uri(IDENTITY_API_BASE + "/participants/{participantContextId}/dids/state", encode(participantContextId))
-                .header("Authorization", "Bearer " + getToken(participantContextId))
+                .attributes(participantContextId(participantContextId))
                 .bodyValue(payload)
                 .retrieve()
                 .toBodilessEntity()
                 .block();
     }
-
-    private String getToken() {
-        return tokenProvider.getToken(adminClientId, adminClientSecret, "identity-api:read");
-    }
-
-    private String getToken(String participantContextId) {
-        var participantProfile = participantRepository.findByParticipantContextId(participantContextId)
-                .orElseThrow(() -> new ObjectNotFoundException("Participant not found with context id: " + participantContextId));
-
-        var token = tokenProvider.getToken(participantProfile.getClientCredentials().clientId(), participantProfile.getClientCredentials().clientSecret(), "identity-api:write identity-api:read");
-        return token;
-    }
 }
@@ -62,6 +62,8 @@ public interface ManagementApiClient {
     // CEL expressions
     void createCelExpression(CelExpression celExpression);
 
+    List<CelExpression> queryCelExpressions(QuerySpec query);
+
     // TransferProcess
 
     /**
@@ -72,6 +74,8 @@ public interface ManagementApiClient {
 
     List<TransferProcess> listTransferProcesses(String participantContextId);
 
+    List<TransferProcess> listTransferProcesses(String participantContextId, QuerySpec query);
+
     String initiateTransferProcess(String participantContextId, TransferRequest request);
 
     TransferProcess getTransferProcess(String participantContextId, String transferProcessId);
@@ -87,6 +91,8 @@ public interface ManagementApiClient {
 
     List<ContractNegotiation> listContracts(String participantContextId);
 
+    List<ContractNegotiation> listContracts(String participantContextId, QuerySpec query);
+
     ContractAgreement getAgreement(String participantContextId, String negotiationId);
 
     Map<String, Object> getEdr(String participantContextId, String transferProcessId);
@@ -14,12 +14,6 @@
 
 package com.metaformsystems.redline.infrastructure.client.management;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.metaformsystems.redline.application.service.TokenProvider;
-import com.metaformsystems.redline.domain.entity.ClientCredentials;
-import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
-import com.metaformsystems.redline.domain.repository.ParticipantRepository;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Asset;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
 import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
@@ -32,322 +26,152 @@ import com.metaformsystems.redline.infrastructure.client.management.dto.NewPolic
 import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
 import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
 import com.metaformsystems.redline.infrastructure.client.management.dto.TransferRequest;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.MediaType;
+
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.List;
 import java.util.Map;
 
-import static com.nimbusds.jose.util.Base64URL.encode;
-
+/**
+ * Blocking facade over {@link ReactiveManagementApiClient}.
+ */
 @Component
 public class ManagementApiClientImpl implements ManagementApiClient {
 
-    private static final Logger logger = LoggerFactory.getLogger(ManagementApiClientImpl.class);
-
-    private final WebClient controlPlaneWebClient;
-    private final TokenProvider tokenProvider;
-    private final ParticipantRepository participantRepository;
-    private final ClientCredentials adminCredentials;
-
-    public ManagementApiClientImpl(WebClient controlPlaneWebClient,
-                                   TokenProvider tokenProvider,
-                                   ParticipantRepository participantRepository,
-                                   ObjectMapper objectMapper,
-                                   @Value("${controlplane.admin.client-id:admin}") String adminClientId,
-                                   @Value("${controlplane.admin.client-secret:edc-v-admin-secret}") String adminClientSecret) {
-        this.controlPlaneWebClient = controlPlaneWebClient;
-        this.tokenProvider = tokenProvider;
-        this.participantRepository = participantRepository;
-        this.adminCredentials = new ClientCredentials(adminClientId, adminClientSecret);
+    private final ReactiveManagementApiClient reactiveClient;
+
+    public ManagementApiClientImpl(ReactiveManagementApiClient reactiveClient) {
+        this.reactiveClient = reactiveClient;
     }
 
     @Override
     public void createAsset(String participantContextId, Asset asset) {
-        var token = getToken(participantContextId);
-
-        controlPlaneWebClient.post()
-                .uri("/v4alpha/participants/%s/assets".formatted(participantContextId))
-                .header("Authorization", "Bearer %s".formatted(token))
-                .bodyValue(asset)
-                .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+        reactiveClient.createAsset(participantContextId, asset).block();
     }
 
     @Override
     public List<Map<String, Object>> queryAssets(String participantContextId, QuerySpec query) {
-        return controlPlaneWebClient.post()
-                .uri("/v4alpha/participants/{participantContextId}/assets/request", encode(participantContextId))
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(query)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {
-                })
-                .block();
+        return reactiveClient.queryAssets(participantContextId, query).collectList().block();
     }
 
     @Override
     public void deleteAsset(String participantContextId, String assetId) {
-        controlPlaneWebClient.delete()
-                .uri("/v4alpha/participants/{participantContextId}/assets/{assetId}", encode(participantContextId), assetId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .toBodilessEntity()
-                .block();
+        reactiveClient.deleteAsset(participantContextId, assetId).block();
     }
 
     @Override
     public void createPolicy(String participantContextId, NewPolicyDefinition policy) {
-        controlPlaneWebClient.post()
-                .uri("/v4alpha/participants/%s/policydefinitions".formatted(participantContextId))
-                .header("Authorization", "Bearer %s".formatted(getToken(participantContextId)))
-                .bodyValue(policy)
-                .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+        reactiveClient.createPolicy(participantContextId, policy).block();
     }
 
     @Override
     public List<Map<String, Object>> queryPolicyDefinitions(String participantContextId, QuerySpec query) {
-        return controlPlaneWebClient.post()
-                .uri("/v4alpha/participants/{participantContextId}/policydefinitions/request", encode(participantContextId))
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(query)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {
-                })
-                .block();
+        return reactiveClient.queryPolicyDefinitions(participantContextId, query).collectList().block();
     }
 
     @Override
     public void deletePolicyDefinition(String participantContextId, String policyId) {
-        controlPlaneWebClient.delete()
-                .uri("/v4alpha/participants/{participantContextId}/policydefinitions/{policyId}", encode(participantContextId), policyId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .toBodilessEntity()
-                .block();
+        reactiveClient.deletePolicyDefinition(participantContextId, policyId).block();
     }
 
+    @Override
     public void createContractDefinition(String participantContextId, NewContractDefinition contractDefinition) {
-        controlPlaneWebClient.post()
-                .uri("/v4alpha/participants/%s/contractdefinitions".formatted(participantContextId))
-                .header("Authorization", "Bearer %s".formatted(getToken(participantContextId)))
-                .bodyValue(contractDefinition)
-                .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+        reactiveClient.createContractDefinition(participantContextId, contractDefinition).block();
     }
 
     @Override
     public List<Map<String, Object>> queryContractDefinitions(String participantContextId, QuerySpec query) {
-        return controlPlaneWebClient.post()
-                .uri("/v4alpha/participants/{participantContextId}/contractdefinitions/request", participantContextId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(query)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {
-                })
-                .block();
+        return reactiveClient.queryContractDefinitions(participantContextId, query).collectList().block();
     }
 
     @Override
     public void deleteContractDefinition(String participantContextId, String contractDefinitionId) {
-        controlPlaneWebClient.delete()
-                .uri("/v4alpha/participants/{participantContextId}/contractdefinitions/{id}", participantContextId, contractDefinitionId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .toBodilessEntity()
-                .block();
+        reactiveClient.deleteContractDefinition(participantContextId, contractDefinitionId).block();
     }
 
     @Override
     public String initiateContractNegotiation(String participantContextId, ContractRequest negotiationRequest) {
-
-        try {
-            var json = new ObjectMapper().writeValueAsString(negotiationRequest);
-            logger.info("Initiating contract negotiation: {}", json);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
-        var response = controlPlaneWebClient.post()
-                .uri("/v4alpha/participants/{participantContextId}/contractnegotiations", participantContextId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(negotiationRequest)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
-                })
-                .block();
-
-        return response != null ? (String) response.get("@id") : null;
+        return reactiveClient.initiateContractNegotiation(participantContextId, negotiationRequest).block();
     }
 
     @Override
     public ContractNegotiation getContractNegotiation(String participantContextId, String negotiationId) {
-        return controlPlaneWebClient.get()
-                .uri("/v4alpha/participants/{participantContextId}/contractnegotiations/{id}", participantContextId, negotiationId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<ContractNegotiation>() {
-                })
-                .block();
+        return reactiveClient.getContractNegotiation(participantContextId, negotiationId).block();
     }
 
     @Override
     public List<Map<String, Object>> queryContractNegotiations(String participantContextId, QuerySpec query) {
-        return controlPlaneWebClient.post()
-                .uri("/v4alpha/participants/{participantContextId}/contractnegotiations/request", encode(participantContextId))
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(query)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {
-                })
-                .block();
+        return reactiveClient.queryContractNegotiations(participantContextId, query).collectList().block();
     }
 
     @Override
     public void createCelExpression(CelExpression celExpression) {
+        reactiveClient.createCelExpression(celExpression).block();
+    }
 
-        var token = tokenProvider.getToken(adminCredentials.clientId(), adminCredentials.clientSecret(), "management-api:write management-api:read");
-        controlPlaneWebClient.post()
-                .uri("/v4alpha/celexpressions")
-                .header("Authorization", "Bearer %s".formatted(token))
-                .bodyValue(celExpression)
-                .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+    @Override
+    public List<CelExpression> queryCelExpressions(QuerySpec query) {
+        return reactiveClient.queryCelExpressions(query).collectList().block();
     }
 
     @Override
+    @Deprecated
     public Map<String, String> setupTransfer(String participantContextId, String policyId, String providerId) {
-        return controlPlaneWebClient.post()
-                .uri("/v1alpha/participants/%s/transfer".formatted(participantContextId))
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(Map.of(
-                        "policyId", policyId,
-                        "providerId", providerId))
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<Map<String, String>>() {
-                })
-                .block();
+        return reactiveClient.setupTransfer(participantContextId, policyId, providerId).block();
     }
 
     @Override
     public List<TransferProcess> listTransferProcesses(String participantContextId) {
-        return controlPlaneWebClient.post()
-                .uri("/v4alpha/participants/{participantContextId}/transferprocesses/request", participantContextId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<TransferProcess>>() {
-                })
-                .block();
+        return reactiveClient.listTransferProcesses(participantContextId).collectList().block();
+    }
+
+    @Override
+    public List<TransferProcess> listTransferProcesses(String participantContextId, QuerySpec query) {
+        return reactiveClient.listTransferProcesses(participantContextId, query).collectList().block();
     }
 
     @Override
     public String initiateTransferProcess(String participantContextId, TransferRequest request) {
-        var response = controlPlaneWebClient.post()
-                .uri("/v4alpha/participants/{participantContextId}/transferprocesses", participantContextId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
-                })
-                .block();
-
-        return response != null ? response.get("@id").toString() : null;
+        return reactiveClient.initiateTransferProcess(participantContextId, request).block();
     }
 
     @Override
     public TransferProcess getTransferProcess(String participantContextId, String transferProcessId) {
-        return controlPlaneWebClient.get()
-                .uri("/v4alpha/participants/{participantContextId}/transferprocesses/{transferProcessId}", participantContextId, transferProcessId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .bodyToMono(TransferProcess.class)
-                .block();
+        return reactiveClient.getTransferProcess(participantContextId, transferProcessId).block();
     }
 
     @Override
-    public Catalog getCatalog(String participantContextId, String counterPartyDid) {
-        return controlPlaneWebClient.post()
-                .uri("/v1alpha/participants/%s/catalog".formatted(participantContextId))
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(Map.of("counterPartyDid", counterPartyDid))
-                .retrieve()
-                .bodyToMono(Catalog.class)
-                .block();
-
+    public Catalog getCatalog(String participantContextId, String counterPartyId) {
+        return reactiveClient.getCatalog(participantContextId, counterPartyId).block();
     }
 
     @Override
     public void prepareDataplane(String participantContextId, DataplaneRegistration dataplaneRegistration) {
-        controlPlaneWebClient.post()
-                .uri("/v4alpha/dataplanes/%s".formatted(participantContextId))
-                .header("Authorization", "Bearer %s".formatted(getToken(participantContextId)))
-                .bodyValue(dataplaneRegistration)
-                .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+        reactiveClient.prepareDataplane(participantContextId, dataplaneRegistration).block();
     }
 
     @Override
-    public Object getData(String participantContextId, String counterPartyId, String policyId) {
-        return controlPlaneWebClient.post()
-                .uri("/v1alpha/participants/%s/data".formatted(participantContextId))
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(Map.of(
-                        "providerId", counterPartyId,
-                        "policyId", policyId))
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<>() {
-                })
-                .block();
+    public Object getData(String participantContextId, String counterPartyId, String offerId) {
+        return reactiveClient.getData(participantContextId, counterPartyId, offerId).block();
     }
 
     @Override
     public List<ContractNegotiation> listContracts(String participantContextId) {
-        return controlPlaneWebClient.post()
-                .uri("/v4alpha/participants/{participantContextId}/contractnegotiations/request", participantContextId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .contentType(MediaType.APPLICATION_JSON)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<ContractNegotiation>>() {
-                })
-                .block();
+        return reactiveClient.listContracts(participantContextId).collectList().block();
     }
 
     @Override
-    public ContractAgreement getAgreement(String participantContextId, String negotiationId) {
-        return controlPlaneWebClient.get()
-                .uri("/v4alpha/participants/{participantContextId}/contractnegotiations/{negotiationId}/agreement", participantContextId, negotiationId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .bodyToMono(ContractAgreement.class)
-                .block();
+    public List<ContractNegotiation> listContracts(String participantContextId, QuerySpec query) {
+        return reactiveClient.listContracts(participantContextId, query).collectList().block();
     }
 
     @Override
-    public Map<String, Object> getEdr(String participantContextId, String transferProcessId) {
-        return controlPlaneWebClient.get()
-                .uri("/v1alpha/participants/{participantContextId}/edr/{transferProcessId}", participantContextId, transferProcessId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
-                })
-                .block();
+    public ContractAgreement getAgreement(String participantContextId, String negotiationId) {
+        return reactiveClient.getAgreement(participantContextId, negotiationId).block();
     }
 
-    private String getToken(String participantContextId) {
-        var participantProfile = participantRepository.findByParticipantContextId(participantContextId)
-                .orElseThrow(() -> new ObjectNotFoundException("Participant not found with context id: " + participantContextId));
-
-        return tokenProvider.getToken(participantProfile.getClientCredentials().clientId(), participantProfile.getClientCredentials().clientSecret(), "management-api:write management-api:read");
+    @Override
+    public Map<String, Object> getEdr(String participantContextId, String transferProcessId) {
+        return reactiveClient.getEdr(participantContextId, transferProcessId).block();
     }
-
 }
@@ -0,0 +1,122 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.client.management;
+
+import com.metaformsystems.redline.infrastructure.client.management.dto.Asset;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractAgreement;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractRequest;
+import com.metaformsystems.redline.infrastructure.client.management.dto.DataplaneRegistration;
+import com.metaformsystems.redline.infrastructure.client.management.dto.NewContractDefinition;
+import com.metaformsystems.redline.infrastructure.client.management.dto.NewPolicyDefinition;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferRequest;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Non-blocking variant of {@link ManagementApiClient}. Nothing is sent to the control plane until the returned
+ * publisher is subscribed to.
+ */
+public interface ReactiveManagementApiClient {
+    // Assets
+    Mono<Void> createAsset(String participantContextId, Asset asset);
+
+    Flux<Map<String, Object>> queryAssets(String participantContextId, QuerySpec query);
+
+    Mono<Void> deleteAsset(String participantContextId, String assetId);
+
+    // Policy Definitions
+    Mono<Void> createPolicy(String participantContextId, NewPolicyDefinition policy);
+
+    Flux<Map<String, Object>> queryPolicyDefinitions(String participantContextId, QuerySpec query);
+
+    Mono<Void> deletePolicyDefinition(String participantContextId, String policyId);
+
+    // Contract Definitions
+    Mono<Void> createContractDefinition(String participantContextId, NewContractDefinition contractDefinition);
+
+    Flux<Map<String, Object>> queryContractDefinitions(String participantContextId, QuerySpec query);
+
+    Mono<Void> deleteContractDefinition(String participantContextId, String contractDefinitionId);
+
+    // Contract Negotiations
+    Mono<String> initiateContractNegotiation(String participantContextId, ContractRequest negotiationRequest);
+
+    Mono<ContractNegotiation> getContractNegotiation(String participantContextId, String negotiationId);
+
+    Flux<Map<String, Object>> queryContractNegotiations(String participantContextId, QuerySpec query);
+
+    // CEL expressions
+    Mono<Void> createCelExpression(CelExpression celExpression);
+
+    Flux<CelExpression> queryCelExpressions(QuerySpec query);
+
+    // TransferProcess
+
+    /**
+     * @deprecated don't use this, as this is only available in JAD
+     */
+    @Deprecated
+    Mono<Map<String, String>> setupTransfer(String participantContextId, String policyId, String providerId);
+
+    Flux<TransferProcess> listTransferProcesses(String participantContextId);
+
+    /**
+     * Lists the transfer processes matching the query, i.e. a single page if the query has a limit.
+     */
+    Flux<TransferProcess> listTransferProcesses(String participantContextId, QuerySpec query);
+
+    /**
+     * Pages through all transfer processes matching the query. Offset and limit of the query select the overall range,
+     * a page is only requested once the previous one has been consumed.
+     */
+    Flux<TransferProcess> streamTransferProcesses(String participantContextId, QuerySpec query);
+
+    Mono<String> initiateTransferProcess(String participantContextId, TransferRequest request);
+
+    Mono<TransferProcess> getTransferProcess(String participantContextId, String transferProcessId);
+
+    // Catalog
+    Mono<Catalog> getCatalog(String participantContextId, String counterPartyId);
+
+    // others
+    Mono<Void> prepareDataplane(String participantContextId, DataplaneRegistration dataplaneRegistration);
+
+    Mono<Object> getData(String participantContextId, String counterPartyId, String offerId);
+
+
+    Flux<ContractNegotiation> listContracts(String participantContextId);
+
+    /**
+     * Lists the contract negotiations matching the query, i.e. a single page if the query has a limit.
+     */
+    Flux<ContractNegotiation> listContracts(String participantContextId, QuerySpec query);
+
+    /**
+     * Pages through all contract negotiations matching the query, see {@link #streamTransferProcesses}.
+     */
+    Flux<ContractNegotiation> streamContracts(String participantContextId, QuerySpec query);
+
+    Mono<ContractAgreement> getAgreement(String participantContextId, String negotiationId);
+
+    Mono<Map<String, Object>> getEdr(String participantContextId, String transferProcessId);
+}
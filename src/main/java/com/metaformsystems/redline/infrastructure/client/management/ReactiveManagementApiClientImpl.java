@@ -0,0 +1,381 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.client.management;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metaformsystems.redline.domain.entity.ClientCredentials;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Asset;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractAgreement;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractRequest;
+import com.metaformsystems.redline.infrastructure.client.management.dto.DataplaneRegistration;
+import com.metaformsystems.redline.infrastructure.client.management.dto.NewContractDefinition;
+import com.metaformsystems.redline.infrastructure.client.management.dto.NewPolicyDefinition;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.metaformsystems.redline.application.service.BearerTokenExchangeFilterFunction.clientCredentials;
+import static com.metaformsystems.redline.application.service.BearerTokenExchangeFilterFunction.participantContextId;
+import static com.nimbusds.jose.util.Base64URL.encode;
+
+@Component
+public class ReactiveManagementApiClientImpl implements ReactiveManagementApiClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveManagementApiClientImpl.class);
+
+    private final WebClient controlPlaneWebClient;
+    private final ClientCredentials adminCredentials;
+    private final int pageSize;
+
+    public ReactiveManagementApiClientImpl(WebClient controlPlaneWebClient,
+                                           @Value("${controlplane.admin.client-id:admin}") String adminClientId,
+                                           @Value("${controlplane.admin.client-secret:edc-v-admin-secret}") String adminClientSecret,
+                                           @Value("${controlplane.query.page-size:500}") int pageSize) {
+        this.controlPlaneWebClient = controlPlaneWebClient;
+        this.adminCredentials = new ClientCredentials(adminClientId, adminClientSecret);
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public Mono<Void> createAsset(String participantContextId, Asset asset) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/participants/%s/assets".formatted(participantContextId))
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(asset)
+                .retrieve()
+                .bodyToMono(Void.class);
+    }
+
+    @Override
+    public Flux<Map<String, Object>> queryAssets(String participantContextId, QuerySpec query) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/participants/{participantContextId}/assets/request", encode(participantContextId))
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(query)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<Map<String, Object>>() {
+                });
+    }
+
+    @Override
+    public Mono<Void> deleteAsset(String participantContextId, String assetId) {
+        return controlPlaneWebClient.delete()
+                .uri("/v4alpha/participants/{participantContextId}/assets/{assetId}", encode(participantContextId), assetId)
+                .attributes(participantContextId(participantContextId))
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
+    @Override
+    public Mono<Void> createPolicy(String participantContextId, NewPolicyDefinition policy) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/participants/%s/policydefinitions".formatted(participantContextId))
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(policy)
+                .retrieve()
+                .bodyToMono(Void.class);
+    }
+
+    @Override
+    public Flux<Map<String, Object>> queryPolicyDefinitions(String participantContextId, QuerySpec query) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/participants/{participantContextId}/policydefinitions/request", encode(participantContextId))
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(query)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<Map<String, Object>>() {
+                });
+    }
+
+    @Override
+    public Mono<Void> deletePolicyDefinition(String participantContextId, String policyId) {
+        return controlPlaneWebClient.delete()
+                .uri("/v4alpha/participants/{participantContextId}/policydefinitions/{policyId}", encode(participantContextId), policyId)
+                .attributes(participantContextId(participantContextId))
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
+    public Mono<Void> createContractDefinition(String participantContextId, NewContractDefinition contractDefinition) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/participants/%s/contractdefinitions".formatted(participantContextId))
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(contractDefinition)
+                .retrieve()
+                .bodyToMono(Void.class);
+    }
+
+    @Override
+    public Flux<Map<String, Object>> queryContractDefinitions(String participantContextId, QuerySpec query) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/participants/{participantContextId}/contractdefinitions/request", participantContextId)
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(query)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<Map<String, Object>>() {
+                });
+    }
+
+    @Override
+    public Mono<Void> deleteContractDefinition(String participantContextId, String contractDefinitionId) {
+        return controlPlaneWebClient.delete()
+                .uri("/v4alpha/participants/{participantContextId}/contractdefinitions/{id}", participantContextId, contractDefinitionId)
+                .attributes(participantContextId(participantContextId))
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
+    @Override
+    public Mono<String> initiateContractNegotiation(String participantContextId, ContractRequest negotiationRequest) {
+
+        try {
+            var json = new ObjectMapper().writeValueAsString(negotiationRequest);
+            logger.info("Initiating contract negotiation: {}", json);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/participants/{participantContextId}/contractnegotiations", participantContextId)
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(negotiationRequest)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .mapNotNull(response -> (String) response.get("@id"));
+    }
+
+    @Override
+    public Mono<ContractNegotiation> getContractNegotiation(String participantContextId, String negotiationId) {
+        return controlPlaneWebClient.get()
+                .uri("/v4alpha/participants/{participantContextId}/contractnegotiations/{id}", participantContextId, negotiationId)
+                .attributes(participantContextId(participantContextId))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<ContractNegotiation>() {
+                });
+    }
+
+    @Override
+    public Flux<Map<String, Object>> queryContractNegotiations(String participantContextId, QuerySpec query) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/participants/{participantContextId}/contractnegotiations/request", encode(participantContextId))
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(query)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<Map<String, Object>>() {
+                });
+    }
+
+    @Override
+    public Mono<Void> createCelExpression(CelExpression celExpression) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/celexpressions")
+                .attributes(clientCredentials(adminCredentials))
+                .bodyValue(celExpression)
+                .retrieve()
+                .bodyToMono(Void.class);
+    }
+
+    @Override
+    public Flux<CelExpression> queryCelExpressions(QuerySpec query) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/celexpressions/request")
+                .attributes(clientCredentials(adminCredentials))
+                .bodyValue(query)
+                .retrieve()
+                .bodyToFlux(CelExpression.class);
+    }
+
+    @Override
+    @Deprecated
+    public Mono<Map<String, String>> setupTransfer(String participantContextId, String policyId, String providerId) {
+        return controlPlaneWebClient.post()
+                .uri("/v1alpha/participants/%s/transfer".formatted(participantContextId))
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(Map.of(
+                        "policyId", policyId,
+                        "providerId", providerId))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, String>>() {
+                });
+    }
+
+    @Override
+    public Flux<TransferProcess> listTransferProcesses(String participantContextId) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/participants/{participantContextId}/transferprocesses/request", participantContextId)
+                .attributes(participantContextId(participantContextId))
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<TransferProcess>() {
+                });
+    }
+
+    @Override
+    public Flux<TransferProcess> listTransferProcesses(String participantContextId, QuerySpec query) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/participants/{participantContextId}/transferprocesses/request", participantContextId)
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(query)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<TransferProcess>() {
+                });
+    }
+
+    @Override
+    public Flux<TransferProcess> streamTransferProcesses(String participantContextId, QuerySpec query) {
+        return paged(query, query.getOffset(), query.getLimit(), page -> listTransferProcesses(participantContextId, page));
+    }
+
+    @Override
+    public Mono<String> initiateTransferProcess(String participantContextId, TransferRequest request) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/participants/{participantContextId}/transferprocesses", participantContextId)
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .map(response -> response.get("@id").toString());
+    }
+
+    @Override
+    public Mono<TransferProcess> getTransferProcess(String participantContextId, String transferProcessId) {
+        return controlPlaneWebClient.get()
+                .uri("/v4alpha/participants/{participantContextId}/transferprocesses/{transferProcessId}", participantContextId, transferProcessId)
+                .attributes(participantContextId(participantContextId))
+                .retrieve()
+                .bodyToMono(TransferProcess.class);
+    }
+
+    @Override
+    public Mono<Catalog> getCatalog(String participantContextId, String counterPartyDid) {
+        return controlPlaneWebClient.post()
+                .uri("/v1alpha/participants/%s/catalog".formatted(participantContextId))
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(Map.of("counterPartyDid", counterPartyDid))
+                .retrieve()
+                .bodyToMono(Catalog.class);
+    }
+
+    @Override
+    public Mono<Void> prepareDataplane(String participantContextId, DataplaneRegistration dataplaneRegistration) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/dataplanes/%s".formatted(participantContextId))
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(dataplaneRegistration)
+                .retrieve()
+                .bodyToMono(Void.class);
+    }
+
+    @Override
+    public Mono<Object> getData(String participantContextId, String counterPartyId, String policyId) {
+        return controlPlaneWebClient.post()
+                .uri("/v1alpha/participants/%s/data".formatted(participantContextId))
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(Map.of(
+                        "providerId", counterPartyId,
+                        "policyId", policyId))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<>() {
+                });
+    }
+
+    @Override
+    public Flux<ContractNegotiation> listContracts(String participantContextId) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/participants/{participantContextId}/contractnegotiations/request", participantContextId)
+                .attributes(participantContextId(participantContextId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ContractNegotiation>() {
+                });
+    }
+
+    @Override
+    public Flux<ContractNegotiation> listContracts(String participantContextId, QuerySpec query) {
+        return controlPlaneWebClient.post()
+                .uri("/v4alpha/participants/{participantContextId}/contractnegotiations/request", participantContextId)
+                .attributes(participantContextId(participantContextId))
+                .bodyValue(query)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ContractNegotiation>() {
+                });
+    }
+
+    @Override
+    public Flux<ContractNegotiation> streamContracts(String participantContextId, QuerySpec query) {
+        return paged(query, query.getOffset(), query.getLimit(), page -> listContracts(participantContextId, page));
+    }
+
+    @Override
+    public Mono<ContractAgreement> getAgreement(String participantContextId, String negotiationId) {
+        return controlPlaneWebClient.get()
+                .uri("/v4alpha/participants/{participantContextId}/contractnegotiations/{negotiationId}/agreement", participantContextId, negotiationId)
+                .attributes(participantContextId(participantContextId))
+                .retrieve()
+                .bodyToMono(ContractAgreement.class);
+    }
+
+    @Override
+    public Mono<Map<String, Object>> getEdr(String participantContextId, String transferProcessId) {
+        return controlPlaneWebClient.get()
+                .uri("/v1alpha/participants/{participantContextId}/edr/{transferProcessId}", participantContextId, transferProcessId)
+                .attributes(participantContextId(participantContextId))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
+                });
+    }
+
+    /**
+     * Requests the range starting at {@code offset} page by page. {@code remaining} is the number of items still to be
+     * returned, or 0 for all. The next page is requested only after the current one has been emitted downstream.
+     */
+    private <T> Flux<T> paged(QuerySpec query, int offset, int remaining, Function<QuerySpec, Flux<T>> fetch) {
+        var limit = remaining > 0 ? Math.min(pageSize, remaining) : pageSize;
+        var page = QuerySpec.Builder.aQuerySpecDto()
+                .offset(offset)
+                .limit(limit)
+                .sortField(query.getSortField())
+                .sortOrder(query.getSortOrder())
+                .filterExpression(query.getFilterExpression())
+                .build();
+        return fetch.apply(page)
+                .collectList()
+                .flatMapMany(items -> {
+                    var left = remaining > 0 ? remaining - items.size() : 0;
+                    var last = items.size() < limit || (remaining > 0 && left <= 0);
+                    return Flux.fromIterable(items)
+                            .concatWith(last ? Flux.empty() : Flux.defer(() -> paged(query, offset + items.size(), left, fetch)));
+                });
+    }
+}
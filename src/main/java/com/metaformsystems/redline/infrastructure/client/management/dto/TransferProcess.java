@@ -14,6 +14,8 @@
 
 package com.metaformsystems.redline.infrastructure.client.management.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,6 +23,8 @@ import java.util.Map;
  * DTO class for an EDC Transfer Process.
  */
 public class TransferProcess {
+    @JsonProperty("@id")
+    private String id;
     private String type;
     private String protocol;
     private String correlationId;
@@ -36,6 +40,14 @@ public class TransferProcess {
     private String state;
     private long stateTimestamp;
 
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
     public String getType() {
         return type;
     }
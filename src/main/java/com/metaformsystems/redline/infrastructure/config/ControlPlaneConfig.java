@@ -14,6 +14,10 @@
 
 package com.metaformsystems.redline.infrastructure.config;
 
+import com.metaformsystems.redline.application.service.BearerTokenExchangeFilterFunction;
+import com.metaformsystems.redline.application.service.TokenProvider;
+import com.metaformsystems.redline.domain.service.ClientCredentialsRegistry;
+import com.metaformsystems.redline.infrastructure.client.ConnectionPoolRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,9 +29,11 @@ public class ControlPlaneConfig {
     private String controlPlaneUrl;
 
     @Bean
-    public WebClient controlPlaneWebClient(WebClient.Builder webClientBuilder) {
+    public WebClient controlPlaneWebClient(WebClient.Builder webClientBuilder, ConnectionPoolRegistry connectionPoolRegistry, TokenProvider tokenProvider, ClientCredentialsRegistry clientCredentialsRegistry) {
         return webClientBuilder
                 .baseUrl(controlPlaneUrl)
+                .clientConnector(connectionPoolRegistry.connector("controlplane", controlPlaneUrl))
+                .filter(new BearerTokenExchangeFilterFunction(tokenProvider, clientCredentialsRegistry, "management-api:write management-api:read"))
                 .build();
     }
 }
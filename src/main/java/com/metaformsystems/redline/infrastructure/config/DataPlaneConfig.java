@@ -14,6 +14,10 @@
 
 package com.metaformsystems.redline.infrastructure.config;
 
+import com.metaformsystems.redline.application.service.BearerTokenExchangeFilterFunction;
+import com.metaformsystems.redline.application.service.TokenProvider;
+import com.metaformsystems.redline.domain.service.ClientCredentialsRegistry;
+import com.metaformsystems.redline.infrastructure.client.ConnectionPoolRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,16 +32,19 @@ public class DataPlaneConfig {
     private String dataPlaneInternalUrl;
 
     @Bean
-    public WebClient dataPlanePublicClient(WebClient.Builder webClientBuilder) {
+    public WebClient dataPlanePublicClient(WebClient.Builder webClientBuilder, ConnectionPoolRegistry connectionPoolRegistry) {
         return webClientBuilder
                 .baseUrl(dataPlanePublicUrl)
+                .clientConnector(connectionPoolRegistry.connector("dataplane", dataPlanePublicUrl))
                 .build();
     }
 
     @Bean
-    public WebClient dataPlaneInternalClient(WebClient.Builder webClientBuilder) {
+    public WebClient dataPlaneInternalClient(WebClient.Builder webClientBuilder, ConnectionPoolRegistry connectionPoolRegistry, TokenProvider tokenProvider, ClientCredentialsRegistry clientCredentialsRegistry) {
         return webClientBuilder
                 .baseUrl(dataPlaneInternalUrl)
+                .clientConnector(connectionPoolRegistry.connector("dataplane", dataPlaneInternalUrl))
+                .filter(new BearerTokenExchangeFilterFunction(tokenProvider, clientCredentialsRegistry, "management-api:write management-api:read"))
                 .build();
     }
 }
@@ -14,6 +14,7 @@
 
 package com.metaformsystems.redline.infrastructure.config;
 
+import com.metaformsystems.redline.infrastructure.client.ConnectionPoolRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,9 +26,10 @@ public class HashicorpVaultConfig {
     private String vaultUrl;
 
     @Bean
-    public WebClient vaultWebClient(WebClient.Builder webClientBuilder) {
+    public WebClient vaultWebClient(WebClient.Builder webClientBuilder, ConnectionPoolRegistry connectionPoolRegistry) {
         return webClientBuilder
                 .baseUrl(vaultUrl)
+                .clientConnector(connectionPoolRegistry.connector("vault", vaultUrl))
                 .build();
     }
 }
@@ -14,6 +14,7 @@
 
 package com.metaformsystems.redline.infrastructure.config;
 
+import com.metaformsystems.redline.infrastructure.client.ConnectionPoolRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,9 +26,10 @@ public class KeycloakConfig {
     private String keycloakTokenUrl;
 
     @Bean
-    public WebClient keycloakTokenClient(WebClient.Builder webClientBuilder) {
+    public WebClient keycloakTokenClient(WebClient.Builder webClientBuilder, ConnectionPoolRegistry connectionPoolRegistry) {
         return webClientBuilder
                 .baseUrl(keycloakTokenUrl)
+                .clientConnector(connectionPoolRegistry.connector("keycloak", keycloakTokenUrl))
                 .build();
     }
 }
@@ -14,7 +14,22 @@
 
 package com.metaformsystems.redline.infrastructure.config;
 
+import com.metaformsystems.redline.infrastructure.security.CachingJwtDecoder;
+import com.metaformsystems.redline.infrastructure.security.KeycloakGrantedAuthoritiesConverter;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -24,25 +39,31 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
-import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
-import java.util.Collection;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
+    @Value("${security.jwt.cache.max-size:1000}")
+    private int jwtCacheMaxSize;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -73,7 +94,9 @@ public class SecurityConfig {
         var config = new CorsConfiguration();
         config.setAllowedOrigins(List.of(allowedOrigins));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "x-requested-with"));
+        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "x-requested-with", "If-None-Match", "Range", "If-Range"));
+        // conditional catalog requests, ranged downloads and upload job locations
+        config.setExposedHeaders(List.of("ETag", "Content-Range", "Accept-Ranges", "Location"));
 
         var source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/api/ui/**", config);
@@ -83,47 +106,51 @@ public class SecurityConfig {
     @Bean
     public JwtAuthenticationConverter jwtAuthenticationConverter() {
         JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
-        converter.setJwtGrantedAuthoritiesConverter(jwt -> {
-            JwtGrantedAuthoritiesConverter defaultConverter = new JwtGrantedAuthoritiesConverter();
-            Collection<GrantedAuthority> defaultAuthorities = defaultConverter.convert(jwt);
-
-            // Extract realm roles from Keycloak token
-            Map<String, Object> realmAccess = jwt.getClaim("realm_access");
-            Collection<GrantedAuthority> realmRoles = List.of();
-            if (realmAccess != null && realmAccess.get("roles") instanceof List<?> roles) {
-                realmRoles = roles.stream()
-                        .filter(role -> role instanceof String)
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                        .map(GrantedAuthority.class::cast)
-                        .toList();
-            }
+        converter.setJwtGrantedAuthoritiesConverter(new KeycloakGrantedAuthoritiesConverter(jwtCacheMaxSize));
+        return converter;
+    }
 
-            // Extract resource roles from Keycloak token
-            Map<String, Object> resourceAccess = jwt.getClaim("resource_access");
-            Collection<GrantedAuthority> resourceRoles = List.of();
-            if (resourceAccess != null) {
-                resourceRoles = resourceAccess.values().stream()
-                        .filter(resource -> resource instanceof Map<?, ?>)
-                        .map(resource -> (Map<String, Object>) resource)
-                        .filter(resource -> resource.containsKey("roles"))
-                        .flatMap(resource -> {
-                            Object rolesObj = resource.get("roles");
-                            if (rolesObj instanceof List<?> roles) {
-                                return roles.stream()
-                                        .filter(role -> role instanceof String)
-                                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role));
-                            }
-                            return Stream.empty();
-                        })
-                        .map(GrantedAuthority.class::cast)
-                        .toList();
-            }
+    /**
+     * Keycloak signing keys, cached and refreshed in the background ahead of expiry. Unknown key IDs trigger a
+     * (rate-limited) reload, so key rotation does not require a restart.
+     */
+    @Bean
+    public JWKSource<SecurityContext> jwkSource(@Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+                                                @Value("${security.jwt.jwk.cache-ttl:5m}") Duration cacheTtl,
+                                                @Value("${security.jwt.jwk.refresh-timeout:15s}") Duration refreshTimeout,
+                                                @Value("${security.jwt.jwk.refresh-ahead:30s}") Duration refreshAhead) throws MalformedURLException {
+        return JWKSourceBuilder.<SecurityContext>create(URI.create(jwkSetUri).toURL())
+                .cache(cacheTtl.toMillis(), refreshTimeout.toMillis())
+                .refreshAheadCache(refreshAhead.toMillis(), true)
+                .build();
+    }
 
-            return Stream.of(defaultAuthorities, realmRoles, resourceRoles)
-                    .flatMap(Collection::stream)
-                    .toList();
+    @Bean
+    public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource,
+                                 @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri) {
+        var jwtProcessor = new DefaultJWTProcessor<SecurityContext>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // claims are validated by Spring Security's validators below
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
         });
 
-        return converter;
+        var decoder = new NimbusJwtDecoder(jwtProcessor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return new CachingJwtDecoder(decoder, jwtCacheMaxSize);
+    }
+
+    /**
+     * Loads the JWK set in the background once the application is up, so the first authenticated request does not
+     * have to wait for it. Failures are not fatal, the keys are then loaded on first use.
+     */
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> jwkSetPrefetcher(JWKSource<SecurityContext> jwkSource) {
+        return event -> CompletableFuture.runAsync(() -> {
+            try {
+                jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+            } catch (KeySourceException e) {
+                log.warn("Failed to prefetch JWK set: {}", e.getMessage());
+            }
+        });
     }
 }
@@ -14,6 +14,7 @@
 
 package com.metaformsystems.redline.infrastructure.config;
 
+import com.metaformsystems.redline.infrastructure.client.ConnectionPoolRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,9 +27,10 @@ public class TenantManagerClientConfig {
     private String tenantManagerUrl;
 
     @Bean
-    public WebClient tenantManagerWebClient(WebClient.Builder webClientBuilder) {
+    public WebClient tenantManagerWebClient(WebClient.Builder webClientBuilder, ConnectionPoolRegistry connectionPoolRegistry) {
         return webClientBuilder
                 .baseUrl(tenantManagerUrl)
+                .clientConnector(connectionPoolRegistry.connector("tenant-manager", tenantManagerUrl))
                 .build();
     }
 }
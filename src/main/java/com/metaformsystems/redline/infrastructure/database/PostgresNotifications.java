@@ -0,0 +1,162 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.infrastructure.database;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Sends and receives notifications between Redline replicas through PostgreSQL LISTEN/NOTIFY. The notifications are
+ * received on a dedicated connection of the pool, which is only taken if a listener is registered. Notifications that
+ * are sent while the connection is re-established are lost. With any other database, notifications are neither sent
+ * nor received.
+ */
+@Component
+public class PostgresNotifications {
+    private static final Logger log = LoggerFactory.getLogger(PostgresNotifications.class);
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final boolean available;
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresNotifications(DataSource dataSource,
+                                 JdbcTemplate jdbcTemplate,
+                                 @Value("${postgres.notifications.poll-timeout:5s}") Duration pollTimeout,
+                                 @Value("${postgres.notifications.reconnect-delay:10s}") Duration reconnectDelay) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+        this.available = isPostgres(dataSource);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Notifies the listeners of the channel on all replicas, including this one.
+     */
+    public void notify(String channel, String payload) {
+        if (available) {
+            jdbcTemplate.queryForList("select pg_notify(?, ?)", checkChannel(channel), payload);
+        }
+    }
+
+    /**
+     * Registers a listener for the payloads of the channel. Listeners must be registered before the application is
+     * ready, they are called on the thread that receives the notifications.
+     */
+    public void listen(String channel, Consumer<String> listener) {
+        listeners.computeIfAbsent(checkChannel(channel), c -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!available || listeners.isEmpty()) {
+            return;
+        }
+        running = true;
+        listenerThread = Thread.ofPlatform().daemon().name("postgres-notifications").start(this::receive);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void receive() {
+        while (running) {
+            try (var connection = dataSource.getConnection()) {
+                try (var statement = connection.createStatement()) {
+                    for (var channel : listeners.keySet()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                var pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    var notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (var notification : notifications) {
+                        dispatch(notification.getName(), notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Lost the connection for notifications, reconnecting in {}: {}", reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String channel, String payload) {
+        for (var listener : listeners.getOrDefault(channel, List.of())) {
+            try {
+                listener.accept(payload);
+            } catch (RuntimeException e) {
+                log.warn("Failed to handle notification on channel {}: {}", channel, e.toString());
+            }
+        }
+    }
+
+    private static String checkChannel(String channel) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid channel name: " + channel);
+        }
+        return channel;
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try (var connection = dataSource.getConnection()) {
+            return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("Failed to determine the database, notifications are disabled: {}", e.getMessage());
+            return false;
+        }
+    }
+}
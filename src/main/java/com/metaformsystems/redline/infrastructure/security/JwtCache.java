@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache for values derived from a bearer token. Entries are keyed by the SHA-256 hash of the token, so
+ * the raw tokens are not retained, and are only served until the token expires. Values without an expiry are never
+ * cached.
+ */
+class JwtCache<V> {
+
+    private final Clock clock;
+    private final Map<String, Entry<V>> entries;
+
+    JwtCache(int maxSize, Clock clock) {
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value for the token, or computes and caches it. The loader runs outside the cache lock, so
+     * concurrent misses for the same token may compute the value more than once.
+     */
+    V get(String token, Supplier<V> loader, Function<V, Instant> expiresAt) {
+        var key = hash(token);
+        var now = clock.instant();
+        synchronized (entries) {
+            var entry = entries.get(key);
+            if (entry != null) {
+                if (now.isBefore(entry.expiresAt())) {
+                    return entry.value();
+                }
+                entries.remove(key);
+            }
+        }
+
+        var value = loader.get();
+        var expiry = expiresAt.apply(value);
+        if (expiry != null && now.isBefore(expiry)) {
+            synchronized (entries) {
+                entries.put(key, new Entry<>(value, expiry));
+            }
+        }
+        return value;
+    }
+
+    private static String hash(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry<V>(V value, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Maps the scopes and the Keycloak realm and client roles of a token to granted authorities. Roles are prefixed with
+ * {@code ROLE_}. The authorities of a token are computed once and reused until the token expires.
+ */
+public class KeycloakGrantedAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
+
+    private final JwtGrantedAuthoritiesConverter scopesConverter = new JwtGrantedAuthoritiesConverter();
+    private final JwtCache<Collection<GrantedAuthority>> cache;
+
+    public KeycloakGrantedAuthoritiesConverter(int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    KeycloakGrantedAuthoritiesConverter(int maxSize, Clock clock) {
+        this.cache = new JwtCache<>(maxSize, clock);
+    }
+
+    @Override
+    public Collection<GrantedAuthority> convert(Jwt jwt) {
+        return cache.get(jwt.getTokenValue(), () -> computeAuthorities(jwt), authorities -> jwt.getExpiresAt());
+    }
+
+    private Collection<GrantedAuthority> computeAuthorities(Jwt jwt) {
+        Collection<GrantedAuthority> defaultAuthorities = scopesConverter.convert(jwt);
+
+        // Extract realm roles from Keycloak token
+        Map<String, Object> realmAccess = jwt.getClaim("realm_access");
+        Collection<GrantedAuthority> realmRoles = List.of();
+        if (realmAccess != null && realmAccess.get("roles") instanceof List<?> roles) {
+            realmRoles = toAuthorities(roles).toList();
+        }
+
+        // Extract resource roles from Keycloak token
+        Map<String, Object> resourceAccess = jwt.getClaim("resource_access");
+        Collection<GrantedAuthority> resourceRoles = List.of();
+        if (resourceAccess != null) {
+            resourceRoles = resourceAccess.values().stream()
+                    .filter(resource -> resource instanceof Map<?, ?>)
+                    .map(resource -> ((Map<?, ?>) resource).get("roles"))
+                    .flatMap(rolesObj -> rolesObj instanceof List<?> roles ? toAuthorities(roles) : Stream.empty())
+                    .toList();
+        }
+
+        return Stream.of(defaultAuthorities, realmRoles, resourceRoles)
+                .flatMap(Collection::stream)
+                .toList();
+    }
+
+    private Stream<GrantedAuthority> toAuthorities(List<?> roles) {
+        return roles.stream()
+                .filter(role -> role instanceof String)
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role));
+    }
+}
@@ -43,6 +43,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -138,7 +140,7 @@ public class OnboardingEndToEndTest {
         registerDataPlane(providerInfo.contextId());
 
         // now acting as the consumer, getting the provider's catalog
-        var catalog = dataAccessService.requestCatalog(consumerInfo.id(), providerInfo.webDid(), "no-cache");
+        var catalog = dataAccessService.requestCatalog(consumerInfo.id(), providerInfo.webDid(), "no-cache").catalog();
 
         // get the asset with id "todo_asset"
         var dataset = catalog.getDataset().stream().filter(ds -> ds.getId().equals(todoAssetId)).findFirst().orElseThrow();
@@ -182,7 +184,7 @@ public class OnboardingEndToEndTest {
         registerDataPlane(providerInfo.contextId());
 
         // now acting as the consumer, getting the provider's catalog
-        var catalog = dataAccessService.requestCatalog(consumerInfo.id(), providerInfo.webDid(), "no-cache");
+        var catalog = dataAccessService.requestCatalog(consumerInfo.id(), providerInfo.webDid(), "no-cache").catalog();
 
         // get the asset with negotiationId "todo_asset"
         var dataset = catalog.getDataset().stream().filter(ds -> ds.getId().equals(todoAssetId)).findFirst().orElseThrow();
@@ -277,7 +279,16 @@ public class OnboardingEndToEndTest {
         assertThat(policyId).isNotNull();
 
         var endpointDataReference = managementApiClient.setupTransfer(consumerInfo.contextId(), policyId, providerInfo.webDid());
-        var bytes = dataPlaneApiClient.downloadFile(endpointDataReference.get("https://w3id.org/edc/v0.0.1/ns/authorization"), fileId);
+        var download = dataPlaneApiClient.downloadFileStream(endpointDataReference.get("https://w3id.org/edc/v0.0.1/ns/authorization"), fileId, new HttpHeaders()).block();
+        assertThat(download).isNotNull();
+        var bytes = DataBufferUtils.join(download.content())
+                .map(buffer -> {
+                    var content = new byte[buffer.readableByteCount()];
+                    buffer.read(content);
+                    DataBufferUtils.release(buffer);
+                    return content;
+                })
+                .block();
         var expectedBytes = Thread.currentThread().getContextClassLoader().getResourceAsStream("testdocument.pdf").readAllBytes();
         assertThat(bytes).isEqualTo(expectedBytes);
     }
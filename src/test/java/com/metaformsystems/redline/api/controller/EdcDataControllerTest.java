@@ -18,6 +18,7 @@ package com.metaformsystems.redline.api.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.metaformsystems.redline.api.dto.request.Constraint;
 import com.metaformsystems.redline.api.dto.request.ContractRequest;
+import com.metaformsystems.redline.api.dto.response.UploadJobResource;
 import com.metaformsystems.redline.application.service.TokenProvider;
 import com.metaformsystems.redline.domain.entity.ClientCredentials;
 import com.metaformsystems.redline.domain.entity.Dataspace;
@@ -29,14 +30,18 @@ import com.metaformsystems.redline.domain.repository.DataspaceRepository;
 import com.metaformsystems.redline.domain.repository.ParticipantRepository;
 import com.metaformsystems.redline.domain.repository.ServiceProviderRepository;
 import com.metaformsystems.redline.domain.repository.TenantRepository;
+import com.metaformsystems.redline.domain.service.UploadJobService;
 import com.metaformsystems.redline.domain.service.WebDidResolver;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
@@ -48,33 +53,45 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.util.TestSocketUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.net.InetAddress;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
 @SpringBootTest
-@AutoConfigureMockMvc
+// downloads write their response on a download thread while MockMvc would print it after the async start
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
 @ActiveProfiles("dev")
 @Transactional
 public class EdcDataControllerTest {
     static final String mockBackEndHost = "localhost";
     static final int mockBackEndPort = TestSocketUtils.findAvailableTcpPort();
+    private static final String BOUNDARY = "redline-test-boundary";
     private MockWebServer mockWebServer;
 
     @MockitoBean
@@ -101,6 +118,9 @@ public class EdcDataControllerTest {
     @MockitoBean
     private TokenProvider tokenProvider;
 
+    @MockitoBean
+    private UploadJobService uploadJobService;
+
     private ServiceProvider serviceProvider;
     private Dataspace dataspace;
 
@@ -134,7 +154,7 @@ public class EdcDataControllerTest {
 
         mockWebServer = new MockWebServer();
         mockWebServer.start(InetAddress.getByName(mockBackEndHost), mockBackEndPort);
-        when(tokenProvider.getToken(anyString(), anyString(), anyString())).thenReturn("test-token");
+        when(tokenProvider.getTokenAsync(anyString(), anyString(), anyString())).thenReturn(Mono.just("test-token"));
         when(webDidResolver.resolveProtocolEndpoints(anyString())).thenReturn("http://example.com/api");
     }
 
@@ -174,27 +194,7 @@ public class EdcDataControllerTest {
         var constraints = new MockPart("constraints", "[{\"leftOperand\":\"purpose\",\"operator\":\"eq\",\"rightOperand\":\"test\"}]".getBytes());
         constraints.getHeaders().setContentType(MediaType.APPLICATION_JSON);
 
-        // Mock the upload response from the dataplane
-        mockWebServer.enqueue(new MockResponse()
-                .setResponseCode(200)
-                .setBody("{\"id\": \"generated-file-id-123\"}")
-                .addHeader("Content-Type", "application/json"));
-
-        // mock create-cel-expression (custom)
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
-        // mock create-asset
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
-        // mock create-cel-expression (membership)
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
-        // mock create-policy
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
-        //mock create-contractdef
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
+        mockWebServer.setDispatcher(uploadDispatcher(200));
 
         mockMvc.perform(multipart("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files",
                         serviceProvider.getId(), tenant.getId(), participant.getId())
@@ -238,26 +238,131 @@ public class EdcDataControllerTest {
         var privateMetadata = new MockPart("privateMetadata", "{\"private\": \"value\"}".getBytes());
         privateMetadata.getHeaders().setContentType(MediaType.APPLICATION_JSON);
 
-        // Mock the upload response from the dataplane
-        mockWebServer.enqueue(new MockResponse()
-                .setResponseCode(200)
-                .setBody("{\"id\": \"generated-file-id-123\"}")
-                .addHeader("Content-Type", "application/json"));
-
-        // mock create-asset
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
-        // mock create-cel-expression (membership)
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
-        // mock create-policy
-        mockWebServer.enqueue(new MockResponse().setResponseCode(409));
+        mockWebServer.setDispatcher(uploadDispatcher(409));
 
         mockMvc.perform(multipart("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files",
                         serviceProvider.getId(), tenant.getId(), participant.getId())
                         .file(mockFile)
                         .part(publicMetadata, privateMetadata))
                 .andExpect(status().isInternalServerError());
+
+        // the asset created before the policy failed is removed again
+        var paths = new ArrayList<String>();
+        for (var i = 0; i < mockWebServer.getRequestCount(); i++) {
+            var request = mockWebServer.takeRequest();
+            paths.add(request.getMethod() + " " + request.getPath());
+        }
+        assertThat(paths).anyMatch(path -> path.matches("DELETE /controlplane/v4alpha/participants/[^/]+/assets/.+"));
+    }
+
+    @Test
+    void shouldStreamFile() throws Exception {
+        var tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        var participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        participant.setClientCredentials(new ClientCredentials("test-client", "test-secret"));
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
+
+        mockWebServer.setDispatcher(uploadDispatcher(200));
+
+        mockMvc.perform(post("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files/stream",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(multipartBody(
+                                jsonPart("publicMetadata", "{\"foo\": \"bar\"}"),
+                                jsonPart("privateMetadata", "{\"private\": \"value\"}"),
+                                filePart("streamed file content"))))
+                .andExpect(status().isOk());
+
+        assertThat(participantRepository.findById(participant.getId())).isPresent()
+                .hasValueSatisfying(p -> assertThat(p.getUploadedFiles()).singleElement()
+                        .satisfies(file -> {
+                            assertThat(file.getFileId()).isEqualTo("generated-file-id-123");
+                            assertThat(file.getOriginalFilename()).isEqualTo("testdocument.pdf");
+                            assertThat(file.getMetadata()).containsEntry("foo", "bar").containsEntry("private", "value");
+                            assertThat(file.getContentHash()).isEqualTo("37af1b21406ebd0c6cfc1804077bce584878852058aecb7f0b1a3dd47fa63cb8");
+                        }));
+        var bodies = new ArrayList<String>();
+        for (var i = 0; i < mockWebServer.getRequestCount(); i++) {
+            var request = mockWebServer.takeRequest();
+            if ("/dataplane/certs".equals(request.getPath())) {
+                bodies.add(request.getBody().readUtf8());
+            }
+        }
+        assertThat(bodies).singleElement().asString().contains("streamed file content");
+    }
+
+    @Test
+    void shouldRejectStreamedFile_whenMetadataFollowsFile() throws Exception {
+        var tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        var participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
+
+        mockMvc.perform(post("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files/stream",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(multipartBody(
+                                filePart("streamed file content"),
+                                jsonPart("publicMetadata", "{}"),
+                                jsonPart("privateMetadata", "{}"))))
+                .andExpect(status().isBadRequest());
+
+        assertThat(mockWebServer.getRequestCount()).isZero();
+    }
+
+    @Test
+    void shouldRejectStreamedFile_whenPolicySetFollowsFile() throws Exception {
+        var tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        var participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        participant.setClientCredentials(new ClientCredentials("test-client", "test-secret"));
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
+
+        mockWebServer.setDispatcher(uploadDispatcher(200));
+
+        mockMvc.perform(post("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files/stream",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(multipartBody(
+                                jsonPart("publicMetadata", "{}"),
+                                jsonPart("privateMetadata", "{}"),
+                                filePart("streamed file content"),
+                                jsonPart("policySet", "{\"permission\": []}"))))
+                .andExpect(status().isBadRequest());
+
+        // neither the asset nor the contract definition is created, and the default policy is removed again
+        var paths = new ArrayList<String>();
+        for (var i = 0; i < mockWebServer.getRequestCount(); i++) {
+            var request = mockWebServer.takeRequest();
+            paths.add(request.getMethod() + " " + request.getPath());
+        }
+        assertThat(paths).noneMatch(path -> path.matches("POST .*/(assets|contractdefinitions)"));
+        if (paths.stream().anyMatch(path -> path.matches("POST .*/policydefinitions"))) {
+            assertThat(paths).anyMatch(path -> path.matches("DELETE .*/policydefinitions/.+"));
+        }
+        assertThat(participantRepository.findById(participant.getId())).hasValueSatisfying(p -> assertThat(p.getUploadedFiles()).isEmpty());
     }
 
     @Test
@@ -288,6 +393,129 @@ public class EdcDataControllerTest {
                 .andExpect(jsonPath("$[*].contentType").value(containsInAnyOrder("test-file-content-type", "test-file-content-type2")));
     }
 
+    @Test
+    void shouldStreamDownload() throws Exception {
+        var tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        var participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
+
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("downloaded file content")
+                .addHeader("Content-Type", "application/pdf")
+                .addHeader("Content-Disposition", "attachment; filename=\"testdocument.pdf\""));
+
+        var result = mockMvc.perform(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files/{fileId}",
+                        serviceProvider.getId(), tenant.getId(), participant.getId(), "file-123")
+                        .header("Authorization", "edr-token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/pdf"))
+                .andExpect(header().longValue("Content-Length", 23))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"testdocument.pdf\""))
+                .andExpect(content().string("downloaded file content"));
+
+        var request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/dataplane/certs/file-123");
+        assertThat(request.getHeader("Authorization")).isEqualTo("edr-token");
+    }
+
+    @Test
+    void shouldServeRange_whenDataPlaneSendsWholeFile() throws Exception {
+        var tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        var participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
+
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("downloaded file content")
+                .addHeader("Content-Type", "application/pdf")
+                .addHeader("ETag", "\"v1\""));
+
+        var result = mockMvc.perform(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files/{fileId}",
+                        serviceProvider.getId(), tenant.getId(), participant.getId(), "file-123")
+                        .header("Authorization", "edr-token")
+                        .header("Range", "bytes=11-14")
+                        .header("If-Range", "\"v1\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 11-14/23"))
+                .andExpect(header().longValue("Content-Length", 4))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().string("ETag", "\"v1\""))
+                .andExpect(content().string("file"));
+
+        var request = mockWebServer.takeRequest();
+        assertThat(request.getHeader("Range")).isEqualTo("bytes=11-14");
+        assertThat(request.getHeader("If-Range")).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    void shouldSubmitUpload() throws Exception {
+        var mockFile = new MockMultipartFile("file", "testdocument.pdf", "application/pdf", "content".getBytes());
+        var publicMetadata = new MockPart("publicMetadata", "{\"foo\": \"bar\"}".getBytes());
+        publicMetadata.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        var privateMetadata = new MockPart("privateMetadata", "{\"private\": \"value\"}".getBytes());
+        privateMetadata.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        when(uploadJobService.submit(eq(42L), any(), any(), any(), eq("application/pdf"), eq("testdocument.pdf"), eq(List.of()), any()))
+                .thenReturn(uploadJob("PENDING"));
+
+        mockMvc.perform(multipart("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/uploads", 1, 2, 42)
+                        .file(mockFile)
+                        .part(publicMetadata, privateMetadata))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/ui/service-providers/1/tenants/2/participants/42/uploads/job-1"))
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void shouldReturnServiceUnavailable_whenUploadQueueIsFull() throws Exception {
+        var mockFile = new MockMultipartFile("file", "testdocument.pdf", "application/pdf", "content".getBytes());
+        var publicMetadata = new MockPart("publicMetadata", "{}".getBytes());
+        publicMetadata.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        var privateMetadata = new MockPart("privateMetadata", "{}".getBytes());
+        privateMetadata.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        when(uploadJobService.submit(anyLong(), any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new RejectedExecutionException("queue full"));
+
+        mockMvc.perform(multipart("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/uploads", 1, 2, 42)
+                        .file(mockFile)
+                        .part(publicMetadata, privateMetadata))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void shouldGetUploadJob() throws Exception {
+        when(uploadJobService.getJob(42L, "job-1")).thenReturn(uploadJob("RUNNING"));
+
+        mockMvc.perform(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/uploads/{jobId}", 1, 2, 42, "job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.steps.UPLOAD_FILE").value("COMPLETED"))
+                .andExpect(jsonPath("$.steps.CREATE_ASSET").value("RUNNING"));
+    }
+
     @Test
     void shouldRequestContract() throws Exception {
         // Create a tenant and participant
@@ -374,4 +602,42 @@ public class EdcDataControllerTest {
                         .content(objectMapper.writeValueAsString(contractRequest)))
                 .andExpect(status().isOk());
     }
+
+    private static String jsonPart(String name, String json) {
+        return "Content-Disposition: form-data; name=\"%s\"\r\nContent-Type: application/json\r\n\r\n%s".formatted(name, json);
+    }
+
+    private static String filePart(String content) {
+        return "Content-Disposition: form-data; name=\"file\"; filename=\"testdocument.pdf\"\r\nContent-Type: application/pdf\r\n\r\n" + content;
+    }
+
+    private static byte[] multipartBody(String... parts) {
+        var body = new StringBuilder();
+        for (var part : parts) {
+            body.append("--").append(BOUNDARY).append("\r\n").append(part).append("\r\n");
+        }
+        return body.append("--").append(BOUNDARY).append("--\r\n").toString().getBytes();
+    }
+
+    private Dispatcher uploadDispatcher(int policyStatus) {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if ("/dataplane/certs".equals(request.getPath())) {
+                    return new MockResponse()
+                            .setBody("{\"id\": \"generated-file-id-123\"}")
+                            .addHeader("Content-Type", "application/json");
+                }
+                if ("POST".equals(request.getMethod()) && request.getPath().endsWith("/policydefinitions")) {
+                    return new MockResponse().setResponseCode(policyStatus);
+                }
+                return new MockResponse().setResponseCode(200);
+            }
+        };
+    }
+
+    private UploadJobResource uploadJob(String status) {
+        return new UploadJobResource("job-1", status, Map.of("UPLOAD_FILE", "COMPLETED", "CREATE_ASSET", "RUNNING"), 1, null,
+                "testdocument.pdf", null, "2026-01-01T00:00:00", "2026-01-01T00:00:00");
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.api.controller;
+
+import com.metaformsystems.redline.api.dto.response.ProcessStateEvent;
+import com.metaformsystems.redline.domain.service.ProcessStateWatcher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class EdcEventControllerTest {
+    private static final String EVENTS_PATH = "/api/ui/service-providers/1/tenants/2/participants/3/events";
+
+    @MockitoBean
+    private ProcessStateWatcher processStateWatcher;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldStreamStateEvents() throws Exception {
+        when(processStateWatcher.watch(3L, List.of("cn-1"), List.of("tp-1"))).thenReturn(Flux.just(
+                new ProcessStateEvent(ProcessStateEvent.CONTRACT_NEGOTIATION, "cn-1", "FINALIZED", Instant.now()),
+                new ProcessStateEvent(ProcessStateEvent.TRANSFER_PROCESS, "tp-1", "STARTED", Instant.now())));
+
+        var result = mockMvc.perform(get(EVENTS_PATH)
+                        .param("contractNegotiationId", "cn-1")
+                        .param("transferProcessId", "tp-1")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("event:contract-negotiation\nid:cn-1\ndata:{\"type\":\"contract-negotiation\",\"id\":\"cn-1\",\"state\":\"FINALIZED\"")))
+                .andExpect(content().string(containsString("event:transfer-process\nid:tp-1\n")));
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenNoProcessGiven() throws Exception {
+        when(processStateWatcher.watch(3L, null, null)).thenThrow(new IllegalArgumentException("At least one contract negotiation or transfer process must be given"));
+
+        mockMvc.perform(get(EVENTS_PATH))
+                .andExpect(status().isBadRequest());
+    }
+}
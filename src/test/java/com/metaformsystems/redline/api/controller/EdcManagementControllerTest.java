@@ -0,0 +1,296 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metaformsystems.redline.application.service.TokenProvider;
+import com.metaformsystems.redline.domain.entity.ClientCredentials;
+import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.entity.ServiceProvider;
+import com.metaformsystems.redline.domain.entity.Tenant;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.repository.ServiceProviderRepository;
+import com.metaformsystems.redline.domain.repository.TenantRepository;
+import com.metaformsystems.redline.domain.service.WebDidResolver;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.TestSocketUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.InetAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@Transactional
+public class EdcManagementControllerTest {
+    static final String mockBackEndHost = "localhost";
+    static final int mockBackEndPort = TestSocketUtils.findAvailableTcpPort();
+    private MockWebServer mockWebServer;
+
+    @MockitoBean
+    private WebDidResolver webDidResolver;
+
+    @MockitoBean
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    private ServiceProvider serviceProvider;
+    private Tenant tenant;
+    private Participant participant;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("tenant-manager.url", () -> "http://%s:%s".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("vault.url", () -> "http://%s:%s/vault".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("dataplane.url", () -> "http://%s:%s/dataplane".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("dataplane.internal.url", () -> "http://%s:%s/dataplane".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("controlplane.url", () -> "http://%s:%s/controlplane".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("controlplane.query.page-size", () -> "2");
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serviceProvider = new ServiceProvider();
+        serviceProvider.setName("Test Provider");
+        serviceProvider = serviceProviderRepository.save(serviceProvider);
+
+        tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        participant.setClientCredentials(new ClientCredentials("test-client", "test-secret"));
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
+
+        mockWebServer = new MockWebServer();
+        mockWebServer.start(InetAddress.getByName(mockBackEndHost), mockBackEndPort);
+        when(tokenProvider.getTokenAsync(anyString(), anyString(), anyString())).thenReturn(Mono.just("test-token"));
+        when(webDidResolver.resolveProtocolEndpoints(anyString())).thenReturn("http://example.com/api");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (mockWebServer != null) {
+            mockWebServer.shutdown();
+        }
+    }
+
+    @Test
+    void shouldAnswerNotModified_whenCatalogMatchesETag() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        { "@id": "catalog-1", "@type": "dcat:Catalog", "dataset": [], "service": [] }
+                        """)
+                .addHeader("Content-Type", "application/json"));
+        var uri = "/api/ui/service-providers/%s/tenants/%s/participants/%s/catalog".formatted(serviceProvider.getId(), tenant.getId(), participant.getId());
+        var body = "{\"counterPartyIdentifier\": \"did:web:etag-provider\"}";
+
+        var etag = mockMvc.perform(post(uri).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.@id").value("catalog-1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+
+        mockMvc.perform(post(uri).contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(post(uri).contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                .andExpect(status().isOk());
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSearchDatasets_ofRequestedCatalog() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        {
+                          "@id": "catalog-1",
+                          "dataset": [
+                            { "@id": "weather", "edc:properties": { "description": "Hourly weather observations" } },
+                            { "@id": "traffic", "edc:properties": { "description": "Traffic counts" } }
+                          ]
+                        }
+                        """)
+                .addHeader("Content-Type", "application/json"));
+
+        mockMvc.perform(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/catalog/datasets",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .param("counterPartyId", "did:web:search-provider")
+                        .param("q", "weather"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.datasets[0].counterPartyId").value("did:web:search-provider"))
+                .andExpect(jsonPath("$.datasets[0].dataset.@id").value("weather"));
+
+        mockMvc.perform(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/catalog/datasets",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .param("filter", "id=traffic"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1));
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldListTransferProcesses_withQuery() throws Exception {
+        mockWebServer.enqueue(transferProcesses("tp-1"));
+
+        mockMvc.perform(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .param("offset", "10")
+                        .param("limit", "5")
+                        .param("sortField", "stateTimestamp")
+                        .param("sortOrder", "desc")
+                        .param("filter", "state=STARTED"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        var query = objectMapper.readTree(mockWebServer.takeRequest().getBody().readUtf8());
+        assertThat(query.get("offset").asInt()).isEqualTo(10);
+        assertThat(query.get("limit").asInt()).isEqualTo(5);
+        assertThat(query.get("sortOrder").asText()).isEqualTo("DESC");
+        assertThat(query.get("filterExpression").get(0).get("operandLeft").asText()).isEqualTo("state");
+        assertThat(query.get("filterExpression").get(0).get("operandRight").asText()).isEqualTo("STARTED");
+    }
+
+    @Test
+    void shouldListTransferProcesses_withDefaultLimit() throws Exception {
+        mockWebServer.enqueue(transferProcesses());
+
+        mockMvc.perform(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers",
+                        serviceProvider.getId(), tenant.getId(), participant.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        var query = objectMapper.readTree(mockWebServer.takeRequest().getBody().readUtf8());
+        assertThat(query.get("offset").asInt()).isZero();
+        assertThat(query.get("limit").asInt()).isEqualTo(50);
+    }
+
+    @Test
+    void shouldRejectInvalidFilter() throws Exception {
+        mockMvc.perform(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .param("filter", "STARTED"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldStreamTransferProcesses_pagingThroughControlPlane() throws Exception {
+        mockWebServer.enqueue(transferProcesses("tp-1", "tp-2"));
+        mockWebServer.enqueue(transferProcesses("tp-3", "tp-4"));
+        mockWebServer.enqueue(transferProcesses("tp-5"));
+
+        var result = mockMvc.perform(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(5);
+        assertThat(body.lines().map(line -> line.contains("\"assetId\":\"tp-")).toList()).containsOnly(true);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+        assertThat(objectMapper.readTree(mockWebServer.takeRequest().getBody().readUtf8()).get("offset").asInt()).isZero();
+        assertThat(objectMapper.readTree(mockWebServer.takeRequest().getBody().readUtf8()).get("offset").asInt()).isEqualTo(2);
+        assertThat(objectMapper.readTree(mockWebServer.takeRequest().getBody().readUtf8()).get("offset").asInt()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldStreamTransferProcesses_withinLimit() throws Exception {
+        mockWebServer.enqueue(transferProcesses("tp-1", "tp-2"));
+        mockWebServer.enqueue(transferProcesses("tp-3"));
+
+        var result = mockMvc.perform(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .param("limit", "3")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(3);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        mockWebServer.takeRequest();
+        assertThat(objectMapper.readTree(mockWebServer.takeRequest().getBody().readUtf8()).get("limit").asInt()).isEqualTo(1);
+    }
+
+    private MockResponse transferProcesses(String... ids) {
+        var body = new StringBuilder("[");
+        for (var i = 0; i < ids.length; i++) {
+            body.append(i > 0 ? "," : "").append("""
+                    { "assetId": "%s", "state": "STARTED", "type": "CONSUMER" }""".formatted(ids[i]));
+        }
+        return new MockResponse()
+                .setBody(body.append("]").toString())
+                .addHeader("Content-Type", "application/json");
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metaformsystems.redline.api.dto.request.ContractRequest;
+import com.metaformsystems.redline.application.service.TokenProvider;
+import com.metaformsystems.redline.domain.entity.ClientCredentials;
+import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.entity.ServiceProvider;
+import com.metaformsystems.redline.domain.entity.Tenant;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.repository.ServiceProviderRepository;
+import com.metaformsystems.redline.domain.repository.TenantRepository;
+import com.metaformsystems.redline.domain.service.WebDidResolver;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.TestSocketUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.InetAddress;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "reactive"})
+@Transactional
+public class ReactiveEdcManagementControllerTest {
+    static final String mockBackEndHost = "localhost";
+    static final int mockBackEndPort = TestSocketUtils.findAvailableTcpPort();
+    private MockWebServer mockWebServer;
+
+    @MockitoBean
+    private WebDidResolver webDidResolver;
+
+    @MockitoBean
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    private ServiceProvider serviceProvider;
+    private Tenant tenant;
+    private Participant participant;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("tenant-manager.url", () -> "http://%s:%s".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("vault.url", () -> "http://%s:%s/vault".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("dataplane.url", () -> "http://%s:%s/dataplane".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("dataplane.internal.url", () -> "http://%s:%s/dataplane".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("controlplane.url", () -> "http://%s:%s/controlplane".formatted(mockBackEndHost, mockBackEndPort));
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serviceProvider = new ServiceProvider();
+        serviceProvider.setName("Test Provider");
+        serviceProvider = serviceProviderRepository.save(serviceProvider);
+
+        tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        participant.setClientCredentials(new ClientCredentials("test-client", "test-secret"));
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
+
+        mockWebServer = new MockWebServer();
+        mockWebServer.start(InetAddress.getByName(mockBackEndHost), mockBackEndPort);
+        when(tokenProvider.getTokenAsync(anyString(), anyString(), anyString())).thenReturn(Mono.just("test-token"));
+        when(webDidResolver.resolveProtocolEndpoints(anyString())).thenReturn("http://example.com/api");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (mockWebServer != null) {
+            mockWebServer.shutdown();
+        }
+    }
+
+    @Test
+    void shouldListContracts() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        [
+                            { "@id": "negotiation-1", "type": "CONSUMER", "state": "FINALIZED", "counterPartyId": "did:web:provider", "contractAgreementId": "agreement-1" },
+                            { "@id": "negotiation-2", "type": "CONSUMER", "state": "REQUESTED", "counterPartyId": "did:web:provider" }
+                        ]
+                        """)
+                .addHeader("Content-Type", "application/json"));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        { "@id": "agreement-1", "providerId": "did:web:provider", "consumerId": "did:web:consumer", "assetId": "asset-1", "policy": { "@type": "Policy" } }
+                        """)
+                .addHeader("Content-Type", "application/json"));
+
+        performAsync(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/contracts",
+                serviceProvider.getId(), tenant.getId(), participant.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].assetId").value("asset-1"))
+                .andExpect(jsonPath("$[1].assetId").doesNotExist());
+    }
+
+    @Test
+    void shouldRequestContract() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"@id\" : \"negotiation-id-123\"}")
+                .addHeader("Content-Type", "application/json"));
+
+        var contractRequest = new ContractRequest();
+        contractRequest.setAssetId("asset-123");
+        contractRequest.setOfferId("offer-456");
+        contractRequest.setProviderId("did:web:provider-789");
+
+        performAsync(post("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/contracts",
+                serviceProvider.getId(), tenant.getId(), participant.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(contractRequest)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("negotiation-id-123"));
+    }
+
+    @Test
+    void shouldReturnNotFound_whenParticipantDoesNotExist() throws Exception {
+        performAsync(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers",
+                serviceProvider.getId(), tenant.getId(), -1L))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        var result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
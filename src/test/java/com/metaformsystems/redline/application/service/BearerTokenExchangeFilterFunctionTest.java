@@ -0,0 +1,195 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.application.service;
+
+import com.metaformsystems.redline.domain.entity.ClientCredentials;
+import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.service.ClientCredentialsRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.TestSocketUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.metaformsystems.redline.application.service.BearerTokenExchangeFilterFunction.clientCredentials;
+import static com.metaformsystems.redline.application.service.BearerTokenExchangeFilterFunction.participantContextId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("BearerTokenExchangeFilterFunction Tests")
+class BearerTokenExchangeFilterFunctionTest {
+
+    private static final String DEFAULT_SCOPES = "management-api:write management-api:read";
+    private static final String PARTICIPANT_CONTEXT_ID = "participant-123";
+
+    private final TokenProvider tokenProvider = mock();
+    private final ParticipantRepository participantRepository = mock();
+    private MockWebServer mockWebServer;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start(InetAddress.getByName("localhost"), TestSocketUtils.findAvailableTcpPort());
+
+        webClient = WebClient.builder()
+                .baseUrl(mockWebServer.url("/").toString())
+                .filter(new BearerTokenExchangeFilterFunction(tokenProvider, new ClientCredentialsRegistry(participantRepository), DEFAULT_SCOPES))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (mockWebServer != null) {
+            mockWebServer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("should add token of the participant's client credentials")
+    void filter_participantContextId() throws InterruptedException {
+        var participant = new Participant();
+        participant.setClientCredentials(new ClientCredentials("client-123", "client-secret"));
+        when(participantRepository.findByParticipantContextId(PARTICIPANT_CONTEXT_ID)).thenReturn(Optional.of(participant));
+        when(tokenProvider.getTokenAsync("client-123", "client-secret", DEFAULT_SCOPES)).thenReturn(Mono.just("participant-token"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+
+        webClient.get().uri("/test")
+                .attributes(participantContextId(PARTICIPANT_CONTEXT_ID))
+                .retrieve()
+                .toBodilessEntity()
+                .block();
+
+        assertEquals("Bearer participant-token", mockWebServer.takeRequest().getHeader("Authorization"));
+    }
+
+    @Test
+    @DisplayName("should load client credentials on the calling thread")
+    void filter_participantContextId_loadsOnCallingThread() {
+        var loadingThread = recordLoadingThread();
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+
+        webClient.get().uri("/test")
+                .attributes(participantContextId(PARTICIPANT_CONTEXT_ID))
+                .retrieve()
+                .toBodilessEntity()
+                .block();
+
+        assertEquals(Thread.currentThread().getName(), loadingThread.get());
+    }
+
+    @Test
+    @DisplayName("should load client credentials off non-blocking threads")
+    void filter_participantContextId_loadsOnBoundedElastic_whenSubscribedOnNonBlockingThread() {
+        var loadingThread = recordLoadingThread();
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+
+        webClient.get().uri("/test")
+                .attributes(participantContextId(PARTICIPANT_CONTEXT_ID))
+                .retrieve()
+                .toBodilessEntity()
+                .subscribeOn(Schedulers.parallel())
+                .block();
+
+        assertTrue(loadingThread.get().startsWith("boundedElastic"), loadingThread.get());
+    }
+
+    @Test
+    @DisplayName("should fail without sending the request when participant has no client credentials")
+    void filter_participantWithoutClientCredentials() {
+        when(participantRepository.findByParticipantContextId(PARTICIPANT_CONTEXT_ID)).thenReturn(Optional.of(new Participant()));
+
+        assertThrows(IllegalStateException.class, () -> webClient.get().uri("/test")
+                .attributes(participantContextId(PARTICIPANT_CONTEXT_ID))
+                .retrieve()
+                .toBodilessEntity()
+                .block());
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("should add token of explicit client credentials and scopes")
+    void filter_clientCredentials() throws InterruptedException {
+        when(tokenProvider.getTokenAsync("admin", "admin-secret", "identity-api:read")).thenReturn(Mono.just("admin-token"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+
+        webClient.get().uri("/test")
+                .attributes(clientCredentials(new ClientCredentials("admin", "admin-secret"), "identity-api:read"))
+                .retrieve()
+                .toBodilessEntity()
+                .block();
+
+        assertEquals("Bearer admin-token", mockWebServer.takeRequest().getHeader("Authorization"));
+        verify(participantRepository, never()).findByParticipantContextId(anyString());
+    }
+
+    @Test
+    @DisplayName("should pass requests without attributes unchanged")
+    void filter_noAttributes() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+
+        webClient.get().uri("/test")
+                .retrieve()
+                .toBodilessEntity()
+                .block();
+
+        assertNull(mockWebServer.takeRequest().getHeader("Authorization"));
+        verify(tokenProvider, never()).getTokenAsync(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("should fail without sending the request when participant is not found")
+    void filter_participantNotFound() {
+        when(participantRepository.findByParticipantContextId(PARTICIPANT_CONTEXT_ID)).thenReturn(Optional.empty());
+
+        assertThrows(ObjectNotFoundException.class, () -> webClient.get().uri("/test")
+                .attributes(participantContextId(PARTICIPANT_CONTEXT_ID))
+                .retrieve()
+                .toBodilessEntity()
+                .block());
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    private AtomicReference<String> recordLoadingThread() {
+        var participant = new Participant();
+        participant.setClientCredentials(new ClientCredentials("client-123", "client-secret"));
+        var loadingThread = new AtomicReference<String>();
+        when(participantRepository.findByParticipantContextId(PARTICIPANT_CONTEXT_ID)).thenAnswer(invocation -> {
+            loadingThread.set(Thread.currentThread().getName());
+            return Optional.of(participant);
+        });
+        when(tokenProvider.getTokenAsync("client-123", "client-secret", DEFAULT_SCOPES)).thenReturn(Mono.just("participant-token"));
+        return loadingThread;
+    }
+}
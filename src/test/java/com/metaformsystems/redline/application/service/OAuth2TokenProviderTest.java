@@ -25,6 +25,16 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -47,11 +57,7 @@ class OAuth2TokenProviderTest {
         mockWebServer = new MockWebServer();
         mockWebServer.start(InetAddress.getByName("localhost"), TestSocketUtils.findAvailableTcpPort());
 
-        var webClient = WebClient.builder()
-                .baseUrl(mockWebServer.url("/").toString())
-                .build();
-
-        tokenProvider = new OAuth2TokenProvider(webClient);
+        tokenProvider = new OAuth2TokenProvider(webClient());
     }
 
     @AfterEach
@@ -270,6 +276,122 @@ class OAuth2TokenProviderTest {
         assertEquals(3, mockWebServer.getRequestCount());
     }
 
+    @Test
+    @DisplayName("should reuse cached token until it is about to expire")
+    void getToken_cachedUntilExpiry() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .setBody("{\"access_token\": \"cached-token\", \"expires_in\": 3600}"));
+
+        var result1 = tokenProvider.getToken(CLIENT_ID, CLIENT_SECRET, SCOPES);
+        var result2 = tokenProvider.getToken(CLIENT_ID, CLIENT_SECRET, SCOPES);
+
+        assertEquals("cached-token", result1);
+        assertEquals("cached-token", result2);
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("should cache tokens per client and scopes")
+    void getToken_cachedPerScope() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .setBody("{\"access_token\": \"first-token\", \"expires_in\": 3600}"));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .setBody("{\"access_token\": \"second-token\", \"expires_in\": 3600}"));
+
+        assertEquals("first-token", tokenProvider.getToken(CLIENT_ID, CLIENT_SECRET, SCOPES));
+        assertEquals("second-token", tokenProvider.getToken(CLIENT_ID, CLIENT_SECRET, "read:only"));
+        assertEquals("first-token", tokenProvider.getToken(CLIENT_ID, CLIENT_SECRET, SCOPES));
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("should refresh token before it expires")
+    void getToken_refreshBeforeExpiry() {
+        var clock = new AtomicReference<>(Instant.parse("2026-01-01T00:00:00Z"));
+        tokenProvider = new OAuth2TokenProvider(webClient(), Duration.ofSeconds(30), new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return clock.get();
+            }
+        });
+
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .setBody("{\"access_token\": \"first-token\", \"expires_in\": 300}"));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .setBody("{\"access_token\": \"second-token\", \"expires_in\": 300}"));
+
+        assertEquals("first-token", tokenProvider.getToken(CLIENT_ID, CLIENT_SECRET, SCOPES));
+
+        clock.set(clock.get().plusSeconds(260));
+        assertEquals("first-token", tokenProvider.getToken(CLIENT_ID, CLIENT_SECRET, SCOPES));
+
+        // within the refresh skew of 30 seconds before expiry
+        clock.set(clock.get().plusSeconds(20));
+        assertEquals("second-token", tokenProvider.getToken(CLIENT_ID, CLIENT_SECRET, SCOPES));
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("should merge concurrent requests for the same client and scopes")
+    void getToken_concurrentRequestsShareOneGrant() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .setBodyDelay(200, TimeUnit.MILLISECONDS)
+                .setBody("{\"access_token\": \"shared-token\", \"expires_in\": 3600}"));
+
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var results = new ArrayList<Future<String>>();
+            for (var i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> tokenProvider.getToken(CLIENT_ID, CLIENT_SECRET, SCOPES)));
+            }
+            for (var result : results) {
+                assertEquals("shared-token", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("should not cache failed token requests")
+    void getToken_errorNotCached() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(400)
+                .addHeader("Content-Type", "application/json")
+                .setBody("{\"error\": \"invalid_client\"}"));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .setBody("{\"access_token\": \"recovered-token\", \"expires_in\": 3600}"));
+
+        assertThrows(Exception.class, () -> tokenProvider.getToken(CLIENT_ID, CLIENT_SECRET, SCOPES));
+        assertEquals("recovered-token", tokenProvider.getToken(CLIENT_ID, CLIENT_SECRET, SCOPES));
+    }
+
     @Test
     @DisplayName("should handle response with additional fields")
     void getToken_responseWithAdditionalFields() {
@@ -330,6 +452,28 @@ class OAuth2TokenProviderTest {
         );
     }
 
+    private WebClient webClient() {
+        return WebClient.builder()
+                .baseUrl(mockWebServer.url("/").toString())
+                .build();
+    }
+
+    @Test
+    @DisplayName("should request token lazily on subscription and share the cache with getToken")
+    void getTokenAsync_lazyAndShared() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .setBody("{\"access_token\": \"async-token\", \"expires_in\": 3600}"));
+
+        var mono = tokenProvider.getTokenAsync(CLIENT_ID, CLIENT_SECRET, SCOPES);
+        assertEquals(0, mockWebServer.getRequestCount());
+
+        assertEquals("async-token", mono.block(Duration.ofSeconds(5)));
+        assertEquals("async-token", tokenProvider.getToken(CLIENT_ID, CLIENT_SECRET, SCOPES));
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
     // Helper method to assert request body contains a substring
     private void assertRequestBodyContains(String requestBody, String expectedSubstring) {
         assertNotNull(requestBody, "Request body should not be null");
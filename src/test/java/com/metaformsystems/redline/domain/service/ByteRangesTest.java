@@ -0,0 +1,151 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.infrastructure.client.dataplane.dto.DownloadResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteRangesTest {
+
+    private static final String FILE = "0123456789abcdefghij";
+
+    private final AtomicInteger chunksRead = new AtomicInteger();
+
+    @Test
+    void shouldServeSingleRange_acrossChunks() {
+        var result = ByteRanges.apply(download(), "bytes=3-12", null);
+
+        assertThat(result.status()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(result.headers().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 3-12/20");
+        assertThat(result.headers().getContentLength()).isEqualTo(10);
+        assertThat(result.headers().getContentType()).isEqualTo(MediaType.TEXT_PLAIN);
+        assertThat(read(result)).isEqualTo("3456789abc");
+        assertThat(chunksRead).hasValue(3);
+    }
+
+    @Test
+    void shouldServeSuffixRange() {
+        var result = ByteRanges.apply(download(), "bytes=-5", null);
+
+        assertThat(result.status()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(result.headers().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 15-19/20");
+        assertThat(read(result)).isEqualTo("fghij");
+    }
+
+    @Test
+    void shouldServeMultipleRanges_asMultipart() {
+        var result = ByteRanges.apply(download(), "bytes=0-1,5-7,6-8,18-", null);
+
+        assertThat(result.status()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        var contentType = result.headers().getContentType();
+        assertThat(contentType.toString()).startsWith("multipart/byteranges");
+        var boundary = contentType.getParameter("boundary");
+        var body = read(result);
+        assertThat(body).isEqualTo("""
+                \r
+                --%1$s\r
+                Content-Type: text/plain\r
+                Content-Range: bytes 0-1/20\r
+                \r
+                01\r
+                --%1$s\r
+                Content-Type: text/plain\r
+                Content-Range: bytes 5-8/20\r
+                \r
+                5678\r
+                --%1$s\r
+                Content-Type: text/plain\r
+                Content-Range: bytes 18-19/20\r
+                \r
+                ij\r
+                --%1$s--\r
+                """.formatted(boundary));
+        assertThat(result.headers().getContentLength()).isEqualTo(body.length());
+    }
+
+    @Test
+    void shouldServeWholeFile_whenIfRangeDoesNotMatch() {
+        var result = ByteRanges.apply(download(), "bytes=3-12", "\"v2\"");
+
+        assertThat(result.status()).isEqualTo(HttpStatus.OK);
+        assertThat(result.headers().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(read(result)).isEqualTo(FILE);
+    }
+
+    @Test
+    void shouldServeRange_whenIfRangeMatches() {
+        assertThat(ByteRanges.apply(download(), "bytes=3-4", "\"v1\"").status()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(ByteRanges.apply(download(), "bytes=3-4", "Thu, 01 Jan 2026 00:00:00 GMT").status()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+    }
+
+    @Test
+    void shouldServeWholeFile_whenRangesAreNotAscending() {
+        var result = ByteRanges.apply(download(), "bytes=10-12,0-2", null);
+
+        assertThat(result.status()).isEqualTo(HttpStatus.OK);
+        assertThat(read(result)).isEqualTo(FILE);
+    }
+
+    @Test
+    void shouldServeWholeFile_whenRangeIsInvalid() {
+        var result = ByteRanges.apply(download(), "lines=1-2", null);
+
+        assertThat(result.status()).isEqualTo(HttpStatus.OK);
+        assertThat(read(result)).isEqualTo(FILE);
+    }
+
+    @Test
+    void shouldReject_whenNoRangeIsSatisfiable() {
+        var result = ByteRanges.apply(download(), "bytes=20-30", null);
+
+        assertThat(result.status()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(result.headers().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */20");
+        assertThat(read(result)).isEmpty();
+    }
+
+    private DownloadResponse download() {
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.TEXT_PLAIN);
+        headers.setContentLength(FILE.length());
+        headers.setETag("\"v1\"");
+        headers.set(HttpHeaders.LAST_MODIFIED, "Thu, 01 Jan 2026 00:00:00 GMT");
+        var content = Flux.range(0, 4)
+                .<DataBuffer>map(i -> DefaultDataBufferFactory.sharedInstance.wrap(FILE.substring(i * 5, i * 5 + 5).getBytes(StandardCharsets.US_ASCII)))
+                .doOnNext(buffer -> chunksRead.incrementAndGet());
+        return new DownloadResponse(HttpStatus.OK, headers, content);
+    }
+
+    private String read(DownloadResponse response) {
+        return DataBufferUtils.join(response.content())
+                .map(buffer -> {
+                    var text = buffer.toString(StandardCharsets.US_ASCII);
+                    DataBufferUtils.release(buffer);
+                    return text;
+                })
+                .defaultIfEmpty("")
+                .block();
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.NonBlocking;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogCacheTest {
+
+    private static final String PARTICIPANT_CONTEXT_ID = "participant-123";
+    private static final String COUNTER_PARTY = "did:web:them";
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-01-01T00:00:00Z"));
+    private final ReactiveManagementApiClient managementApiClient = mock();
+    private final SharedCatalogStore sharedCatalogStore = mock();
+    private final DatasetIndex datasetIndex = spy(new DatasetIndex());
+    private CatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CatalogCache(managementApiClient, sharedCatalogStore, datasetIndex, 10, Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofMinutes(1), new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        });
+    }
+
+    @Test
+    void shouldCacheForTtl() {
+        when(managementApiClient.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Mono.just(catalog("v1")), Mono.just(catalog("v2")));
+
+        assertThat(get(null)).isEqualTo("v1");
+        advance(Duration.ofMinutes(3));
+        assertThat(get(null)).isEqualTo("v1");
+
+        verify(managementApiClient, times(1)).getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY);
+    }
+
+    @Test
+    void shouldRefreshAhead_beforeExpiry() {
+        when(managementApiClient.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Mono.just(catalog("v1")), Mono.just(catalog("v2")));
+        get(null);
+
+        advance(Duration.ofMinutes(4).plusSeconds(30));
+        assertThat(get(null)).isEqualTo("v1");
+        awaitRefresh();
+        assertThat(get(null)).isEqualTo("v2");
+
+        verify(managementApiClient, times(2)).getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY);
+    }
+
+    @Test
+    void shouldServeStaleWhileRevalidating() {
+        when(managementApiClient.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Mono.just(catalog("v1")), Mono.just(catalog("v2")));
+        get(null);
+
+        advance(Duration.ofMinutes(5).plusSeconds(30));
+        assertThat(get(null)).isEqualTo("v1");
+        awaitRefresh();
+        assertThat(get(null)).isEqualTo("v2");
+    }
+
+    @Test
+    void shouldWaitForNewCatalog_whenTooStale() {
+        when(managementApiClient.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Mono.just(catalog("v1")), Mono.just(catalog("v2")));
+        get(null);
+
+        advance(Duration.ofMinutes(7));
+        assertThat(get(null)).isEqualTo("v2");
+    }
+
+    @Test
+    void shouldServeStale_withinMaxStale() {
+        when(managementApiClient.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Mono.just(catalog("v1")), Mono.just(catalog("v2")));
+        get(null);
+
+        advance(Duration.ofMinutes(15));
+        assertThat(get("max-stale=600")).isEqualTo("v1");
+        awaitRefresh();
+        assertThat(get("max-stale")).isEqualTo("v2");
+    }
+
+    @Test
+    void shouldReload_whenNoCacheOrMaxAgeExceeded() {
+        when(managementApiClient.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Mono.just(catalog("v1")), Mono.just(catalog("v2")), Mono.just(catalog("v3")));
+        get(null);
+
+        assertThat(get("no-cache")).isEqualTo("v2");
+        advance(Duration.ofSeconds(30));
+        assertThat(get("max-age=60")).isEqualTo("v2");
+        assertThat(get("max-age=10")).isEqualTo("v3");
+    }
+
+    @Test
+    void shouldShareConcurrentLoads() {
+        Sinks.One<Catalog> response = Sinks.one();
+        when(managementApiClient.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(response.asMono());
+
+        var first = cache.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY, null).toFuture();
+        var second = cache.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY, "no-cache").toFuture();
+        response.tryEmitValue(catalog("v1"));
+
+        assertThat(first.join().catalog().getId()).isEqualTo("v1");
+        assertThat(second.join().catalog().getId()).isEqualTo("v1");
+        verify(managementApiClient, times(1)).getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY);
+    }
+
+    @Test
+    void shouldKeepStaleCatalog_whenRefreshFails() {
+        when(managementApiClient.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY))
+                .thenReturn(Mono.just(catalog("v1")), Mono.error(new IllegalStateException("unavailable")), Mono.just(catalog("v2")));
+        get(null);
+
+        advance(Duration.ofMinutes(5).plusSeconds(10));
+        assertThat(get(null)).isEqualTo("v1");
+        awaitRefresh();
+        assertThat(get(null)).isEqualTo("v1");
+        awaitRefresh();
+        assertThat(get(null)).isEqualTo("v2");
+    }
+
+    @Test
+    void shouldLoadFromSharedStore_whenFetchedRecently() {
+        when(sharedCatalogStore.isEnabled()).thenReturn(true);
+        when(sharedCatalogStore.get(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY))
+                .thenReturn(Optional.of(new SharedCatalogStore.StoredCatalog(catalog("shared"), now.get().minus(Duration.ofMinutes(1)))));
+        when(managementApiClient.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Mono.just(catalog("v1")));
+
+        assertThat(get(null)).isEqualTo("shared");
+        verify(managementApiClient, never()).getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY);
+
+        assertThat(get("max-age=30")).isEqualTo("v1");
+    }
+
+    @Test
+    void shouldFetchAndShare_whenSharedCatalogTooOld() {
+        when(sharedCatalogStore.isEnabled()).thenReturn(true);
+        when(sharedCatalogStore.get(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY))
+                .thenReturn(Optional.of(new SharedCatalogStore.StoredCatalog(catalog("shared"), now.get().minus(Duration.ofMinutes(4).plusSeconds(30)))));
+        when(managementApiClient.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Mono.just(catalog("v1")));
+
+        assertThat(get(null)).isEqualTo("v1");
+
+        verify(sharedCatalogStore, timeout(1000)).put(eq(PARTICIPANT_CONTEXT_ID), eq(COUNTER_PARTY), any(Catalog.class), eq(now.get()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldEvict_whenInvalidatedByOtherReplica() {
+        var listener = ArgumentCaptor.forClass(BiConsumer.class);
+        verify(sharedCatalogStore).onInvalidation(listener.capture());
+        when(managementApiClient.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Mono.just(catalog("v1")), Mono.just(catalog("v2")));
+        get(null);
+
+        listener.getValue().accept(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY);
+
+        assertThat(get(null)).isEqualTo("v2");
+    }
+
+    @Test
+    void shouldTagCatalogsByContent() {
+        when(managementApiClient.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Mono.just(catalog("v1")), Mono.just(catalog("v1")), Mono.just(catalog("v2")));
+
+        var first = cache.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY, null).block();
+        advance(Duration.ofMinutes(1));
+        var same = cache.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY, "no-cache").block();
+        var changed = cache.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY, "no-cache").block();
+
+        assertThat(same.etag()).isEqualTo(first.etag());
+        assertThat(changed.etag()).isNotEqualTo(first.etag());
+        assertThat(first.matches(first.etag())).isTrue();
+        assertThat(first.matches("\"x\", " + first.etag().substring(2))).isTrue();
+        assertThat(first.matches("*")).isTrue();
+        assertThat(first.matches(changed.etag())).isFalse();
+        assertThat(first.matches(null)).isFalse();
+    }
+
+    @Test
+    void shouldIndexFetchedCatalogOffEventLoop() {
+        var indexingThread = new AtomicReference<Thread>();
+        doAnswer(invocation -> {
+            indexingThread.set(Thread.currentThread());
+            return invocation.callRealMethod();
+        }).when(datasetIndex).index(eq(PARTICIPANT_CONTEXT_ID), eq(COUNTER_PARTY), any(), any());
+        // parallel threads are non-blocking, like the event loop that emits the response of the connector
+        when(managementApiClient.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Mono.just(catalog("v1")).publishOn(Schedulers.parallel()));
+
+        assertThat(get(null)).isEqualTo("v1");
+
+        assertThat(indexingThread.get()).isNotInstanceOf(NonBlocking.class);
+        assertThat(indexingThread.get().getName()).startsWith("boundedElastic");
+    }
+
+    private String get(String cacheControl) {
+        return cache.getCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY, cacheControl).block().catalog().getId();
+    }
+
+    private void awaitRefresh() {
+        // fetched catalogs are processed on boundedElastic, so a background refresh completes after get() returned
+        await().atMost(Duration.ofSeconds(5)).until(() -> !cache.isLoading(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY));
+    }
+
+    private void advance(Duration duration) {
+        now.set(now.get().plus(duration));
+    }
+
+    private Catalog catalog(String id) {
+        var catalog = new Catalog();
+        catalog.setId(id);
+        return catalog;
+    }
+}
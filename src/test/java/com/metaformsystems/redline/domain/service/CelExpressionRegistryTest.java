@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.infrastructure.client.management.ManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CelExpressionRegistryTest {
+
+    private final ManagementApiClient managementApiClient = mock();
+    private final ReactiveManagementApiClient reactiveManagementApiClient = mock();
+    private final CelExpressionRegistry registry = new CelExpressionRegistry(managementApiClient, reactiveManagementApiClient, true, 100);
+
+    @Test
+    void shouldNotCreateExpressionsFoundAtWarmUp() {
+        when(reactiveManagementApiClient.queryCelExpressions(any())).thenReturn(Flux.just(expression("membership-expr")));
+
+        registry.warmUp();
+        registry.register(expression("membership-expr"));
+
+        verify(managementApiClient, never()).createCelExpression(any());
+    }
+
+    @Test
+    void shouldCreateUnknownExpressionOnce() {
+        var expression = expression("custom-expr");
+
+        registry.register(expression);
+        registry.register(expression);
+
+        verify(managementApiClient, times(1)).createCelExpression(expression);
+        assertThat(registry.isRegistered("custom-expr")).isTrue();
+    }
+
+    @Test
+    void shouldTreatConflictAsRegistered() {
+        var expression = expression("custom-expr");
+        doThrow(WebClientResponseException.create(409, "Conflict", HttpHeaders.EMPTY, new byte[0], null))
+                .when(managementApiClient).createCelExpression(expression);
+
+        registry.register(expression);
+        registry.register(expression);
+
+        verify(managementApiClient, times(1)).createCelExpression(expression);
+    }
+
+    @Test
+    void shouldCreateExpressions_whenWarmUpFails() {
+        when(reactiveManagementApiClient.queryCelExpressions(any())).thenReturn(Flux.error(new IllegalStateException("unavailable")));
+        var expression = expression("membership-expr");
+
+        registry.warmUp();
+        registry.register(expression);
+
+        verify(managementApiClient).createCelExpression(expression);
+    }
+
+    private CelExpression expression(String id) {
+        return CelExpression.Builder.aNewCelExpression()
+                .id(id)
+                .leftOperand("MembershipCredential")
+                .expression("true")
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.domain.entity.ClientCredentials;
+import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClientCredentialsRegistryTest {
+
+    private static final String PARTICIPANT_CONTEXT_ID = "participant-123";
+
+    private final ParticipantRepository participantRepository = mock();
+    private final ClientCredentialsRegistry registry = new ClientCredentialsRegistry(participantRepository);
+
+    @Test
+    void shouldLoadLazilyAndCache() {
+        var credentials = new ClientCredentials("client-123", "secret");
+        when(participantRepository.findByParticipantContextId(PARTICIPANT_CONTEXT_ID)).thenReturn(Optional.of(participant(credentials)));
+
+        assertThat(registry.getClientCredentials(PARTICIPANT_CONTEXT_ID)).isEqualTo(credentials);
+        assertThat(registry.getClientCredentials(PARTICIPANT_CONTEXT_ID)).isEqualTo(credentials);
+
+        verify(participantRepository, times(1)).findByParticipantContextId(PARTICIPANT_CONTEXT_ID);
+        assertThat(registry.getStats()).isEqualTo(new ClientCredentialsRegistry.Stats(1, 1, 1));
+    }
+
+    @Test
+    void shouldPublishMetrics() {
+        var meterRegistry = new SimpleMeterRegistry();
+        registry.bindTo(meterRegistry);
+        when(participantRepository.findByParticipantContextId(PARTICIPANT_CONTEXT_ID)).thenReturn(Optional.of(participant(new ClientCredentials("client-123", "secret"))));
+
+        registry.getClientCredentials(PARTICIPANT_CONTEXT_ID);
+        registry.getClientCredentials(PARTICIPANT_CONTEXT_ID);
+        registry.getClientCredentials(PARTICIPANT_CONTEXT_ID);
+
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "client-credentials", "result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "client-credentials", "result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").tags("cache", "client-credentials").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheMissingCredentials() {
+        var credentials = new ClientCredentials("client-123", "secret");
+        when(participantRepository.findByParticipantContextId(PARTICIPANT_CONTEXT_ID))
+                .thenReturn(Optional.of(participant(null)))
+                .thenReturn(Optional.of(participant(credentials)));
+
+        assertThat(registry.getClientCredentials(PARTICIPANT_CONTEXT_ID)).isNull();
+        assertThat(registry.getClientCredentials(PARTICIPANT_CONTEXT_ID)).isEqualTo(credentials);
+    }
+
+    @Test
+    void shouldThrow_whenParticipantNotFound() {
+        when(participantRepository.findByParticipantContextId(PARTICIPANT_CONTEXT_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> registry.getClientCredentials(PARTICIPANT_CONTEXT_ID))
+                .isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    void shouldReplaceAndInvalidate() {
+        var stale = new ClientCredentials("client-123", "stale");
+        var fresh = new ClientCredentials("client-123", "fresh");
+        when(participantRepository.findByParticipantContextId(PARTICIPANT_CONTEXT_ID)).thenReturn(Optional.of(participant(stale)));
+
+        registry.getClientCredentials(PARTICIPANT_CONTEXT_ID);
+        registry.update(PARTICIPANT_CONTEXT_ID, fresh);
+        assertThat(registry.getClientCredentials(PARTICIPANT_CONTEXT_ID)).isEqualTo(fresh);
+
+        registry.invalidate(PARTICIPANT_CONTEXT_ID);
+        assertThat(registry.getClientCredentials(PARTICIPANT_CONTEXT_ID)).isEqualTo(stale);
+        verify(participantRepository, times(2)).findByParticipantContextId(PARTICIPANT_CONTEXT_ID);
+    }
+
+    private Participant participant(ClientCredentials credentials) {
+        var participant = new Participant();
+        participant.setParticipantContextId(PARTICIPANT_CONTEXT_ID);
+        participant.setClientCredentials(credentials);
+        return participant;
+    }
+}
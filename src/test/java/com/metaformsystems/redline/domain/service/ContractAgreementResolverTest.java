@@ -0,0 +1,156 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.domain.entity.SignedAgreement;
+import com.metaformsystems.redline.domain.repository.SignedAgreementRepository;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractAgreement;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContractAgreementResolverTest {
+
+    private static final String PARTICIPANT_CONTEXT_ID = "participant-123";
+
+    private final ReactiveManagementApiClient managementApiClient = mock();
+    private final SignedAgreementRepository signedAgreementRepository = mock();
+    private final ContractAgreementResolver resolver = new ContractAgreementResolver(managementApiClient, signedAgreementRepository, 8, Duration.ofSeconds(5));
+
+    @Test
+    void shouldFetchAgreementsConcurrentlyAndKeepOrder() {
+        var inFlight = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+        for (var i = 0; i < 6; i++) {
+            // later negotiations complete first, the result must still be in the original order
+            var agreement = Mono.delay(Duration.ofMillis(300 - i * 40L))
+                    .map(x -> agreement())
+                    .doOnSubscribe(s -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                    .doOnTerminate(inFlight::decrementAndGet);
+            when(managementApiClient.getAgreement(PARTICIPANT_CONTEXT_ID, "negotiation-" + i)).thenReturn(agreement);
+        }
+        var resolver = new ContractAgreementResolver(managementApiClient, signedAgreementRepository, 3, Duration.ofSeconds(5));
+
+        var result = resolver.resolveAgreements(PARTICIPANT_CONTEXT_ID, Flux.range(0, 6).map(i -> negotiation("negotiation-" + i, "agreement-" + i)))
+                .collectList()
+                .block();
+
+        assertThat(result).extracting(ContractNegotiation::getId)
+                .containsExactly("negotiation-0", "negotiation-1", "negotiation-2", "negotiation-3", "negotiation-4", "negotiation-5");
+        assertThat(result).allMatch(cn -> cn.getContractAgreement() != null);
+        assertThat(maxInFlight.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReturnPartialResults_whenLookupFailsOrTimesOut() {
+        when(managementApiClient.getAgreement(PARTICIPANT_CONTEXT_ID, "negotiation-1")).thenReturn(Mono.just(agreement()));
+        when(managementApiClient.getAgreement(PARTICIPANT_CONTEXT_ID, "negotiation-2")).thenReturn(Mono.error(new IllegalStateException("boom")));
+        when(managementApiClient.getAgreement(PARTICIPANT_CONTEXT_ID, "negotiation-3")).thenReturn(Mono.never());
+        var resolver = new ContractAgreementResolver(managementApiClient, signedAgreementRepository, 8, Duration.ofMillis(100));
+
+        var result = resolver.resolveAgreements(PARTICIPANT_CONTEXT_ID, Flux.just(
+                        negotiation("negotiation-1", "agreement-1"),
+                        negotiation("negotiation-2", "agreement-2"),
+                        negotiation("negotiation-3", "agreement-3"),
+                        negotiation("negotiation-4", null)))
+                .collectList()
+                .block();
+
+        assertThat(result).hasSize(4);
+        assertThat(result.get(0).getContractAgreement()).isNotNull();
+        assertThat(result.get(1).getContractAgreement()).isNull();
+        assertThat(result.get(2).getContractAgreement()).isNull();
+        assertThat(result.get(3).getContractAgreement()).isNull();
+    }
+
+    @Test
+    void shouldServeSignedAgreementsFromStore() {
+        var signedAgreement = new SignedAgreement();
+        signedAgreement.setNegotiationId("negotiation-1");
+        signedAgreement.setContractAgreementId("agreement-1");
+        signedAgreement.setAssetId("asset-1");
+        when(signedAgreementRepository.findByParticipantContextIdAndNegotiationIdIn(PARTICIPANT_CONTEXT_ID, List.of("negotiation-1"))).thenReturn(List.of(signedAgreement));
+
+        var result = resolver.resolveAgreements(PARTICIPANT_CONTEXT_ID, Flux.just(finalized("negotiation-1", "agreement-1")))
+                .blockFirst();
+
+        assertThat(result.getContractAgreement().getAssetId()).isEqualTo("asset-1");
+        verify(managementApiClient, never()).getAgreement(anyString(), anyString());
+    }
+
+    @Test
+    void shouldStoreFetchedAgreementsOfFinalizedNegotiationsOnly() {
+        when(signedAgreementRepository.findByParticipantContextIdAndNegotiationIdIn(anyString(), anyCollection())).thenReturn(List.of());
+        when(managementApiClient.getAgreement(anyString(), anyString())).thenAnswer(invocation -> Mono.just(agreement()));
+
+        resolver.resolveAgreements(PARTICIPANT_CONTEXT_ID, Flux.just(finalized("negotiation-1", "agreement-1"), negotiation("negotiation-2", "agreement-2")))
+                .collectList()
+                .block();
+
+        var captor = ArgumentCaptor.forClass(SignedAgreement.class);
+        verify(signedAgreementRepository, times(1)).save(captor.capture());
+        assertThat(captor.getValue().getParticipantContextId()).isEqualTo(PARTICIPANT_CONTEXT_ID);
+        assertThat(captor.getValue().getNegotiationId()).isEqualTo("negotiation-1");
+    }
+
+    @Test
+    void shouldWarmUpFinalizedNegotiationOnce() {
+        when(signedAgreementRepository.existsByParticipantContextIdAndNegotiationId(PARTICIPANT_CONTEXT_ID, "negotiation-1"))
+                .thenReturn(false)
+                .thenReturn(true);
+        when(managementApiClient.getAgreement(PARTICIPANT_CONTEXT_ID, "negotiation-1")).thenReturn(Mono.just(agreement()));
+
+        resolver.warmUp(PARTICIPANT_CONTEXT_ID, finalized("negotiation-1", "agreement-1")).block();
+        resolver.warmUp(PARTICIPANT_CONTEXT_ID, finalized("negotiation-1", "agreement-1")).block();
+        resolver.warmUp(PARTICIPANT_CONTEXT_ID, negotiation("negotiation-2", "agreement-2")).block();
+
+        verify(managementApiClient, times(1)).getAgreement(anyString(), anyString());
+        verify(signedAgreementRepository, times(1)).save(any());
+    }
+
+    private ContractNegotiation finalized(String id, String agreementId) {
+        var negotiation = negotiation(id, agreementId);
+        negotiation.setState("FINALIZED");
+        return negotiation;
+    }
+
+    private ContractNegotiation negotiation(String id, String agreementId) {
+        var negotiation = new ContractNegotiation();
+        negotiation.setId(id);
+        negotiation.setContractAgreementId(agreementId);
+        return negotiation;
+    }
+
+    private ContractAgreement agreement() {
+        return new ContractAgreement();
+    }
+}
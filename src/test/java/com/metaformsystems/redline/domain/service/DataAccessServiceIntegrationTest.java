@@ -26,34 +26,47 @@ import com.metaformsystems.redline.domain.repository.DataspaceRepository;
 import com.metaformsystems.redline.domain.repository.ParticipantRepository;
 import com.metaformsystems.redline.domain.repository.ServiceProviderRepository;
 import com.metaformsystems.redline.domain.repository.TenantRepository;
+import com.metaformsystems.redline.infrastructure.client.dataplane.dto.DownloadResponse;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Constraint;
 import com.metaformsystems.redline.infrastructure.client.management.dto.ContractRequest;
 import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Obligation;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Offer;
 import com.metaformsystems.redline.infrastructure.client.management.dto.PolicySet;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.util.TestSocketUtils;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -97,6 +110,8 @@ class DataAccessServiceIntegrationTest {
         registry.add("controlplane.url", () -> "http://%s:%s/cp".formatted(mockBackEndHost, mockBackEndPort));
         registry.add("dataplane.url", () -> "http://%s:%s/dataplane".formatted(mockBackEndHost, mockBackEndPort));
         registry.add("dataplane.internal.url", () -> "http://%s:%s/dataplane".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("downloads.cache.enabled", () -> "true");
+        registry.add("downloads.cache.directory", () -> Path.of(System.getProperty("java.io.tmpdir"), "redline-downloads-" + UUID.randomUUID()).toString());
     }
 
     @AfterEach
@@ -119,7 +134,7 @@ class DataAccessServiceIntegrationTest {
 
         mockWebServer = new MockWebServer();
         mockWebServer.start(InetAddress.getByName(mockBackEndHost), mockBackEndPort);
-        when(tokenProvider.getToken(anyString(), anyString(), anyString())).thenReturn("mock-token");
+        when(tokenProvider.getTokenAsync(anyString(), anyString(), anyString())).thenReturn(Mono.just("mock-token"));
     }
 
     @Test
@@ -160,28 +175,9 @@ class DataAccessServiceIntegrationTest {
     }
 
     @Test
-    void shouldUploadFileWithCelExpressionsAndConstraints() {
+    void shouldUploadFileWithCelExpressionsAndConstraints() throws InterruptedException {
         var participant = createAndSaveParticipant("ctx-upload-1", "did:web:me");
-
-        // dataplane upload response
-        mockWebServer.enqueue(new MockResponse()
-                .setBody("{\"id\": \"generated-file-id-123\"}")
-                .addHeader("Content-Type", "application/json"));
-
-        // custom CEL expression
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
-        // asset creation
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
-        // membership CEL expression
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
-        // policy creation
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
-        // contract definition
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        mockWebServer.setDispatcher(uploadDispatcher(200));
 
         var celExpressions = List.of(CelExpression.Builder.aNewCelExpression()
                 .id("custom-expression")
@@ -198,7 +194,7 @@ class DataAccessServiceIntegrationTest {
                 participant.getId(),
                 new java.util.HashMap<>(Map.of("foo", "bar")),
                 new java.util.HashMap<>(Map.of("private", "value")),
-                new java.io.ByteArrayInputStream("file-data".getBytes()),
+                new ByteArrayResource("file-data".getBytes()),
                 "text/plain",
                 "file.txt",
                 celExpressions,
@@ -208,6 +204,96 @@ class DataAccessServiceIntegrationTest {
         assertThat(participantRepository.findById(participant.getId()))
                 .isPresent()
                 .hasValueSatisfying(p -> assertThat(p.getUploadedFiles()).hasSize(1));
+
+        var requests = takeRequests();
+        // the membership expression is only created if no earlier upload has created it
+        assertThat(requests).contains("POST /cp/v4alpha/celexpressions");
+        assertThat(requests).filteredOn(request -> !request.endsWith("/celexpressions")).containsExactlyInAnyOrder(
+                "POST /dataplane/certs",
+                "POST /cp/v4alpha/participants/ctx-upload-1/assets",
+                "POST /cp/v4alpha/participants/ctx-upload-1/policydefinitions",
+                "POST /cp/v4alpha/participants/ctx-upload-1/contractdefinitions");
+        // the policy constraints need the CEL expressions, the contract definition needs the asset and the policy
+        assertThat(requests.lastIndexOf("POST /cp/v4alpha/celexpressions"))
+                .isLessThan(requests.indexOf("POST /cp/v4alpha/participants/ctx-upload-1/policydefinitions"));
+        assertThat(requests.getLast()).isEqualTo("POST /cp/v4alpha/participants/ctx-upload-1/contractdefinitions");
+    }
+
+    @Test
+    void shouldReuseFile_whenSameContentWasUploadedBefore() throws InterruptedException {
+        var participant = createAndSaveParticipant("ctx-upload-3", "did:web:me");
+        mockWebServer.setDispatcher(uploadDispatcher(200));
+
+        for (var i = 0; i < 2; i++) {
+            dataAccessService.uploadFileForParticipant(
+                    participant.getId(),
+                    new java.util.HashMap<>(Map.of("foo", "bar")),
+                    new java.util.HashMap<>(),
+                    new ByteArrayResource("file-data".getBytes()),
+                    "text/plain",
+                    "file.txt",
+                    List.of(),
+                    null
+            );
+        }
+
+        assertThat(participantRepository.findById(participant.getId()))
+                .hasValueSatisfying(p -> assertThat(p.getUploadedFiles())
+                        .hasSize(2)
+                        .allSatisfy(file -> {
+                            assertThat(file.getFileId()).isEqualTo("generated-file-id-123");
+                            // SHA-256 of "file-data"
+                            assertThat(file.getContentHash()).isEqualTo("8e6537b695ff181bc341e32d8b8970485ac3513408e5eb1e8ba9fc5af1cd3f57");
+                        }));
+        var requests = takeRequests();
+        assertThat(requests).filteredOn("POST /dataplane/certs"::equals).hasSize(1);
+        assertThat(requests).filteredOn(request -> request.endsWith("/assets")).hasSize(2);
+        assertThat(requests).filteredOn(request -> request.endsWith("/contractdefinitions")).hasSize(2);
+    }
+
+    @Test
+    void shouldUploadFileAgain_whenSameContentHasOtherMetadata() throws InterruptedException {
+        var participant = createAndSaveParticipant("ctx-upload-4", "did:web:me");
+        mockWebServer.setDispatcher(uploadDispatcher(200));
+
+        for (var privateValue : List.of("first", "second")) {
+            dataAccessService.uploadFileForParticipant(
+                    participant.getId(),
+                    new java.util.HashMap<>(Map.of("foo", "bar")),
+                    new java.util.HashMap<>(Map.of("private", privateValue)),
+                    new ByteArrayResource("file-data".getBytes()),
+                    "text/plain",
+                    "file.txt",
+                    List.of(),
+                    null
+            );
+        }
+
+        // the metadata is stored with the file on the data plane, so it cannot be reused for other metadata
+        assertThat(takeRequests()).filteredOn("POST /dataplane/certs"::equals).hasSize(2);
+    }
+
+    @Test
+    void shouldDeleteAssetAndPolicy_whenContractDefinitionFails() throws InterruptedException {
+        var participant = createAndSaveParticipant("ctx-upload-2", "did:web:me");
+        mockWebServer.setDispatcher(uploadDispatcher(409));
+
+        assertThatThrownBy(() -> dataAccessService.uploadFileForParticipant(
+                participant.getId(),
+                new java.util.HashMap<>(Map.of("foo", "bar")),
+                new java.util.HashMap<>(),
+                new ByteArrayResource("file-data".getBytes()),
+                "text/plain",
+                "file.txt",
+                List.of(),
+                null
+        )).isInstanceOf(WebClientResponseException.Conflict.class);
+
+        assertThat(takeRequests())
+                .anyMatch(request -> request.matches("DELETE /cp/v4alpha/participants/[^/]+/assets/.+"))
+                .anyMatch(request -> request.matches("DELETE /cp/v4alpha/participants/[^/]+/policydefinitions/.+"));
+        assertThat(participantRepository.findById(participant.getId()))
+                .hasValueSatisfying(p -> assertThat(p.getUploadedFiles()).isEmpty());
     }
 
     @Test
@@ -346,6 +432,73 @@ class DataAccessServiceIntegrationTest {
         assertThat(request.getMethod()).isEqualTo("POST");
     }
 
+    private Dispatcher uploadDispatcher(int contractDefinitionStatus) {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if ("/dataplane/certs".equals(request.getPath())) {
+                    return new MockResponse()
+                            .setBody("{\"id\": \"generated-file-id-123\"}")
+                            .addHeader("Content-Type", "application/json");
+                }
+                if (request.getPath().endsWith("/contractdefinitions")) {
+                    return new MockResponse().setResponseCode(contractDefinitionStatus);
+                }
+                return new MockResponse().setResponseCode(200);
+            }
+        };
+    }
+
+    private List<String> takeRequests() throws InterruptedException {
+        var requests = new ArrayList<String>();
+        for (var i = 0; i < mockWebServer.getRequestCount(); i++) {
+            var request = mockWebServer.takeRequest();
+            requests.add(request.getMethod() + " " + request.getPath());
+        }
+        return requests;
+    }
+
+    @Test
+    void shouldServeCachedDownload_whenNotModified() throws InterruptedException {
+        var participant = createAndSaveParticipant("ctx-1", "did:web:me");
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("downloaded file content")
+                .addHeader("Content-Type", "application/pdf")
+                .addHeader("ETag", "\"v1\""));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(304).addHeader("ETag", "\"v1\""));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(304).addHeader("ETag", "\"v1\""));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(403));
+
+        assertThat(read(dataAccessService.downloadData(participant.getId(), "file-123", "edr-token", null, null))).isEqualTo("downloaded file content");
+        assertThat(mockWebServer.takeRequest().getHeader("If-None-Match")).isNull();
+
+        var cached = dataAccessService.downloadData(participant.getId(), "file-123", "edr-token", null, null);
+        assertThat(cached.status()).isEqualTo(HttpStatus.OK);
+        assertThat(cached.headers().getContentType()).isEqualTo(MediaType.APPLICATION_PDF);
+        assertThat(read(cached)).isEqualTo("downloaded file content");
+        var revalidation = mockWebServer.takeRequest();
+        assertThat(revalidation.getHeader("If-None-Match")).isEqualTo("\"v1\"");
+        assertThat(revalidation.getHeader("Authorization")).isEqualTo("edr-token");
+
+        var range = dataAccessService.downloadData(participant.getId(), "file-123", "edr-token", "bytes=11-14", null);
+        assertThat(range.status()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(read(range)).isEqualTo("file");
+        assertThat(mockWebServer.takeRequest().getHeader("Range")).isNull();
+
+        assertThatThrownBy(() -> dataAccessService.downloadData(participant.getId(), "file-123", "other-token", null, null))
+                .isInstanceOf(WebClientResponseException.Forbidden.class);
+    }
+
+    private String read(DownloadResponse download) {
+        return DataBufferUtils.join(download.content())
+                .map(buffer -> {
+                    var text = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return text;
+                })
+                .block();
+    }
+
     private Participant createAndSaveParticipant(String contextId, String identifier) {
         var p = new Participant();
         p.setParticipantContextId(contextId);
@@ -357,6 +510,7 @@ class DataAccessServiceIntegrationTest {
             t.setServiceProvider(serviceProvider);
             return tenantRepository.save(t);
         }));
-        return participantRepository.save(p);
+        p = participantRepository.save(p);
+        return p;
     }
 }
@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.api.dto.response.CatalogDataset;
+import com.metaformsystems.redline.api.dto.response.DatasetSearchResult;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Constraint;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Criterion;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Dataset;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Offer;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Permission;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatasetIndexTest {
+
+    private static final String PARTICIPANT_CONTEXT_ID = "participant-123";
+    private static final String PROVIDER_A = "did:web:provider-a";
+    private static final String PROVIDER_B = "did:web:provider-b";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final DatasetIndex index = new DatasetIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.index(PARTICIPANT_CONTEXT_ID, PROVIDER_A, catalog(
+                dataset("weather", Map.of("https://w3id.org/edc/v0.0.1/ns/description", "Hourly weather observations", "contenttype", "text/csv"), "use"),
+                dataset("traffic", Map.of("description", "Traffic counts per road segment", "contenttype", "application/json"), "use")), NOW);
+        index.index(PARTICIPANT_CONTEXT_ID, PROVIDER_B, catalog(
+                dataset("weather-forecast", Map.of("dct:description", "Weather forecasts for Europe", "contenttype", "application/json"), "distribute")), NOW);
+    }
+
+    @Test
+    void shouldFilterByProperty_caseInsensitively() {
+        assertThat(ids(index.search(PARTICIPANT_CONTEXT_ID, null, null, query(0, 50, null, null, "ContentType=APPLICATION/JSON"))))
+                .containsExactly("traffic", "weather-forecast");
+        assertThat(ids(index.search(PARTICIPANT_CONTEXT_ID, null, null, query(0, 50, null, null, "id=weather"))))
+                .containsExactly("weather");
+    }
+
+    @Test
+    void shouldFilterByOfferFields() {
+        assertThat(ids(index.search(PARTICIPANT_CONTEXT_ID, null, null, query(0, 50, null, null, "policy.permission.action=distribute"))))
+                .containsExactly("weather-forecast");
+        assertThat(ids(index.search(PARTICIPANT_CONTEXT_ID, null, null, query(0, 50, null, null,
+                "policy.permission.constraint.leftOperand=purpose", "policy.permission.constraint.rightOperand=research"))))
+                .containsExactly("traffic", "weather", "weather-forecast");
+    }
+
+    @Test
+    void shouldMatchAllWordsOfDescriptions_byPrefix() {
+        assertThat(ids(index.search(PARTICIPANT_CONTEXT_ID, null, "weath", query(0, 50, null, null)))).containsExactly("weather", "weather-forecast");
+        assertThat(ids(index.search(PARTICIPANT_CONTEXT_ID, null, "Weather europe", query(0, 50, null, null)))).containsExactly("weather-forecast");
+        assertThat(ids(index.search(PARTICIPANT_CONTEXT_ID, null, "weather road", query(0, 50, null, null)))).isEmpty();
+    }
+
+    @Test
+    void shouldSearchGivenCounterPartiesOnly() {
+        assertThat(ids(index.search(PARTICIPANT_CONTEXT_ID, List.of(PROVIDER_B), null, query(0, 50, null, null)))).containsExactly("weather-forecast");
+        assertThat(ids(index.search(PARTICIPANT_CONTEXT_ID, List.of("did:web:unknown"), null, query(0, 50, null, null)))).isEmpty();
+        assertThat(ids(index.search("other-participant", null, null, query(0, 50, null, null)))).isEmpty();
+    }
+
+    @Test
+    void shouldSortAndPage() {
+        var result = index.search(PARTICIPANT_CONTEXT_ID, null, null, query(1, 1, "id", "DESC"));
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(ids(result)).containsExactly("weather");
+        assertThat(result.datasets().getFirst().counterPartyId()).isEqualTo(PROVIDER_A);
+    }
+
+    @Test
+    void shouldReplaceAndRemoveCatalogs() {
+        index.index(PARTICIPANT_CONTEXT_ID, PROVIDER_A, catalog(dataset("soil", Map.of("description", "Soil moisture"), "use")), NOW.plusSeconds(60));
+        index.index(PARTICIPANT_CONTEXT_ID, PROVIDER_A, catalog(dataset("outdated", Map.of(), "use")), NOW);
+
+        assertThat(ids(index.search(PARTICIPANT_CONTEXT_ID, List.of(PROVIDER_A), null, query(0, 50, null, null)))).containsExactly("soil");
+        assertThat(ids(index.search(PARTICIPANT_CONTEXT_ID, null, "weather", query(0, 50, null, null)))).containsExactly("weather-forecast");
+
+        index.remove(PARTICIPANT_CONTEXT_ID, PROVIDER_B);
+        assertThat(ids(index.search(PARTICIPANT_CONTEXT_ID, null, null, query(0, 50, null, null)))).containsExactly("soil");
+    }
+
+    private List<String> ids(DatasetSearchResult result) {
+        return result.datasets().stream().map(CatalogDataset::dataset).map(Dataset::getId).toList();
+    }
+
+    private QuerySpec query(int offset, int limit, String sortField, String sortOrder, String... filters) {
+        return QuerySpec.Builder.aQuerySpecDto()
+                .offset(offset)
+                .limit(limit)
+                .sortField(sortField)
+                .sortOrder(sortOrder)
+                .filterExpression(Arrays.stream(filters)
+                        .map(filter -> filter.split("=", 2))
+                        .map(parts -> new Criterion(parts[0], "=", parts[1]))
+                        .toList())
+                .build();
+    }
+
+    private Catalog catalog(Dataset... datasets) {
+        var catalog = new Catalog();
+        catalog.setDataset(List.of(datasets));
+        return catalog;
+    }
+
+    private Dataset dataset(String id, Map<String, Object> properties, String action) {
+        var dataset = new Dataset();
+        dataset.setId(id);
+        dataset.setProperties(properties);
+        dataset.setHasPolicy(List.of(Offer.Builder.anOffer()
+                .id(id + "-offer")
+                .permission(List.of(Permission.Builder.aPermission()
+                        .action(action)
+                        .constraint(List.of(new Constraint("purpose", "eq", "research")))
+                        .build()))
+                .build()));
+        return dataset;
+    }
+}
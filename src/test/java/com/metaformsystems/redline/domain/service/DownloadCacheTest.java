@@ -0,0 +1,161 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.infrastructure.client.dataplane.dto.DownloadResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DownloadCacheTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldCacheCompleteDownload() throws IOException {
+        var cache = new DownloadCache(true, directory.toString(), DataSize.ofBytes(100));
+
+        assertThat(read(cache.store("file-1", download("0123456789", "\"v1\"")))).isEqualTo("0123456789");
+
+        var cached = cache.get("file-1");
+        assertThat(cached).isPresent();
+        var cachedDownload = cached.get().toDownload();
+        assertThat(cachedDownload.status()).isEqualTo(HttpStatus.OK);
+        assertThat(cachedDownload.headers().getContentType()).isEqualTo(MediaType.TEXT_PLAIN);
+        assertThat(cachedDownload.headers().getContentLength()).isEqualTo(10);
+        assertThat(read(cachedDownload)).isEqualTo("0123456789");
+
+        var requestHeaders = new HttpHeaders();
+        cached.get().addConditions(requestHeaders);
+        assertThat(requestHeaders.getIfNoneMatch()).containsExactly("\"v1\"");
+    }
+
+    @Test
+    void shouldNotCache_whenDownloadIsCancelled() throws IOException {
+        var cache = new DownloadCache(true, directory.toString(), DataSize.ofBytes(100));
+
+        cache.store("file-1", download("0123456789", "\"v1\"")).content().take(1).map(DataBufferUtils::release).blockLast();
+
+        assertThat(cache.get("file-1")).isEmpty();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldNotCache_withoutValidator() throws IOException {
+        var cache = new DownloadCache(true, directory.toString(), DataSize.ofBytes(100));
+
+        read(cache.store("file-1", download("0123456789", null)));
+
+        assertThat(cache.get("file-1")).isEmpty();
+    }
+
+    @Test
+    void shouldReplacePreviousVersion() throws IOException {
+        var cache = new DownloadCache(true, directory.toString(), DataSize.ofBytes(100));
+        read(cache.store("file-1", download("0123456789", "\"v1\"")));
+
+        var download = cache.store("file-1", download("abcdefghij", "\"v2\""));
+        assertThat(cache.get("file-1")).isEmpty();
+
+        read(download);
+        assertThat(read(cache.get("file-1").orElseThrow().toDownload())).isEqualTo("abcdefghij");
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsed() throws IOException {
+        var cache = new DownloadCache(true, directory.toString(), DataSize.ofBytes(25));
+        read(cache.store("file-1", download("0123456789", "\"v1\"")));
+        read(cache.store("file-2", download("0123456789", "\"v1\"")));
+        cache.get("file-1");
+
+        read(cache.store("file-3", download("0123456789", "\"v1\"")));
+
+        assertThat(cache.get("file-1")).isPresent();
+        assertThat(cache.get("file-2")).isEmpty();
+        assertThat(cache.get("file-3")).isPresent();
+        try (var files = Files.list(directory)) {
+            assertThat(files).hasSize(2);
+        }
+    }
+
+    @Test
+    void shouldNotCache_whenLargerThanBudget() throws IOException {
+        var cache = new DownloadCache(true, directory.toString(), DataSize.ofBytes(5));
+
+        read(cache.store("file-1", download("0123456789", "\"v1\"")));
+
+        assertThat(cache.get("file-1")).isEmpty();
+    }
+
+    @Test
+    void shouldDeleteFilesOfPreviousRun() throws IOException {
+        Files.writeString(directory.resolve("stale.download"), "stale");
+        Files.writeString(directory.resolve("other.txt"), "other");
+
+        new DownloadCache(true, directory.toString(), DataSize.ofBytes(100));
+
+        assertThat(directory.resolve("stale.download")).doesNotExist();
+        assertThat(directory.resolve("other.txt")).exists();
+    }
+
+    @Test
+    void shouldPassThrough_whenDisabled() throws IOException {
+        var cache = new DownloadCache(false, directory.toString(), DataSize.ofBytes(100));
+        var download = download("0123456789", "\"v1\"");
+
+        assertThat(cache.store("file-1", download)).isSameAs(download);
+        assertThat(cache.get("file-1")).isEmpty();
+    }
+
+    private DownloadResponse download(String content, String etag) {
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.TEXT_PLAIN);
+        headers.setContentLength(content.length());
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        var bytes = content.getBytes(StandardCharsets.US_ASCII);
+        var chunks = Flux.range(0, bytes.length / 5)
+                .<DataBuffer>map(i -> DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, i * 5, i * 5 + 5)));
+        return new DownloadResponse(HttpStatus.OK, headers, chunks);
+    }
+
+    private String read(DownloadResponse response) {
+        return DataBufferUtils.join(response.content())
+                .map(buffer -> {
+                    var text = buffer.toString(StandardCharsets.US_ASCII);
+                    DataBufferUtils.release(buffer);
+                    return text;
+                })
+                .block();
+    }
+}
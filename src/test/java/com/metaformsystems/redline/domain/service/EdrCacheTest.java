@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EdrCacheTest {
+
+    private static final String PARTICIPANT_CONTEXT_ID = "participant-123";
+    private static final String TRANSFER_PROCESS_ID = "tp-1";
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-01-01T00:00:00Z"));
+    private final ReactiveManagementApiClient managementApiClient = mock();
+    private final EdrCache edrCache = new EdrCache(managementApiClient, new ObjectMapper(), 10, Duration.ofSeconds(10), new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+    });
+
+    @Test
+    void shouldCacheUntilTokenExpires() {
+        var expiresAt = now.get().plusSeconds(60);
+        when(managementApiClient.getEdr(PARTICIPANT_CONTEXT_ID, TRANSFER_PROCESS_ID))
+                .thenReturn(Mono.just(edr(jwt(expiresAt), "endpoint-1")), Mono.just(edr(jwt(expiresAt.plusSeconds(60)), "endpoint-2")));
+
+        assertThat(getEdr(false)).containsEntry("endpoint", "endpoint-1");
+        now.set(now.get().plusSeconds(49));
+        assertThat(getEdr(false)).containsEntry("endpoint", "endpoint-1");
+        verify(managementApiClient, times(1)).getEdr(PARTICIPANT_CONTEXT_ID, TRANSFER_PROCESS_ID);
+
+        // within the expiry skew
+        now.set(now.get().plusSeconds(2));
+        assertThat(getEdr(false)).containsEntry("endpoint", "endpoint-2");
+        verify(managementApiClient, times(2)).getEdr(PARTICIPANT_CONTEXT_ID, TRANSFER_PROCESS_ID);
+    }
+
+    @Test
+    void shouldRefresh_andEvict() {
+        var token = jwt(now.get().plusSeconds(60));
+        when(managementApiClient.getEdr(PARTICIPANT_CONTEXT_ID, TRANSFER_PROCESS_ID))
+                .thenReturn(Mono.just(edr(token, "endpoint-1")), Mono.just(edr(token, "endpoint-2")), Mono.just(edr(token, "endpoint-3")));
+
+        getEdr(false);
+        assertThat(getEdr(true)).containsEntry("endpoint", "endpoint-2");
+        assertThat(getEdr(false)).containsEntry("endpoint", "endpoint-2");
+
+        edrCache.evict(PARTICIPANT_CONTEXT_ID, TRANSFER_PROCESS_ID);
+        assertThat(getEdr(false)).containsEntry("endpoint", "endpoint-3");
+        verify(managementApiClient, times(3)).getEdr(PARTICIPANT_CONTEXT_ID, TRANSFER_PROCESS_ID);
+    }
+
+    @Test
+    void shouldUseExpiresIn_whenTokenIsNotJwt() {
+        when(managementApiClient.getEdr(PARTICIPANT_CONTEXT_ID, TRANSFER_PROCESS_ID))
+                .thenReturn(Mono.just(Map.of("authorization", "opaque", "endpoint", "endpoint-1", "expiresIn", "300")));
+
+        getEdr(false);
+        now.set(now.get().plusSeconds(280));
+        getEdr(false);
+
+        verify(managementApiClient, times(1)).getEdr(PARTICIPANT_CONTEXT_ID, TRANSFER_PROCESS_ID);
+    }
+
+    @Test
+    void shouldNotCache_withoutExpiry() {
+        when(managementApiClient.getEdr(PARTICIPANT_CONTEXT_ID, TRANSFER_PROCESS_ID))
+                .thenReturn(Mono.just(Map.of("authorization", "opaque", "endpoint", "endpoint-1")));
+
+        getEdr(false);
+        getEdr(false);
+
+        verify(managementApiClient, times(2)).getEdr(PARTICIPANT_CONTEXT_ID, TRANSFER_PROCESS_ID);
+    }
+
+    private Map<String, Object> getEdr(boolean refresh) {
+        return edrCache.getEdr(PARTICIPANT_CONTEXT_ID, TRANSFER_PROCESS_ID, refresh).block();
+    }
+
+    private Map<String, Object> edr(String token, String endpoint) {
+        return Map.of("authorization", token, "endpoint", endpoint);
+    }
+
+    private String jwt(Instant expiresAt) {
+        var encoder = Base64.getUrlEncoder().withoutPadding();
+        var header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        var payload = encoder.encodeToString("{\"exp\":%d}".formatted(expiresAt.getEpochSecond()).getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".signature";
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.api.dto.response.ProcessStateEvent;
+import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProcessStateWatcherTest {
+
+    private static final String PARTICIPANT_CONTEXT_ID = "participant-123";
+
+    private final ReactiveManagementApiClient managementApiClient = mock();
+    private final ParticipantRepository participantRepository = mock();
+    private final ProcessStateWatcher watcher = new ProcessStateWatcher(managementApiClient, participantRepository, Duration.ofMillis(20), 3);
+
+    @BeforeEach
+    void setUp() {
+        var participant = new Participant();
+        participant.setParticipantContextId(PARTICIPANT_CONTEXT_ID);
+        when(participantRepository.findById(1L)).thenReturn(Optional.of(participant));
+    }
+
+    @Test
+    void shouldShareOnePollAmongSubscribers_andEmitStateChangesOnly() {
+        when(managementApiClient.getTransferProcess(PARTICIPANT_CONTEXT_ID, "tp-1")).thenReturn(
+                Mono.just(transferProcess("REQUESTED")),
+                Mono.just(transferProcess("REQUESTED")),
+                Mono.just(transferProcess("STARTED")),
+                Mono.just(transferProcess("COMPLETED")));
+
+        var first = watcher.watch(1L, null, List.of("tp-1")).collectList().toFuture();
+        var second = watcher.watch(1L, null, List.of("tp-1")).collectList().toFuture();
+
+        assertThat(first.join()).extracting(ProcessStateEvent::state).containsExactly("REQUESTED", "STARTED", "COMPLETED");
+        assertThat(second.join()).extracting(ProcessStateEvent::state).containsExactly("REQUESTED", "STARTED", "COMPLETED");
+        verify(managementApiClient, times(4)).getTransferProcess(PARTICIPANT_CONTEXT_ID, "tp-1");
+        assertThat(watcher.activeWatches()).isZero();
+    }
+
+    @Test
+    void shouldMergeNegotiationsAndTransfers() {
+        when(managementApiClient.getContractNegotiation(PARTICIPANT_CONTEXT_ID, "cn-1")).thenReturn(Mono.just(negotiation("FINALIZED")));
+        when(managementApiClient.getTransferProcess(PARTICIPANT_CONTEXT_ID, "tp-1")).thenReturn(Mono.just(transferProcess("TERMINATED")));
+
+        var events = watcher.watch(1L, List.of("cn-1"), List.of("tp-1")).collectList().block();
+
+        assertThat(events).extracting(ProcessStateEvent::type, ProcessStateEvent::id, ProcessStateEvent::state).containsExactlyInAnyOrder(
+                tuple(ProcessStateEvent.CONTRACT_NEGOTIATION, "cn-1", "FINALIZED"),
+                tuple(ProcessStateEvent.TRANSFER_PROCESS, "tp-1", "TERMINATED"));
+    }
+
+    @Test
+    void shouldKeepPolling_whenPollFails_andFail_whenProcessNotFound() {
+        when(managementApiClient.getTransferProcess(PARTICIPANT_CONTEXT_ID, "tp-1")).thenReturn(
+                Mono.error(new IllegalStateException("unavailable")),
+                Mono.just(transferProcess("COMPLETED")));
+        when(managementApiClient.getContractNegotiation(PARTICIPANT_CONTEXT_ID, "cn-1")).thenReturn(
+                Mono.error(WebClientResponseException.create(404, "Not Found", HttpHeaders.EMPTY, new byte[0], null)));
+
+        assertThat(watcher.watch(1L, null, List.of("tp-1")).collectList().block())
+                .extracting(ProcessStateEvent::state).containsExactly("COMPLETED");
+        assertThatThrownBy(() -> watcher.watch(1L, List.of("cn-1"), null).blockLast())
+                .isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        when(participantRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> watcher.watch(1L, List.of(), null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> watcher.watch(1L, List.of("cn-1", "cn-2"), List.of("tp-1", "tp-2"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> watcher.watch(2L, List.of("cn-1"), null)).isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    private TransferProcess transferProcess(String state) {
+        var transferProcess = new TransferProcess();
+        transferProcess.setId("tp-1");
+        transferProcess.setState(state);
+        return transferProcess;
+    }
+
+    private ContractNegotiation negotiation(String state) {
+        var negotiation = new ContractNegotiation();
+        negotiation.setId("cn-1");
+        negotiation.setState(state);
+        return negotiation;
+    }
+}
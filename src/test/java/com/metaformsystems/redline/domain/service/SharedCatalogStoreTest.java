@@ -0,0 +1,102 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metaformsystems.redline.domain.entity.SharedCatalog;
+import com.metaformsystems.redline.domain.repository.SharedCatalogRepository;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import com.metaformsystems.redline.infrastructure.database.PostgresNotifications;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SharedCatalogStoreTest {
+
+    private static final String PARTICIPANT_CONTEXT_ID = "participant-123";
+    private static final String COUNTER_PARTY = "did:web:them";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final SharedCatalogRepository repository = mock();
+    private final PostgresNotifications notifications = mock();
+    private final SharedCatalogStore store = new SharedCatalogStore(repository, notifications, new ObjectMapper(), true);
+
+    @Test
+    void shouldStoreAndNotify() {
+        when(repository.findByParticipantContextIdAndCounterPartyDid(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Optional.empty());
+
+        store.put(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY, catalog("v1"), NOW);
+
+        var saved = ArgumentCaptor.forClass(SharedCatalog.class);
+        verify(repository).save(saved.capture());
+        when(repository.findByParticipantContextIdAndCounterPartyDid(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Optional.of(saved.getValue()));
+        var stored = store.get(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY).orElseThrow();
+        assertThat(stored.catalog().getId()).isEqualTo("v1");
+        assertThat(stored.fetchedAt()).isEqualTo(NOW);
+        verify(notifications).notify(eq(SharedCatalogStore.CHANNEL), anyString());
+    }
+
+    @Test
+    void shouldNotReplaceNewerCatalog() {
+        var shared = new SharedCatalog(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY);
+        shared.setCatalog("{\"@id\":\"v2\"}");
+        shared.setFetchedAt(NOW);
+        when(repository.findByParticipantContextIdAndCounterPartyDid(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Optional.of(shared));
+
+        store.put(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY, catalog("v1"), NOW.minusSeconds(10));
+
+        verify(repository, never()).save(any());
+        verify(notifications, never()).notify(anyString(), anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void shouldNotifyListeners_ofOtherReplicasOnly() {
+        var listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(notifications).listen(eq(SharedCatalogStore.CHANNEL), listener.capture());
+        var other = new SharedCatalogStore(repository, notifications, new ObjectMapper(), true);
+        var invalidated = new ArrayList<String>();
+        store.onInvalidation((participantContextId, counterPartyDid) -> invalidated.add(counterPartyDid));
+        when(repository.findByParticipantContextIdAndCounterPartyDid(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY)).thenReturn(Optional.empty());
+
+        store.put(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY, catalog("v1"), NOW);
+        other.put(PARTICIPANT_CONTEXT_ID, COUNTER_PARTY, catalog("v1"), NOW);
+        var payloads = ArgumentCaptor.forClass(String.class);
+        verify(notifications, times(2)).notify(eq(SharedCatalogStore.CHANNEL), payloads.capture());
+        payloads.getAllValues().forEach(payload -> listener.getValue().accept(payload));
+
+        assertThat(invalidated).isEqualTo(List.of(COUNTER_PARTY));
+    }
+
+    private Catalog catalog(String id) {
+        var catalog = new Catalog();
+        catalog.setId(id);
+        return catalog;
+    }
+}
@@ -43,6 +43,7 @@ import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.util.TestSocketUtils;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.net.InetAddress;
@@ -80,6 +81,8 @@ class TenantServiceIntegrationTest {
     @Autowired
     private ParticipantRepository participantRepository;
     @Autowired
+    private ClientCredentialsRegistry clientCredentialsRegistry;
+    @Autowired
     private DataspaceRepository dataspaceRepository;
     @Autowired
     private ServiceProviderRepository serviceProviderRepository;
@@ -118,7 +121,7 @@ class TenantServiceIntegrationTest {
 
         mockWebServer = new MockWebServer();
         mockWebServer.start(InetAddress.getByName(mockBackEndHost), mockBackEndPort);
-        when(tokenProvider.getToken(anyString(), anyString(), anyString())).thenReturn("mock-token");
+        when(tokenProvider.getTokenAsync(anyString(), anyString(), anyString())).thenReturn(Mono.just("mock-token"));
     }
 
     @Test
@@ -430,6 +433,7 @@ class TenantServiceIntegrationTest {
         assertThat(creds.clientId()).isEqualTo("test-participant-context-id");
         assertThat(creds.clientSecret()).isEqualTo("0b1dbc7e87fc60080f8cd409e475a0b1ac018079eab17491ff87a5c383f9d802");
         assertThat(participantRepository.findById(entity.getId()).orElseThrow().getClientCredentials()).isNotNull();
+        assertThat(clientCredentialsRegistry.getClientCredentials("test-participant-context-id")).isEqualTo(creds);
     }
 
     @Test
@@ -441,7 +445,7 @@ class TenantServiceIntegrationTest {
                 """;
         mockWebServer.enqueue(new MockResponse().setBody(response).addHeader("Content-Type", "application/json").setResponseCode(404));
 
-        assertThat(tenantService.getClientCredentials("test-participant-context-id")).isNull();
+        assertThat(tenantService.getClientCredentials("unknown-participant-context-id")).isNull();
     }
 
     @Test
@@ -0,0 +1,281 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+package com.metaformsystems.redline.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metaformsystems.redline.domain.repository.MirroredTransferProcessRepository;
+import com.metaformsystems.redline.domain.repository.TransferProcessSyncStateRepository;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Criterion;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+@Transactional
+class TransferProcessMirrorTest {
+
+    private static final String PARTICIPANT_CONTEXT_ID = "ctx-1";
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-01-01T00:00:00Z"));
+    private final ReactiveManagementApiClient managementApiClient = mock();
+    @Autowired
+    private MirroredTransferProcessRepository repository;
+    @Autowired
+    private TransferProcessSyncStateRepository syncStateRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    private TransferProcessMirror mirror;
+
+    @BeforeEach
+    void setUp() {
+        mirror = newMirror();
+    }
+
+    private TransferProcessMirror newMirror() {
+        return new TransferProcessMirror(repository, syncStateRepository, transactionManager, entityManager, managementApiClient, objectMapper, true,
+                Duration.ofSeconds(2), Duration.ofSeconds(10), 4, new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        });
+    }
+
+    @Test
+    void shouldBackOffWhileStateIsUnchanged_andStopWhenTerminal() {
+        when(managementApiClient.getTransferProcess(PARTICIPANT_CONTEXT_ID, "tp-1")).thenReturn(
+                Mono.just(transferProcess("tp-1", "REQUESTED", 1)),
+                Mono.just(transferProcess("tp-1", "REQUESTED", 1)),
+                Mono.just(transferProcess("tp-1", "REQUESTED", 1)),
+                Mono.just(transferProcess("tp-1", "STARTED", 2)),
+                Mono.just(transferProcess("tp-1", "COMPLETED", 3)));
+        mirror.register(PARTICIPANT_CONTEXT_ID, "tp-1");
+
+        mirror.pollDue();
+        assertThat(pollInterval()).isEqualTo(Duration.ofSeconds(2));
+
+        advance(Duration.ofSeconds(2));
+        mirror.pollDue();
+        assertThat(pollInterval()).isEqualTo(Duration.ofSeconds(4));
+
+        advance(Duration.ofSeconds(3));
+        mirror.pollDue(); // not due yet
+        verify(managementApiClient, times(2)).getTransferProcess(PARTICIPANT_CONTEXT_ID, "tp-1");
+
+        advance(Duration.ofSeconds(1));
+        mirror.pollDue();
+        assertThat(pollInterval()).isEqualTo(Duration.ofSeconds(8));
+
+        advance(Duration.ofSeconds(8));
+        mirror.pollDue();
+        assertThat(pollInterval()).isEqualTo(Duration.ofSeconds(2));
+
+        advance(Duration.ofSeconds(2));
+        mirror.pollDue();
+        assertThat(mirror.get(PARTICIPANT_CONTEXT_ID, "tp-1")).hasValueSatisfying(tp -> assertThat(tp.getState()).isEqualTo("COMPLETED"));
+
+        advance(Duration.ofMinutes(5));
+        mirror.pollDue();
+        verify(managementApiClient, times(5)).getTransferProcess(PARTICIPANT_CONTEXT_ID, "tp-1");
+    }
+
+    @Test
+    void shouldBackOff_whenPollFails() {
+        when(managementApiClient.getTransferProcess(PARTICIPANT_CONTEXT_ID, "tp-1")).thenReturn(Mono.error(new IllegalStateException("unavailable")));
+        mirror.register(PARTICIPANT_CONTEXT_ID, "tp-1");
+
+        mirror.pollDue();
+        assertThat(pollInterval()).isEqualTo(Duration.ofSeconds(4));
+        advance(Duration.ofSeconds(4));
+        mirror.pollDue();
+
+        assertThat(pollInterval()).isEqualTo(Duration.ofSeconds(8));
+        assertThat(mirror.get(PARTICIPANT_CONTEXT_ID, "tp-1")).isEmpty();
+    }
+
+    @Test
+    void shouldServeTrackedTransferProcess_withoutEdr() {
+        var transferProcess = transferProcess("tp-1", "STARTED", 1);
+        transferProcess.setContentDataAddress(Map.of("endpoint", "http://dataplane", "authorization", "secret"));
+
+        assertThat(mirror.get(PARTICIPANT_CONTEXT_ID, "tp-1")).isEmpty();
+        mirror.track(PARTICIPANT_CONTEXT_ID, "tp-1", transferProcess);
+
+        assertThat(mirror.get(PARTICIPANT_CONTEXT_ID, "tp-1")).hasValueSatisfying(tp -> {
+            assertThat(tp.getId()).isEqualTo("tp-1");
+            assertThat(tp.getState()).isEqualTo("STARTED");
+            assertThat(tp.getAssetId()).isEqualTo("asset-tp-1");
+            assertThat(tp.getContentDataAddress()).isNull();
+        });
+        verify(managementApiClient, never()).getTransferProcess(anyString(), anyString());
+    }
+
+    @Test
+    void shouldListFromMirror_onlyAfterSynchronization() {
+        when(managementApiClient.streamTransferProcesses(anyString(), any())).thenReturn(Flux.just(
+                transferProcess("tp-1", "STARTED", 1),
+                transferProcess("tp-2", "COMPLETED", 2),
+                transferProcess("tp-3", "STARTED", 3)));
+        var query = QuerySpec.Builder.aQuerySpecDto()
+                .limit(10)
+                .sortField("stateTimestamp")
+                .sortOrder("DESC")
+                .filterExpression(List.of(new Criterion("state", "=", "STARTED")))
+                .build();
+
+        assertThat(mirror.list(PARTICIPANT_CONTEXT_ID, query)).isEmpty();
+        mirror.synchronize(PARTICIPANT_CONTEXT_ID);
+
+        assertThat(mirror.list(PARTICIPANT_CONTEXT_ID, query)).hasValueSatisfying(list ->
+                assertThat(list).extracting(TransferProcess::getId).containsExactly("tp-3", "tp-1"));
+        assertThat(mirror.list("ctx-2", query)).isEmpty();
+    }
+
+    @Test
+    void shouldNotList_whenQueryIsNotSupported() {
+        when(managementApiClient.streamTransferProcesses(anyString(), any())).thenReturn(Flux.just(transferProcess("tp-1", "STARTED", 1)));
+        mirror.synchronize(PARTICIPANT_CONTEXT_ID);
+
+        var unknownProperty = QuerySpec.Builder.aQuerySpecDto()
+                .filterExpression(List.of(new Criterion("counterPartyAddress", "=", "http://provider")))
+                .build();
+        var unknownOperator = QuerySpec.Builder.aQuerySpecDto()
+                .filterExpression(List.of(new Criterion("state", "!=", "STARTED")))
+                .build();
+
+        assertThat(mirror.list(PARTICIPANT_CONTEXT_ID, unknownProperty)).isEmpty();
+        assertThat(mirror.list(PARTICIPANT_CONTEXT_ID, unknownOperator)).isEmpty();
+        assertThat(mirror.list(PARTICIPANT_CONTEXT_ID, QuerySpec.Builder.aQuerySpecDto().build())).hasValueSatisfying(list -> assertThat(list).hasSize(1));
+    }
+
+    @Test
+    void shouldSynchronizeAllOnce_thenOnlyChangedTransferProcesses() {
+        var queries = new ArrayList<QuerySpec>();
+        when(managementApiClient.streamTransferProcesses(anyString(), any())).thenAnswer(invocation -> {
+            queries.add(invocation.getArgument(1));
+            return queries.size() == 1
+                    ? Flux.just(transferProcess("tp-1", "COMPLETED", 100_000), transferProcess("tp-2", "STARTED", 200_000))
+                    : Flux.just(transferProcess("tp-2", "COMPLETED", 250_000), transferProcess("tp-3", "REQUESTED", 300_000));
+        });
+
+        mirror.synchronize(PARTICIPANT_CONTEXT_ID);
+        var completed = repository.findByParticipantContextIdAndTransferProcessId(PARTICIPANT_CONTEXT_ID, "tp-1").orElseThrow();
+        entityManager.flush();
+        var version = completed.getVersion();
+        mirror.synchronize(PARTICIPANT_CONTEXT_ID);
+        entityManager.flush();
+
+        assertThat(queries.get(0).getFilterExpression()).isNullOrEmpty();
+        assertThat(queries.get(1).getFilterExpression()).singleElement().satisfies(criterion -> {
+            assertThat(criterion.getOperandLeft()).isEqualTo("stateTimestamp");
+            assertThat(criterion.getOperator()).isEqualTo(">=");
+            assertThat(criterion.getOperandRight()).isEqualTo(String.valueOf(200_000 - Duration.ofMinutes(1).toMillis()));
+        });
+        assertThat(repository.findByParticipantContextIdAndTransferProcessId(PARTICIPANT_CONTEXT_ID, "tp-1").orElseThrow().getVersion()).isEqualTo(version);
+        assertThat(mirror.get(PARTICIPANT_CONTEXT_ID, "tp-2")).hasValueSatisfying(tp -> assertThat(tp.getState()).isEqualTo("COMPLETED"));
+        assertThat(mirror.get(PARTICIPANT_CONTEXT_ID, "tp-3")).isPresent();
+        assertThat(syncStateRepository.findByParticipantContextId(PARTICIPANT_CONTEXT_ID).orElseThrow().getLatestStateTimestamp()).isEqualTo(300_000);
+    }
+
+    @Test
+    void shouldSkipUnchangedTransferProcesses() {
+        when(managementApiClient.streamTransferProcesses(anyString(), any())).thenAnswer(invocation -> Flux.just(transferProcess("tp-1", "COMPLETED", 1)));
+        mirror.synchronize(PARTICIPANT_CONTEXT_ID);
+        entityManager.flush();
+        var stored = repository.findByParticipantContextIdAndTransferProcessId(PARTICIPANT_CONTEXT_ID, "tp-1").orElseThrow();
+        var version = stored.getVersion();
+        var syncedAt = stored.getSyncedAt();
+
+        advance(Duration.ofMinutes(10));
+        mirror.synchronize(PARTICIPANT_CONTEXT_ID);
+        entityManager.flush();
+
+        stored = repository.findByParticipantContextIdAndTransferProcessId(PARTICIPANT_CONTEXT_ID, "tp-1").orElseThrow();
+        assertThat(stored.getVersion()).isEqualTo(version);
+        assertThat(stored.getSyncedAt()).isEqualTo(syncedAt);
+    }
+
+    @Test
+    void shouldListFromMirror_whenSynchronizedByOtherInstance() {
+        when(managementApiClient.streamTransferProcesses(anyString(), any())).thenReturn(Flux.just(transferProcess("tp-1", "STARTED", 1)));
+        newMirror().synchronize(PARTICIPANT_CONTEXT_ID);
+
+        assertThat(mirror.list(PARTICIPANT_CONTEXT_ID, QuerySpec.Builder.aQuerySpecDto().build())).hasValueSatisfying(list -> assertThat(list).hasSize(1));
+    }
+
+    private Duration pollInterval() {
+        return repository.findByParticipantContextIdAndTransferProcessId(PARTICIPANT_CONTEXT_ID, "tp-1")
+                .map(mirrored -> Duration.ofMillis(mirrored.getPollIntervalMillis()))
+                .orElseThrow();
+    }
+
+    private void advance(Duration duration) {
+        now.set(now.get().plus(duration));
+    }
+
+    private TransferProcess transferProcess(String id, String state, long stateTimestamp) {
+        var transferProcess = new TransferProcess();
+        transferProcess.setId(id);
+        transferProcess.setState(state);
+        transferProcess.setStateTimestamp(stateTimestamp);
+        transferProcess.setAssetId("asset-" + id);
+        transferProcess.setContractId("contract-" + id);
+        transferProcess.setType("CONSUMER");
+        return transferProcess;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metaformsystems.redline.api.dto.response.UploadJobResource;
+import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.entity.UploadJob;
+import com.metaformsystems.redline.domain.entity.UploadedFile;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.repository.UploadJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UploadJobServiceTest {
+
+    private static final Long PARTICIPANT_ID = 42L;
+    private static final String NODE_ID = "node-1";
+    private static final String PARTICIPANT_CONTEXT_ID = "participant-123";
+
+    private final UploadJobRepository uploadJobRepository = mock();
+    private final ParticipantRepository participantRepository = mock();
+    private final DataAccessService dataAccessService = mock();
+    private final TaskScheduler taskScheduler = mock();
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+    @TempDir
+    private Path stagingDirectory;
+    private Executor executor = Runnable::run;
+    private UploadJobService service;
+
+    @BeforeEach
+    void setUp() {
+        var participant = new Participant();
+        participant.setParticipantContextId(PARTICIPANT_CONTEXT_ID);
+        when(participantRepository.findById(PARTICIPANT_ID)).thenReturn(Optional.of(participant));
+        when(uploadJobRepository.save(any())).thenAnswer(invocation -> {
+            UploadJob job = invocation.getArgument(0);
+            jobs.put(job.getJobId(), job);
+            return job;
+        });
+        when(uploadJobRepository.findByJobId(anyString())).thenAnswer(invocation -> Optional.ofNullable(jobs.get(invocation.<String>getArgument(0))));
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        });
+        service = new UploadJobService(uploadJobRepository, participantRepository, dataAccessService, new ObjectMapper(), taskScheduler,
+                command -> executor.execute(command), stagingDirectory, 3, Duration.ofSeconds(10), NODE_ID, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldPublishStagedFile() throws IOException {
+        when(dataAccessService.publishFile(eq(PARTICIPANT_CONTEXT_ID), any(), any(), any(), eq("application/pdf"), eq("file.pdf"), eq(List.of()), any(),
+                // SHA-256 of "content", computed while the file is staged
+                eq("ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73"), any()))
+                .thenAnswer(invocation -> {
+                    assertThat(new String(invocation.getArgument(3, InputStream.class).readAllBytes())).isEqualTo("content");
+                    BiConsumer<UploadJob.Step, UploadJob.Status> progress = invocation.getArgument(9);
+                    progress.accept(UploadJob.Step.UPLOAD_FILE, UploadJob.Status.RUNNING);
+                    progress.accept(UploadJob.Step.UPLOAD_FILE, UploadJob.Status.COMPLETED);
+                    return new UploadedFile("file-1", "file.pdf", "application/pdf", Map.of());
+                });
+
+        var submitted = submit();
+
+        var job = service.getJob(PARTICIPANT_ID, submitted.jobId());
+        assertThat(job.status()).isEqualTo("COMPLETED");
+        assertThat(job.fileId()).isEqualTo("file-1");
+        assertThat(job.attempts()).isEqualTo(1);
+        assertThat(job.steps()).containsEntry("UPLOAD_FILE", "COMPLETED").containsEntry("CREATE_ASSET", "PENDING");
+        verify(dataAccessService).addUploadedFile(eq(PARTICIPANT_ID), any());
+        assertThat(stagingDirectory).isEmptyDirectory();
+    }
+
+    @Test
+    void shouldRetry_whenDownstreamServiceFails() throws IOException {
+        when(dataAccessService.publishFile(anyString(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(WebClientResponseException.create(503, "Service Unavailable", null, null, null))
+                .thenReturn(new UploadedFile("file-1", "file.pdf", "application/pdf", Map.of()));
+
+        var submitted = submit();
+
+        var job = service.getJob(PARTICIPANT_ID, submitted.jobId());
+        assertThat(job.status()).isEqualTo("COMPLETED");
+        assertThat(job.attempts()).isEqualTo(2);
+        assertThat(job.error()).isNull();
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void shouldFail_whenRetriesAreExhausted() throws IOException {
+        when(dataAccessService.publishFile(anyString(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(WebClientResponseException.create(503, "Service Unavailable", null, null, null));
+
+        var submitted = submit();
+
+        var job = service.getJob(PARTICIPANT_ID, submitted.jobId());
+        assertThat(job.status()).isEqualTo("FAILED");
+        assertThat(job.attempts()).isEqualTo(3);
+        assertThat(stagingDirectory).isEmptyDirectory();
+    }
+
+    @Test
+    void shouldFailWithoutRetry_whenRequestIsRejected() throws IOException {
+        when(dataAccessService.publishFile(anyString(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(WebClientResponseException.create(409, "Conflict", null, null, null));
+
+        var submitted = submit();
+
+        var job = service.getJob(PARTICIPANT_ID, submitted.jobId());
+        assertThat(job.status()).isEqualTo("FAILED");
+        assertThat(job.attempts()).isEqualTo(1);
+        assertThat(job.error()).contains("409");
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+        verify(dataAccessService, never()).addUploadedFile(any(), any());
+    }
+
+    @Test
+    void shouldRemoveJob_whenQueueIsFull() {
+        executor = command -> {
+            throw new RejectedExecutionException("queue full");
+        };
+
+        assertThatThrownBy(this::submit).isInstanceOf(RejectedExecutionException.class);
+        verify(uploadJobRepository).delete(any());
+        assertThat(stagingDirectory).isEmptyDirectory();
+    }
+
+    @Test
+    void shouldResumeUnfinishedJobs() throws IOException {
+        var job = unfinishedJob(NODE_ID, Instant.now().minusSeconds(10));
+        when(uploadJobRepository.findByStatusIn(any())).thenReturn(List.of(job));
+        when(dataAccessService.publishFile(anyString(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new UploadedFile("file-1", "file.pdf", "application/pdf", Map.of()));
+
+        service.recover();
+
+        assertThat(service.getJob(PARTICIPANT_ID, "job-1").status()).isEqualTo("COMPLETED");
+        assertThat(service.getJob(PARTICIPANT_ID, "job-1").attempts()).isEqualTo(2);
+        verify(uploadJobRepository).renewLeases(eq(NODE_ID), any(), any());
+        verify(uploadJobRepository, never()).claim(anyString(), anyString(), any(), any());
+        verify(taskScheduler).scheduleAtFixedRate(any(Runnable.class), any(Instant.class), any(Duration.class));
+    }
+
+    @Test
+    void shouldStopRenewingLeases_onShutdown() {
+        ScheduledFuture<?> heartbeat = mock();
+        doReturn(heartbeat).when(taskScheduler).scheduleAtFixedRate(any(Runnable.class), any(Instant.class), any(Duration.class));
+
+        service.recover();
+        service.shutdown();
+
+        verify(heartbeat).cancel(false);
+    }
+
+    @Test
+    void shouldNotResumeJobs_whenLeaseOfOtherNodeIsValid() throws IOException {
+        var job = unfinishedJob("node-2", Instant.now().plusSeconds(30));
+        when(uploadJobRepository.findByStatusIn(any())).thenReturn(List.of(job));
+
+        service.recover();
+
+        assertThat(service.getJob(PARTICIPANT_ID, "job-1").status()).isEqualTo("RUNNING");
+        verify(uploadJobRepository, never()).claim(anyString(), anyString(), any(), any());
+        verifyNoInteractions(dataAccessService);
+    }
+
+    @Test
+    void shouldTakeOverJobs_whenLeaseOfOtherNodeHasExpired() throws IOException {
+        var job = unfinishedJob("node-2", Instant.now().minusSeconds(30));
+        when(uploadJobRepository.findByStatusIn(any())).thenReturn(List.of(job));
+        when(uploadJobRepository.claim(eq("job-1"), eq(NODE_ID), any(), any())).thenReturn(1);
+        when(dataAccessService.publishFile(anyString(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new UploadedFile("file-1", "file.pdf", "application/pdf", Map.of()));
+
+        service.heartbeat();
+
+        assertThat(service.getJob(PARTICIPANT_ID, "job-1").status()).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void shouldFailTakenOverJobs_whenStagedFileIsOnOtherNode() throws IOException {
+        var job = unfinishedJob("node-2", Instant.now().minusSeconds(30));
+        Files.delete(Path.of(job.getStagedFile()));
+        when(uploadJobRepository.findByStatusIn(any())).thenReturn(List.of(job));
+        when(uploadJobRepository.claim(eq("job-1"), eq(NODE_ID), any(), any())).thenReturn(1);
+
+        service.heartbeat();
+
+        assertThat(service.getJob(PARTICIPANT_ID, "job-1").status()).isEqualTo("FAILED");
+        assertThat(service.getJob(PARTICIPANT_ID, "job-1").error()).isEqualTo("Staged file is missing");
+        verifyNoInteractions(dataAccessService);
+    }
+
+    @Test
+    void shouldNotResumeJobs_whenOtherNodeClaimedThemFirst() throws IOException {
+        var job = unfinishedJob("node-2", Instant.now().minusSeconds(30));
+        when(uploadJobRepository.findByStatusIn(any())).thenReturn(List.of(job));
+        when(uploadJobRepository.claim(eq("job-1"), eq(NODE_ID), any(), any())).thenReturn(0);
+
+        service.heartbeat();
+
+        assertThat(service.getJob(PARTICIPANT_ID, "job-1").status()).isEqualTo("RUNNING");
+        verifyNoInteractions(dataAccessService);
+    }
+
+    private UploadJob unfinishedJob(String owner, Instant leaseExpiresAt) throws IOException {
+        var stagedFile = Files.writeString(stagingDirectory.resolve("job-1"), "content");
+        var job = new UploadJob();
+        job.setJobId("job-1");
+        job.setParticipantId(PARTICIPANT_ID);
+        job.setParticipantContextId(PARTICIPANT_CONTEXT_ID);
+        job.setStatus(UploadJob.Status.RUNNING);
+        job.setSteps(new HashMap<>());
+        job.setStagedFile(stagedFile.toString());
+        job.setPublicMetadata(new HashMap<>());
+        job.setPrivateMetadata(new HashMap<>());
+        job.setCelExpressions("[]");
+        job.setAttempts(1);
+        job.setOwner(owner);
+        job.setLeaseExpiresAt(leaseExpiresAt);
+        jobs.put(job.getJobId(), job);
+        return job;
+    }
+
+    private UploadJobResource submit() throws IOException {
+        return service.submit(PARTICIPANT_ID, new HashMap<>(Map.of("foo", "bar")), new HashMap<>(), new ByteArrayInputStream("content".getBytes()),
+                "application/pdf", "file.pdf", List.of(), null);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.client;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.TestSocketUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ConnectionPoolRegistry Tests")
+class ConnectionPoolRegistryTest {
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ConnectionPoolRegistry registry;
+    private MockWebServer mockWebServer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Metrics.addRegistry(meterRegistry);
+        mockWebServer = new MockWebServer();
+        mockWebServer.start(InetAddress.getByName("localhost"), TestSocketUtils.findAvailableTcpPort());
+        registry = new ConnectionPoolRegistry(environment);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        registry.destroy();
+        Metrics.removeRegistry(meterRegistry);
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("should publish pool metrics tagged with the downstream name")
+    void connector_publishesMetrics() {
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+
+        webClient("test-pool").get().retrieve().bodyToMono(String.class).block();
+
+        assertThat(meterRegistry.find("reactor.netty.connection.provider.max.connections").tag("name", "test-pool").gauge())
+                .isNotNull()
+                .satisfies(gauge -> assertThat(gauge.value()).isEqualTo(50));
+    }
+
+    @Test
+    @DisplayName("should apply per-downstream settings over the defaults")
+    void connector_perDownstreamSettings() {
+        environment.setProperty("http-client.default.max-connections", "10");
+        environment.setProperty("http-client.slow.max-connections", "2");
+        environment.setProperty("http-client.slow.response-timeout", "200ms");
+        mockWebServer.enqueue(new MockResponse().setBody("late").setHeadersDelay(2, TimeUnit.SECONDS));
+
+        var client = webClient("slow");
+        assertThatThrownBy(() -> client.get().retrieve().bodyToMono(String.class).block())
+                .isInstanceOf(WebClientRequestException.class);
+
+        webClient("other");
+        assertThat(meterRegistry.find("reactor.netty.connection.provider.max.connections").tag("name", "slow").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.find("reactor.netty.connection.provider.max.connections").tag("name", "other").gauge()).isNull();
+    }
+
+    private WebClient webClient(String name) {
+        var url = mockWebServer.url("/").toString();
+        return WebClient.builder()
+                .baseUrl(url)
+                .clientConnector(registry.connector(name, url))
+                .build();
+    }
+}
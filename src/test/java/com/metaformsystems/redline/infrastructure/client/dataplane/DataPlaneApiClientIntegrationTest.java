@@ -18,6 +18,7 @@ import com.metaformsystems.redline.application.service.TokenProvider;
 import com.metaformsystems.redline.domain.entity.ClientCredentials;
 import com.metaformsystems.redline.domain.entity.Participant;
 import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.infrastructure.client.dataplane.dto.DownloadResponse;
 import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -26,13 +27,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -81,7 +92,7 @@ class DataPlaneApiClientIntegrationTest {
         participantRepository.save(participant);
 
         // Mock token provider to return a test token
-        when(tokenProvider.getToken(anyString(), anyString(), anyString())).thenReturn("test-token");
+        when(tokenProvider.getTokenAsync(anyString(), anyString(), anyString())).thenReturn(Mono.just("test-token"));
     }
 
     @Test
@@ -126,6 +137,27 @@ class DataPlaneApiClientIntegrationTest {
         assertThat(request.getMethod()).isEqualTo("POST");
     }
 
+    @Test
+    void shouldStreamUpload() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"id\": \"upload-123\"}")
+                .addHeader("Content-Type", "application/json"));
+        Flux<DataBuffer> content = Flux.just("first chunk, ", "second chunk")
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+
+        var result = dataPlaneApiClient.uploadMultipart(participantContextId, Map.of("foo", "bar"), content).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.id()).isEqualTo("upload-123");
+        var request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/certs");
+        assertThat(request.getHeader("Authorization")).isEqualTo("Bearer test-token");
+        assertThat(request.getBody().readUtf8())
+                .contains("name=\"metadata\"")
+                .contains("\"foo\":\"bar\"")
+                .contains("first chunk, second chunk");
+    }
+
     @Test
     void shouldListPublicFiles() throws InterruptedException {
         // Arrange
@@ -173,10 +205,11 @@ class DataPlaneApiClientIntegrationTest {
                 .addHeader("Content-Type", "application/octet-stream"));
 
         // Act
-        var result = dataPlaneApiClient.downloadFile(participantContextId, fileId);
+        var result = dataPlaneApiClient.downloadFileStream(participantContextId, fileId, new HttpHeaders()).block();
 
         // Assert
-        assertThat(result).isEqualTo(expectedFileData);
+        assertThat(result).isNotNull();
+        assertThat(read(result)).isEqualTo(expectedFileData);
 
         var request = mockWebServer.takeRequest();
         assertThat(request.getPath()).isEqualTo("/certs/" + fileId);
@@ -193,12 +226,73 @@ class DataPlaneApiClientIntegrationTest {
                 .addHeader("Content-Type", "application/octet-stream"));
 
         // Act
-        var result = dataPlaneApiClient.downloadFile(participantContextId, fileId);
+        var result = dataPlaneApiClient.downloadFileStream(participantContextId, fileId, new HttpHeaders()).block();
 
         // Assert
-        assertThat(result).isNullOrEmpty();
+        assertThat(result).isNotNull();
+        assertThat(read(result)).isNullOrEmpty();
 
         var request = mockWebServer.takeRequest();
         assertThat(request.getPath()).isEqualTo("/certs/" + fileId);
     }
+
+    @Test
+    void shouldStreamDownload() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("file content")
+                .addHeader("Content-Type", "application/pdf")
+                .addHeader("Content-Disposition", "attachment; filename=\"document.pdf\""));
+
+        var result = dataPlaneApiClient.downloadFileStream("test-token", "file-123", new HttpHeaders()).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.status()).isEqualTo(HttpStatus.OK);
+        assertThat(result.headers().getContentType()).isEqualTo(MediaType.APPLICATION_PDF);
+        assertThat(result.headers().getContentLength()).isEqualTo(12);
+        assertThat(result.headers().getContentDisposition().getFilename()).isEqualTo("document.pdf");
+        var content = DataBufferUtils.join(result.content())
+                .map(buffer -> {
+                    var text = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return text;
+                })
+                .block();
+        assertThat(content).isEqualTo("file content");
+
+        var request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/certs/file-123");
+        assertThat(request.getHeader("Authorization")).isEqualTo("test-token");
+        assertThat(request.getHeader("Range")).isNull();
+    }
+
+    @Test
+    void shouldForwardRangeRequest() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(416)
+                .addHeader("Content-Range", "bytes */12"));
+
+        var requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=20-");
+        requestHeaders.set(HttpHeaders.IF_RANGE, "\"v1\"");
+        var result = dataPlaneApiClient.downloadFileStream("test-token", "file-123", requestHeaders).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.status()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(result.headers().getFirst("Content-Range")).isEqualTo("bytes */12");
+
+        var request = mockWebServer.takeRequest();
+        assertThat(request.getHeader("Range")).isEqualTo("bytes=20-");
+        assertThat(request.getHeader("If-Range")).isEqualTo("\"v1\"");
+    }
+
+    private byte[] read(DownloadResponse response) {
+        return DataBufferUtils.join(response.content())
+                .map(buffer -> {
+                    var bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .block();
+    }
 }
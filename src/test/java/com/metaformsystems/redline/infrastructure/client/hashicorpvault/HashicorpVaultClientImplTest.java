@@ -0,0 +1,187 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.client.hashicorpvault;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.TestSocketUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HashicorpVaultClientImpl Tests")
+class HashicorpVaultClientImplTest {
+
+    private static final String PATH = "/v1/secret/data/participant-1";
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-01-01T00:00:00Z"));
+    private MockWebServer mockWebServer;
+    private HashicorpVaultClientImpl vaultClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start(InetAddress.getByName("localhost"), TestSocketUtils.findAvailableTcpPort());
+
+        var webClient = WebClient.builder()
+                .baseUrl(mockWebServer.url("/").toString())
+                .build();
+        vaultClient = new HashicorpVaultClientImpl(webClient, Duration.ofMinutes(5), Duration.ofSeconds(30), 4, new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (mockWebServer != null) {
+            mockWebServer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("should cache secret for its lease duration")
+    void readSecret_cachedForLeaseDuration() {
+        mockWebServer.enqueue(secretResponse("secret-1", 1, 60));
+        mockWebServer.enqueue(secretResponse("secret-2", 2, 60));
+
+        assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-1");
+        now.set(now.get().plusSeconds(59));
+        assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-1");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+
+        now.set(now.get().plusSeconds(2));
+        assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-2");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should use default TTL when lease duration is zero")
+    void readSecret_defaultTtl() {
+        mockWebServer.enqueue(secretResponse("secret-1", 1, 0));
+
+        vaultClient.readSecret(PATH);
+        now.set(now.get().plus(Duration.ofMinutes(4)));
+        assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-1");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should cache missing secret for the negative TTL")
+    void readSecret_negativeCache() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404).addHeader("Content-Type", "application/json").setBody("{\"errors\": []}"));
+        mockWebServer.enqueue(secretResponse("secret-1", 1, 0));
+
+        assertThat(vaultClient.readSecret(PATH)).isEmpty();
+        now.set(now.get().plusSeconds(29));
+        assertThat(vaultClient.readSecret(PATH)).isEmpty();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+
+        now.set(now.get().plusSeconds(2));
+        assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-1");
+    }
+
+    @Test
+    @DisplayName("should treat deleted secret as missing")
+    void readSecret_deleted() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404).addHeader("Content-Type", "application/json").setBody("""
+                {
+                  "lease_duration": 0,
+                  "data": {
+                    "data": null,
+                    "metadata": { "version": 2, "destroyed": false, "deletion_time": "2026-01-14T08:17:18.993403846Z" }
+                  }
+                }
+                """));
+
+        assertThat(vaultClient.readSecret(PATH)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should keep newer cached version when Vault returns an older one")
+    void readSecret_ignoresOlderVersion() {
+        mockWebServer.enqueue(secretResponse("secret-2", 2, 60));
+        mockWebServer.enqueue(secretResponse("secret-1", 1, 60));
+
+        vaultClient.readSecret(PATH);
+        now.set(now.get().plusSeconds(61));
+        assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-2");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should prefetch secrets and ignore failures")
+    void prefetchSecrets() {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return switch (request.getPath()) {
+                    case "/v1/secret/data/participant-1" -> secretResponse("secret-1", 1, 0);
+                    case "/v1/secret/data/participant-2" -> secretResponse("secret-2", 1, 0);
+                    default -> new MockResponse().setResponseCode(500);
+                };
+            }
+        });
+
+        vaultClient.prefetchSecrets(List.of("/v1/secret/data/participant-1", "/v1/secret/data/participant-2", "/v1/secret/data/broken"));
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+
+        assertThat(vaultClient.readSecret("/v1/secret/data/participant-1")).isEqualTo("secret-1");
+        assertThat(vaultClient.readSecret("/v1/secret/data/participant-2")).isEqualTo("secret-2");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+    }
+
+    private MockResponse secretResponse(String content, int version, long leaseDuration) {
+        return new MockResponse()
+                .addHeader("Content-Type", "application/json")
+                .setBody("""
+                        {
+                          "lease_duration": %d,
+                          "data": {
+                            "data": { "content": "%s" },
+                            "metadata": { "version": %d, "destroyed": false, "deletion_time": "" }
+                          }
+                        }
+                        """.formatted(leaseDuration, content, version));
+    }
+}
@@ -14,11 +14,13 @@
 
 package com.metaformsystems.redline.infrastructure.client.identityhub;
 
+import com.metaformsystems.redline.application.service.BearerTokenExchangeFilterFunction;
 import com.metaformsystems.redline.application.service.TokenProvider;
 import com.metaformsystems.redline.domain.entity.ClientCredentials;
 import com.metaformsystems.redline.domain.entity.Participant;
 import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
 import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.service.ClientCredentialsRegistry;
 import com.metaformsystems.redline.infrastructure.client.identityhub.dto.CredentialDescriptor;
 import com.metaformsystems.redline.infrastructure.client.identityhub.dto.CredentialRequestDto;
 import com.metaformsystems.redline.infrastructure.client.identityhub.dto.DidRequestPayload;
@@ -31,6 +33,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.TestSocketUtils;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.net.InetAddress;
@@ -70,20 +73,19 @@ class IdentityHubClientImplTest {
 
         var webClient = WebClient.builder()
                 .baseUrl(mockWebServer.url("/").toString())
+                .filter(new BearerTokenExchangeFilterFunction(tokenProvider, new ClientCredentialsRegistry(participantRepository), "identity-api:write identity-api:read"))
                 .build();
 
         identityHubClient = new IdentityHubClientImpl(
                 webClient,
-                tokenProvider,
-                participantRepository,
                 ADMIN_CLIENT_ID,
                 ADMIN_CLIENT_SECRET
         );
 
-        when(tokenProvider.getToken(ADMIN_CLIENT_ID, ADMIN_CLIENT_SECRET, "identity-api:read"))
-                .thenReturn(TEST_TOKEN);
-        when(tokenProvider.getToken(CLIENT_ID, CLIENT_SECRET, "identity-api:write identity-api:read"))
-                .thenReturn(TEST_TOKEN);
+        when(tokenProvider.getTokenAsync(ADMIN_CLIENT_ID, ADMIN_CLIENT_SECRET, "identity-api:read"))
+                .thenReturn(Mono.just(TEST_TOKEN));
+        when(tokenProvider.getTokenAsync(CLIENT_ID, CLIENT_SECRET, "identity-api:write identity-api:read"))
+                .thenReturn(Mono.just(TEST_TOKEN));
     }
 
     @AfterEach
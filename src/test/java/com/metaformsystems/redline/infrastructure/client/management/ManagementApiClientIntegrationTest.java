@@ -42,6 +42,7 @@ import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.util.TestSocketUtils;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.net.InetAddress;
@@ -96,10 +97,10 @@ class ManagementApiClientIntegrationTest {
 
         mockWebServer = new MockWebServer();
         mockWebServer.start(InetAddress.getByName(mockBackEndHost), mockBackEndPort);
-        when(tokenProvider.getToken(anyString(), anyString(), anyString())).thenReturn("mock-token");
+        when(tokenProvider.getTokenAsync(anyString(), anyString(), anyString())).thenReturn(Mono.just("mock-token"));
 
         // Mock token provider to return a test token
-        when(tokenProvider.getToken(anyString(), anyString(), anyString())).thenReturn("test-token");
+        when(tokenProvider.getTokenAsync(anyString(), anyString(), anyString())).thenReturn(Mono.just("test-token"));
     }
 
     @Test
@@ -443,6 +444,27 @@ class ManagementApiClientIntegrationTest {
         assertThat(celRequest.getBody().readUtf8()).contains("cel-123");
     }
 
+    @Test
+    void shouldQueryCelExpressions() throws InterruptedException {
+        // Mock CEL expression query response
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        [
+                          { "@id": "membership-expr", "@type": "CelExpression", "leftOperand": "MembershipCredential", "expression": "true" },
+                          { "@id": "custom-expr", "@type": "CelExpression", "leftOperand": "CustomCredential", "expression": "true" }
+                        ]
+                        """)
+                .addHeader("Content-Type", "application/json"));
+
+        var expressions = managementApiClient.queryCelExpressions(QuerySpec.Builder.aQuerySpecDto().limit(100).build());
+
+        assertThat(expressions).extracting(CelExpression::getId).containsExactly("membership-expr", "custom-expr");
+        var queryRequest = mockWebServer.takeRequest();
+        assertThat(queryRequest.getPath()).isEqualTo("/v4alpha/celexpressions/request");
+        assertThat(queryRequest.getMethod()).isEqualTo("POST");
+        assertThat(queryRequest.getBody().readUtf8()).contains("\"limit\":100");
+    }
+
     @Test
     void shouldPrepareDataplane() throws InterruptedException {
         // Arrange
@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final JwtDecoder delegate = mock();
+
+    @Test
+    void shouldCacheDecodedTokenUntilExpiry() {
+        var jwt = jwt("token-1", NOW.plusSeconds(60));
+        when(delegate.decode("token-1")).thenReturn(jwt);
+        var decoder = new CachingJwtDecoder(delegate, 10, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThat(decoder.decode("token-1")).isSameAs(jwt);
+        assertThat(decoder.decode("token-1")).isSameAs(jwt);
+
+        verify(delegate, times(1)).decode("token-1");
+    }
+
+    @Test
+    void shouldDecodeAgain_whenExpired() {
+        var jwt = jwt("token-1", NOW.minusSeconds(1));
+        when(delegate.decode("token-1")).thenReturn(jwt);
+        var decoder = new CachingJwtDecoder(delegate, 10, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        decoder.decode("token-1");
+        decoder.decode("token-1");
+
+        verify(delegate, times(2)).decode("token-1");
+    }
+
+    @Test
+    void shouldNotCacheInvalidToken() {
+        when(delegate.decode("invalid")).thenThrow(new BadJwtException("invalid signature"));
+        var decoder = new CachingJwtDecoder(delegate, 10, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThatThrownBy(() -> decoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+
+        verify(delegate, times(2)).decode("invalid");
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsed() {
+        when(delegate.decode("token-1")).thenReturn(jwt("token-1", NOW.plusSeconds(60)));
+        when(delegate.decode("token-2")).thenReturn(jwt("token-2", NOW.plusSeconds(60)));
+        var decoder = new CachingJwtDecoder(delegate, 1, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        decoder.decode("token-1");
+        decoder.decode("token-2");
+        decoder.decode("token-1");
+
+        verify(delegate, times(2)).decode("token-1");
+    }
+
+    private Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("user")
+                .issuedAt(expiresAt.minusSeconds(300))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeycloakGrantedAuthoritiesConverterTest {
+
+    private final KeycloakGrantedAuthoritiesConverter converter = new KeycloakGrantedAuthoritiesConverter(10);
+
+    @Test
+    void shouldMapScopesAndKeycloakRoles() {
+        var jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("scope", "openid profile")
+                .claim("realm_access", Map.of("roles", List.of("admin", 42)))
+                .claim("resource_access", Map.of(
+                        "redline", Map.of("roles", List.of("provider")),
+                        "account", Map.of("other", "value")))
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build();
+
+        var authorities = converter.convert(jwt).stream().map(GrantedAuthority::getAuthority).toList();
+
+        assertThat(authorities).containsExactlyInAnyOrder("SCOPE_openid", "SCOPE_profile", "ROLE_admin", "ROLE_provider");
+    }
+
+    @Test
+    void shouldReuseAuthoritiesForSameToken() {
+        var jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("realm_access", Map.of("roles", List.of("admin")))
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build();
+
+        assertThat(converter.convert(jwt)).isSameAs(converter.convert(jwt));
+    }
+}